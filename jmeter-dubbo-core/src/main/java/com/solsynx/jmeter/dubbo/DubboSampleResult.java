@@ -17,11 +17,13 @@
 
 package com.solsynx.jmeter.dubbo;
 
+import com.solsynx.jmeter.dubbo.context.MethodParameter;
 import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
 import org.apache.dubbo.common.URL;
 import org.apache.jmeter.samplers.SampleResult;
 
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 扩展的 SampleResult 用于 Dubbo 调用
@@ -34,6 +36,12 @@ public class DubboSampleResult extends SampleResult {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 与 SampleResult 一致：时间戳取开始时间还是结束时间
+     */
+    private static final boolean START_TIMESTAMP =
+        org.apache.jmeter.util.JMeterUtils.getPropDefault("sampleresult.timestamp.start", false);
+
     private String registryCenter;
     private String registryGroup;
     private URL directUrl;
@@ -42,7 +50,24 @@ public class DubboSampleResult extends SampleResult {
     private String methodName;
     private String serviceGroup;
 
-    private Map<String, String> parameters;
+    private List<MethodParameter> parameters;
+    private long elapsedNanos;
+    private int attempts;
+    private String winner;
+    private String generic;
+    private long argumentConversionNanos;
+    private long resultConversionNanos;
+    private long unavailableMillis = -1;
+
+    /**
+     * 调用返回的原始对象，仅供进程内后续处理使用，不参与序列化
+     */
+    private transient Object returnValue;
+
+    /**
+     * 调用失败的原始异常，仅供进程内后续处理使用，不参与序列化
+     */
+    private transient Throwable failure;
 
     /**
      * 构造函数，创建一个新的 DubboSampleResult 实例
@@ -164,21 +189,170 @@ public class DubboSampleResult extends SampleResult {
     }
 
     /**
-     * 获取参数映射
-     * @return 参数映射表
+     * 获取方法参数
+     * @return 按声明顺序排列的方法参数列表
      */
-    public Map<String, String> getParameters() {
+    public List<MethodParameter> getParameters() {
         return parameters;
     }
 
     /**
-     * 设置参数映射
-     * @param parameters 参数映射表
+     * 设置方法参数
+     * @param parameters 按声明顺序排列的方法参数列表
      */
-    public void setParameters(Map<String, String> parameters) {
+    public void setParameters(List<MethodParameter> parameters) {
         this.parameters = parameters;
     }
 
+    /**
+     * 获取纳秒精度的调用耗时
+     * @return 调用耗时（纳秒），未通过 {@link #setTiming(long, long)} 记录时为 0
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 获取调用返回的原始对象
+     * @return 泛化调用返回的原始对象，调用失败或已被释放时为 null
+     */
+    public Object getReturnValue() {
+        return returnValue;
+    }
+
+    /**
+     * 设置调用返回的原始对象
+     * @param returnValue 泛化调用返回的原始对象
+     */
+    public void setReturnValue(Object returnValue) {
+        this.returnValue = returnValue;
+    }
+
+    /**
+     * 获取调用失败的原始异常
+     * @return 原始异常，调用成功时为 null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * 设置调用失败的原始异常
+     * @param failure 原始异常
+     */
+    public void setFailure(Throwable failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * 获取发出的请求数，包括重试和对冲请求
+     * @return 请求数，未使用重试或对冲时为 0
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * 设置发出的请求数
+     * @param attempts 请求数
+     */
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    /**
+     * 获取最终采用的请求
+     * @return primary 或 hedge，未使用对冲时为 null
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * 设置最终采用的请求
+     * @param winner primary 或 hedge
+     */
+    public void setWinner(String winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * 获取调用方式
+     * @return typed 或泛化调用方式，如 true、bean、nativejava
+     */
+    public String getGeneric() {
+        return generic;
+    }
+
+    /**
+     * 设置调用方式
+     * @param generic typed 或泛化调用方式
+     */
+    public void setGeneric(String generic) {
+        this.generic = generic;
+    }
+
+    /**
+     * 获取消费端转换参数的耗时，包括生成参数值和按调用方式转换
+     * @return 耗时（纳秒）
+     */
+    public long getArgumentConversionNanos() {
+        return argumentConversionNanos;
+    }
+
+    /**
+     * 设置消费端转换参数的耗时
+     * @param argumentConversionNanos 耗时（纳秒）
+     */
+    public void setArgumentConversionNanos(long argumentConversionNanos) {
+        this.argumentConversionNanos = argumentConversionNanos;
+    }
+
+    /**
+     * 获取消费端还原返回值的耗时
+     * @return 耗时（纳秒）
+     */
+    public long getResultConversionNanos() {
+        return resultConversionNanos;
+    }
+
+    /**
+     * 设置消费端还原返回值的耗时
+     * @param resultConversionNanos 耗时（纳秒）
+     */
+    public void setResultConversionNanos(long resultConversionNanos) {
+        this.resultConversionNanos = resultConversionNanos;
+    }
+
+    /**
+     * 获取采样被可用性闸门拒绝时引用已处于不可用状态的时长
+     * @return 不可用时长（毫秒），采样未被拒绝时为 -1
+     */
+    public long getUnavailableMillis() {
+        return unavailableMillis;
+    }
+
+    /**
+     * 设置采样被可用性闸门拒绝时引用已处于不可用状态的时长
+     * @param unavailableMillis 不可用时长（毫秒）
+     */
+    public void setUnavailableMillis(long unavailableMillis) {
+        this.unavailableMillis = unavailableMillis;
+    }
+
+    /**
+     * 按发送时刻和纳秒耗时设置采样时间
+     * 用于异步调用，开始和结束时间不依赖采样线程调用 sampleStart/sampleEnd 的时机
+     * @param startTime    发送时刻（毫秒时间戳）
+     * @param elapsedNanos 调用耗时（纳秒）
+     */
+    public void setTiming(long startTime, long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        setStampAndTime(START_TIMESTAMP ? startTime : startTime + elapsed, elapsed);
+        setLatency(elapsed);
+    }
+
     /**
      * 获取采样器数据字符串
      * @return 采样器数据字符串，包含注册中心、接口、方法等信息
@@ -192,7 +366,14 @@ public class DubboSampleResult extends SampleResult {
                            "ProviderUrl: ".concat(JMeterUtils.defaultValue(JMeterUtils.toIdentityString(providerUrl))),
                            "ServiceGroup: ".concat(JMeterUtils.defaultValue(serviceGroup)),
                            "InterfaceName: ".concat(JMeterUtils.defaultValue(interfaceName)),
-                           "MethodName: ".concat(JMeterUtils.defaultValue(methodName))) + "\n\n" +
+                           "MethodName: ".concat(JMeterUtils.defaultValue(methodName))) +
+            (attempts > 0 ? "\nAttempts: " + attempts : "") +
+            (winner != null ? "\nWinner: " + winner : "") +
+            (generic != null ? "\nGeneric: " + generic
+                + "\nArgumentConversion: " + TimeUnit.NANOSECONDS.toMicros(argumentConversionNanos) + " us"
+                + "\nResultConversion: " + TimeUnit.NANOSECONDS.toMicros(resultConversionNanos) + " us" : "") +
+            (unavailableMillis >= 0 ? "\nUnavailable: " + unavailableMillis + " ms" : "") +
+            (getSentBytes() > 0 ? "\nEstimatedSentBytes: " + getSentBytes() : "") + "\n\n" +
             getParametersAsString();
     }
 
@@ -211,13 +392,13 @@ public class DubboSampleResult extends SampleResult {
     }
 
     /**
-     * 将参数映射追加到字符串构建器
+     * 将方法参数追加到字符串构建器
      * @param sb 字符串构建器
-     * @param map 参数映射表
+     * @param parameters 方法参数列表
      */
-    private void append(StringBuilder sb, Map<String, String> map) {
-        for (Map.Entry<String, String> entry : map.entrySet()) {
-            sb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+    private void append(StringBuilder sb, List<MethodParameter> parameters) {
+        for (MethodParameter parameter : parameters) {
+            sb.append(parameter).append("\n");
         }
         if (sb.length() > 0) {
             sb.setLength(sb.length() - 1);
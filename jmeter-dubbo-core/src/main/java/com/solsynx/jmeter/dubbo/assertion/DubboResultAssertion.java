@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.assertion;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.core.ResultCondition;
+import org.apache.jmeter.assertions.Assertion;
+import org.apache.jmeter.assertions.AssertionResult;
+import org.apache.jmeter.config.Argument;
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.testelement.AbstractTestElement;
+import org.apache.jmeter.testelement.property.JMeterProperty;
+import org.apache.jmeter.testelement.property.NullProperty;
+import org.apache.jmeter.testelement.property.TestElementProperty;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Dubbo 结果断言
+ * 直接在调用返回的 Java 对象上判断路径表达式、相等、区间和大小等条件，不依赖响应体，
+ * 响应模式为 size-only、hash 或 discard 时同样可用；断言结果只记录是否通过和失败原因。
+ * 每条规则的名称为结果路径，值为条件，条件语法见 {@link ResultCondition}；
+ * 规则在首次使用时编译，规则文本变化（例如包含 JMeter 变量）时重新编译
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public class DubboResultAssertion extends AbstractTestElement implements Assertion, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String RULES = "DubboResultAssertion.rules";
+
+    /**
+     * 已编译规则对应的规则文本，每个线程持有独立的断言实例，无需同步
+     */
+    private transient String[] sources;
+    private transient ResultCondition[] conditions;
+
+    /**
+     * 在采样结果的返回值上执行断言
+     *
+     * @param response 采样结果
+     * @return 断言结果
+     */
+    @Override
+    public AssertionResult getResult(SampleResult response) {
+        AssertionResult result = new AssertionResult(getName());
+        if (!(response instanceof DubboSampleResult)) {
+            return fail(result, "Not a Dubbo sample result");
+        }
+        if (!response.isSuccessful()) {
+            return fail(result, "Sample failed, no return value: " + response.getResponseMessage());
+        }
+        ResultCondition[] compiled;
+        try {
+            compiled = compile();
+        } catch (IllegalArgumentException e) {
+            result.setError(true);
+            result.setFailureMessage(e.getMessage());
+            return result;
+        }
+        Object returnValue = ((DubboSampleResult) response).getReturnValue();
+        StringBuilder failures = null;
+        for (ResultCondition condition : compiled) {
+            String failure = condition.test(returnValue);
+            if (failure != null) {
+                failures = failures == null ? new StringBuilder(failure) : failures.append('\n').append(failure);
+            }
+        }
+        return failures == null ? result : fail(result, failures.toString());
+    }
+
+    /**
+     * 编译断言规则，规则文本未变化时复用上次的编译结果
+     *
+     * @return 断言条件数组
+     * @throws IllegalArgumentException 路径或条件格式错误时
+     */
+    private ResultCondition[] compile() {
+        Arguments rules = getRules();
+        String[] current = new String[rules.getArgumentCount() * 2];
+        for (int i = 0; i < rules.getArgumentCount(); i++) {
+            Argument rule = rules.getArgument(i);
+            current[i * 2] = rule.getName();
+            current[i * 2 + 1] = rule.getValue();
+        }
+        if (conditions == null || !Arrays.equals(sources, current)) {
+            ResultCondition[] compiled = new ResultCondition[rules.getArgumentCount()];
+            for (int i = 0; i < compiled.length; i++) {
+                compiled[i] = ResultCondition.compile(current[i * 2], current[i * 2 + 1]);
+            }
+            sources = current;
+            conditions = compiled;
+        }
+        return conditions;
+    }
+
+    /**
+     * 标记断言失败
+     *
+     * @param result  断言结果
+     * @param message 失败原因
+     * @return 断言结果
+     */
+    private static AssertionResult fail(AssertionResult result, String message) {
+        result.setFailure(true);
+        result.setFailureMessage(message);
+        return result;
+    }
+
+    /**
+     * 获取断言规则
+     *
+     * @return 断言规则集合，名称为结果路径，值为条件
+     */
+    public Arguments getRules() {
+        JMeterProperty property = getProperty(RULES);
+        if (property instanceof NullProperty) {
+            return new Arguments();
+        }
+        return (Arguments) property.getObjectValue();
+    }
+
+    /**
+     * 设置断言规则
+     *
+     * @param rules 断言规则集合
+     */
+    public void setRules(Arguments rules) {
+        setProperty(new TestElementProperty(RULES, rules));
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.context;
+
+import com.solsynx.jmeter.dubbo.core.ArgumentConverter;
+import com.solsynx.jmeter.dubbo.core.DataFeeder;
+import com.solsynx.jmeter.dubbo.core.GenericCodec;
+import com.solsynx.jmeter.dubbo.core.JsonTemplate;
+import com.solsynx.jmeter.dubbo.core.MethodSignatures;
+import com.solsynx.jmeter.dubbo.core.PayloadPool;
+import com.solsynx.jmeter.dubbo.core.ReferenceHandle;
+import com.solsynx.jmeter.dubbo.core.ReferenceKey;
+import com.solsynx.jmeter.dubbo.core.TypedMethod;
+import com.solsynx.jmeter.dubbo.sampler.DubboSampler;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.jmeter.threads.JMeterVariables;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 调用计划
+ * 由采样器配置编译而成的不可变调用描述，预先准备好参数类型数组、参数值数组和附件，
+ * 采样时直接复用，避免每次采样重复读取属性和拷贝集合；
+ * 计划同时缓存已解析的引用句柄和类型化调用的方法，采样热路径无需再查找引用缓存；
+ * 虚拟线程模式下同一计划由多个线程并发使用，两者均为 volatile 字段，首次绑定可能重复执行，但总能读到完整初始化的对象
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class InvocationPlan {
+
+    private final ServiceContext context;
+    private final String[] parameterTypes;
+    private final Object[] arguments;
+    private final Map<String, String> attachment;
+    private final boolean dynamic;
+    private final ReferenceKey referenceKey;
+    private final String mode;
+    private final boolean templated;
+    private final DataFeeder feeder;
+    private final long sentBytes;
+    private volatile TypedMethod typedMethod;
+
+    private volatile ReferenceHandle reference;
+
+    /**
+     * 私有构造函数，通过 {@link #compile(DubboSampler)} 或 {@link #of(ServiceContext)} 创建
+     * 与上一个计划的引用缓存键相同时沿用已绑定的引用句柄，方法签名相同时沿用已绑定的类型化方法，数据文件相同时沿用参数数据源
+     *
+     * @param context        服务上下文
+     * @param parameterTypes 参数类型数组
+     * @param arguments      参数值数组
+     * @param attachment     附件参数
+     * @param dynamic        是否包含 JMeter 变量或函数
+     * @param previous       上一个调用计划，可以为 null
+     */
+    private InvocationPlan(ServiceContext context, String[] parameterTypes, Object[] arguments,
+                           Map<String, String> attachment, boolean dynamic, InvocationPlan previous) {
+        this.context = context;
+        this.parameterTypes = parameterTypes;
+        this.arguments = arguments;
+        this.attachment = attachment;
+        this.dynamic = dynamic;
+        this.mode = GenericCodec.modeOf(context);
+        boolean hasTemplate = false;
+        boolean hasPayload = false;
+        for (Object argument : arguments) {
+            hasTemplate |= argument instanceof JsonTemplate;
+            hasPayload |= argument instanceof JsonTemplate && ((JsonTemplate) argument).hasPayload();
+        }
+        this.templated = hasTemplate;
+        ReferenceKey key = ReferenceKey.of(context);
+        String feederFile = context.getFeederFile();
+        // 只有负载占位符和数据文件会让参数大小每次不同，其余参数编译时估算一次，模板按未填充计
+        this.sentBytes = hasPayload || StringUtils.isNotBlank(feederFile) ? -1 : PayloadPool.estimateSize(arguments);
+        if (previous == null) {
+            this.referenceKey = key;
+            this.feeder = StringUtils.isBlank(feederFile) ? null : DataFeeder.of(feederFile);
+            return;
+        }
+        if (key.equals(previous.referenceKey)) {
+            this.referenceKey = previous.referenceKey;
+            this.reference = previous.reference;
+        } else {
+            this.referenceKey = key;
+        }
+        if (StringUtils.isBlank(feederFile)) {
+            this.feeder = null;
+        } else if (previous.feeder != null && feederFile.equals(previous.context.getFeederFile())) {
+            this.feeder = previous.feeder;
+        } else {
+            this.feeder = DataFeeder.of(feederFile);
+        }
+        if (previous.typedMethod != null && hasSameSignature(previous)) {
+            // 绑定时的静态参数与本计划的参数数组不同，调用时按常规流程还原参数
+            this.typedMethod = previous.typedMethod;
+        }
+    }
+
+    /**
+     * 是否与另一个计划调用同一个方法
+     *
+     * @param other 另一个调用计划
+     * @return 接口、方法名和参数类型均相同时返回 true
+     */
+    private boolean hasSameSignature(InvocationPlan other) {
+        return StringUtils.equals(context.getInterfaceName(), other.context.getInterfaceName())
+            && StringUtils.equals(context.getMethodName(), other.context.getMethodName())
+            && Arrays.equals(parameterTypes, other.parameterTypes);
+    }
+
+    /**
+     * 编译采样器配置为调用计划
+     *
+     * @param sampler Dubbo 采样器实例
+     * @return 调用计划
+     */
+    public static InvocationPlan compile(DubboSampler sampler) {
+        return compile(sampler, null);
+    }
+
+    /**
+     * 编译采样器配置为调用计划，复用上一个计划中未变化的参数值
+     * 只有类型或原始值发生变化的参数（通常是包含 JMeter 变量的参数）会重新转换
+     *
+     * @param sampler  Dubbo 采样器实例
+     * @param previous 上一个调用计划，可以为 null
+     * @return 调用计划
+     */
+    public static InvocationPlan compile(DubboSampler sampler, InvocationPlan previous) {
+        return of(new ServiceContext(sampler), sampler.isDynamic(), previous);
+    }
+
+    /**
+     * 通过服务上下文创建静态调用计划
+     *
+     * @param context 服务上下文
+     * @return 调用计划
+     */
+    public static InvocationPlan of(ServiceContext context) {
+        return of(context, false, null);
+    }
+
+    /**
+     * 通过服务上下文创建调用计划，复用上一个计划中未变化的参数值、引用句柄和类型化方法
+     *
+     * @param context  服务上下文
+     * @param previous 上一个调用计划，可以为 null
+     * @return 调用计划
+     */
+    public static InvocationPlan of(ServiceContext context, InvocationPlan previous) {
+        return of(context, false, previous);
+    }
+
+    /**
+     * 通过服务上下文创建调用计划
+     * 参数与附件会被冻结为只读视图，并写回上下文供结果对象共享；
+     * 参数类型使用测试开始时解析得到的全限定名，参数值按类型转换为泛化调用的参数形式，与上一个计划相同位置的参数相同时直接复用转换结果；
+     * 引用句柄、类型化方法和参数数据源在未变化时从上一个计划沿用，动态采样器每次采样无需重新查找引用缓存和绑定方法
+     *
+     * @param context  服务上下文
+     * @param dynamic  是否需要在每次采样时重新编译
+     * @param previous 上一个调用计划，可以为 null
+     * @return 调用计划
+     * @see ArgumentConverter
+     * @see MethodSignatures
+     */
+    private static InvocationPlan of(ServiceContext context, boolean dynamic, InvocationPlan previous) {
+        List<MethodParameter> parameters = freeze(context.getParameters());
+        Map<String, String> attachment = freeze(context.getAttachment());
+        context.setParameters(parameters).setAttachment(attachment);
+
+        List<MethodParameter> previousParameters = previous == null
+            ? Collections.emptyList() : previous.context.getParameters();
+        String[] parameterTypes = new String[parameters.size()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = parameters.get(i).getType();
+        }
+        parameterTypes = MethodSignatures.resolve(context.getInterfaceName(), context.getMethodName(), parameterTypes);
+        Object[] arguments = new Object[parameters.size()];
+        boolean reused = previous != null && previousParameters.size() == parameters.size();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            MethodParameter parameter = parameters.get(i);
+            if (i < previousParameters.size() && parameter.equals(previousParameters.get(i))) {
+                arguments[i] = previous.arguments[i];
+            } else {
+                arguments[i] = ArgumentConverter.convert(parameterTypes[i], parameter.getValue());
+                reused = false;
+            }
+        }
+        if (reused && Arrays.equals(parameterTypes, previous.parameterTypes)) {
+            // 参数全部未变化时沿用上一个计划的数组，类型化调用可以直接使用绑定时还原的参数
+            arguments = previous.arguments;
+        }
+        return new InvocationPlan(context, parameterTypes, arguments, attachment, dynamic, previous);
+    }
+
+    /**
+     * 将映射表冻结为只读视图
+     *
+     * @param map 原始映射表，可以为 null
+     * @return 只读映射表
+     */
+    private static Map<String, String> freeze(Map<String, String> map) {
+        if (map == null || map.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * 将列表冻结为只读视图
+     *
+     * @param list 原始列表，可以为 null
+     * @return 只读列表
+     */
+    private static <T> List<T> freeze(List<T> list) {
+        if (list == null || list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 获取服务上下文
+     *
+     * @return 服务上下文
+     */
+    public ServiceContext getContext() {
+        return context;
+    }
+
+    /**
+     * 获取参数类型数组
+     * 返回的数组在计划生命周期内共享，调用方不得修改
+     *
+     * @return 参数类型数组
+     */
+    public String[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * 获取参数值数组
+     * 参数值已按类型转换，参数模板尚未填充，返回的数组在计划生命周期内共享，调用方不得修改
+     *
+     * @return 参数值数组
+     */
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * 生成本次调用的参数值
+     * 配置了参数数据文件时领取下一行覆盖对应位置的参数值；
+     * 不包含参数模板时直接返回共享的参数值数组，否则复制数组并用当前线程的 JMeter 变量填充模板，必须在采样线程上调用
+     *
+     * @return 参数值数组
+     * @throws NoSuchElementException 参数数据文件已读完且不从头读取时，类型为 {@link DataFeeder.ExhaustedException}
+     * @see JsonTemplate
+     * @see DataFeeder
+     */
+    public Object[] resolveArguments() {
+        Object[] resolved = arguments;
+        if (feeder != null) {
+            resolved = feeder.next(parameterTypes, arguments, context.isFeederRecycle());
+            if (resolved == null) {
+                throw new DataFeeder.ExhaustedException(context.getFeederFile());
+            }
+        }
+        if (!templated) {
+            return resolved;
+        }
+        JMeterVariables variables = JMeterContextService.getContext().getVariables();
+        resolved = feeder == null ? arguments.clone() : resolved;
+        for (int i = 0; i < resolved.length; i++) {
+            if (resolved[i] instanceof JsonTemplate) {
+                resolved[i] = ((JsonTemplate) resolved[i]).fill(variables);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * 估算本次调用参数的发送字节数
+     * 包含负载占位符或使用数据文件时按本次参数值估算，否则直接返回编译时的估算值，不再遍历参数
+     *
+     * @param values 本次调用的参数值数组
+     * @return 估算的字节数
+     * @see PayloadPool#estimateSize(Object[])
+     */
+    public long estimateSentBytes(Object[] values) {
+        return sentBytes >= 0 ? sentBytes : PayloadPool.estimateSize(values);
+    }
+
+    /**
+     * 获取类型化调用的方法，首次使用时绑定
+     * 参数值不含模板且不使用数据文件时，绑定时一次性还原为真实的参数类型
+     *
+     * @return 类型化调用的方法
+     * @throws ClassNotFoundException 找不到接口或参数类型时
+     * @throws NoSuchMethodException  接口中没有匹配的方法时
+     */
+    public TypedMethod getTypedMethod() throws ClassNotFoundException, NoSuchMethodException {
+        TypedMethod method = typedMethod;
+        if (method == null) {
+            method = TypedMethod.bind(context.getInterfaceName(), context.getMethodName(), parameterTypes,
+                                      templated || feeder != null ? null : arguments);
+            typedMethod = method;
+        }
+        return method;
+    }
+
+    /**
+     * 获取调用方式
+     *
+     * @return 类型化调用时为 typed，否则为泛化调用方式
+     * @see GenericCodec
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * 获取附件参数
+     *
+     * @return 只读附件参数映射表
+     */
+    public Map<String, String> getAttachment() {
+        return attachment;
+    }
+
+    /**
+     * 获取引用缓存键
+     *
+     * @return 引用缓存键
+     */
+    public ReferenceKey getReferenceKey() {
+        return referenceKey;
+    }
+
+    /**
+     * 获取已绑定的引用句柄
+     *
+     * @return 引用句柄，尚未绑定时返回 null
+     */
+    public ReferenceHandle getReference() {
+        return reference;
+    }
+
+    /**
+     * 绑定已解析的引用句柄
+     *
+     * @param reference 引用句柄
+     */
+    public void setReference(ReferenceHandle reference) {
+        this.reference = reference;
+    }
+
+    /**
+     * 获取参数数据源
+     *
+     * @return 参数数据源，未配置参数数据文件时返回 null
+     */
+    public DataFeeder getFeeder() {
+        return feeder;
+    }
+
+    /**
+     * 是否包含 JMeter 变量或函数
+     *
+     * @return 如果需要在每次采样时重新编译则返回 true
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+}
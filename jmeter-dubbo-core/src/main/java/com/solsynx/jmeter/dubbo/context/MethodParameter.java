@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.context;
+
+import java.util.Objects;
+
+/**
+ * 方法参数
+ * 按声明顺序描述一个参数的类型和原始值，同一类型可以出现多次；
+ * 简单类型的值为字面量，POJO、Map、集合和数组的值为 JSON
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class MethodParameter {
+
+    private final String type;
+    private final String value;
+
+    /**
+     * 构造函数
+     *
+     * @param type  参数类型全限定名
+     * @param value 参数原始值
+     */
+    public MethodParameter(String type, String value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    /**
+     * 获取参数类型
+     *
+     * @return 参数类型全限定名
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * 获取参数原始值
+     *
+     * @return 参数原始值
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 判断两个参数的类型和原始值是否相同
+     *
+     * @param o 另一个对象
+     * @return 如果类型和原始值都相同则返回 true
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MethodParameter)) {
+            return false;
+        }
+        MethodParameter that = (MethodParameter) o;
+        return Objects.equals(type, that.type) && Objects.equals(value, that.value);
+    }
+
+    /**
+     * 获取哈希值
+     *
+     * @return 哈希值
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, value);
+    }
+
+    /**
+     * 获取参数的字符串表示
+     *
+     * @return 类型: 原始值
+     */
+    @Override
+    public String toString() {
+        return type + ": " + value;
+    }
+}
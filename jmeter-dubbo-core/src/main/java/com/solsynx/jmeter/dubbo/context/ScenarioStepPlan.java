@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.context;
+
+import com.solsynx.jmeter.dubbo.core.ArgumentConverter;
+import com.solsynx.jmeter.dubbo.core.JsonTemplate;
+import com.solsynx.jmeter.dubbo.core.ResultPath;
+import com.solsynx.jmeter.dubbo.sampler.ScenarioStep;
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.jmeter.threads.JMeterContextService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 场景步骤调用计划
+ * 由 {@link ScenarioStep} 编译而成，在 {@link InvocationPlan} 的基础上预先解析参数值中的 {@code #{name}} 引用和变量提取规则；
+ * 只有 name 为之前步骤提取的变量时才视为场景引用，其余占位符（JMeter 变量、{@code #{uuid()}} 等生成函数）按 {@link JsonTemplate} 填充；
+ * 参数值恰好为一个引用时直接传入提取到的原始对象，保留 Map、List 和数值类型，不经过字符串转换；
+ * 包含引用的字符串模板在替换后按参数类型转换，替换后仍包含占位符时再按 {@link JsonTemplate} 填充
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ScenarioStepPlan {
+
+    private static final Pattern REFERENCE = Pattern.compile("#\\{([^}]+)}");
+
+    private final InvocationPlan plan;
+    /**
+     * 参数模板，不包含引用时为 null，直接使用计划中的参数值
+     */
+    private final Object[] templates;
+    private final String[] variables;
+    private final ResultPath[] paths;
+
+    /**
+     * 私有构造函数，通过 {@link #compile(ServiceContext, ScenarioStep, Set, ScenarioStepPlan)} 创建
+     *
+     * @param plan      调用计划
+     * @param templates 参数模板
+     * @param variables 提取的变量名
+     * @param paths     提取的结果路径
+     */
+    private ScenarioStepPlan(InvocationPlan plan, Object[] templates, String[] variables, ResultPath[] paths) {
+        this.plan = plan;
+        this.templates = templates;
+        this.variables = variables;
+        this.paths = paths;
+    }
+
+    /**
+     * 编译场景步骤
+     * 包含变量或函数的场景每次采样重新编译，传入同一位置上一次编译的步骤计划时沿用其中未变化的参数值、引用句柄和类型化方法
+     *
+     * @param base      采样器级别的服务上下文，提供注册中心、服务组、超时时间、响应模式、附件和默认接口
+     * @param step      场景步骤
+     * @param extracted 之前步骤提取的变量名
+     * @param previous  上一次编译的同一位置的步骤计划，可以为 null
+     * @return 场景步骤调用计划
+     * @throws IllegalArgumentException 结果路径表达式格式错误时
+     */
+    public static ScenarioStepPlan compile(ServiceContext base, ScenarioStep step, Set<String> extracted,
+                                           ScenarioStepPlan previous) {
+        ServiceContext context = base.copy()
+            .setMethodName(step.getMethodName())
+            .setParameters(JMeterUtils.toParameters(step.getParameters()))
+            .setFeederFile(step.getFeederFile())
+            .setFeederRecycle(true);
+        if (StringUtils.isNotBlank(step.getInterfaceName())) {
+            context.setInterfaceName(step.getInterfaceName());
+        }
+        context.setLabel(StringUtils.defaultIfBlank(step.getName(), step.getMethodName()));
+        InvocationPlan plan = InvocationPlan.of(context, previous == null ? null : previous.plan);
+
+        List<MethodParameter> parameters = context.getParameters();
+        Object[] arguments = plan.getArguments();
+        Object[] templates = new Object[arguments.length];
+        boolean referenced = false;
+        for (int i = 0; i < arguments.length; i++) {
+            String value = parameters.get(i).getValue();
+            Object template = template(value, extracted);
+            // 不包含引用的参数直接使用计划中已转换的参数值
+            templates[i] = template == value ? arguments[i] : template;
+            referenced |= template != value;
+        }
+
+        Map<String, String> extractors = JMeterUtils.toMap(step.getExtractors());
+        String[] variables = new String[extractors.size()];
+        ResultPath[] paths = new ResultPath[extractors.size()];
+        int index = 0;
+        for (Map.Entry<String, String> entry : extractors.entrySet()) {
+            variables[index] = entry.getKey();
+            paths[index] = ResultPath.compile(entry.getValue());
+            index++;
+        }
+        return new ScenarioStepPlan(plan, referenced ? templates : null, variables, paths);
+    }
+
+    /**
+     * 编译参数值模板
+     * 名称不是之前步骤提取的变量的占位符保留原文
+     *
+     * @param value     参数值
+     * @param extracted 之前步骤提取的变量名
+     * @return 不包含引用时返回参数值本身，恰好为一个引用时返回 {@link Reference}，否则返回 {@link Interpolation}
+     */
+    private static Object template(String value, Set<String> extracted) {
+        if (value == null || !value.contains("#{")) {
+            return value;
+        }
+        Matcher matcher = REFERENCE.matcher(value);
+        if (matcher.matches() && extracted.contains(matcher.group(1).trim())) {
+            return new Reference(matcher.group(1).trim());
+        }
+        matcher.reset();
+        List<Object> parts = new ArrayList<>();
+        int last = 0;
+        while (matcher.find()) {
+            String name = matcher.group(1).trim();
+            if (!extracted.contains(name)) {
+                continue;
+            }
+            if (matcher.start() > last) {
+                parts.add(value.substring(last, matcher.start()));
+            }
+            parts.add(new Reference(name));
+            last = matcher.end();
+        }
+        if (parts.isEmpty()) {
+            return value;
+        }
+        if (last < value.length()) {
+            parts.add(value.substring(last));
+        }
+        return new Interpolation(parts.toArray());
+    }
+
+    /**
+     * 按已提取的变量生成本次调用的参数值
+     * 先按调用计划生成参数值（领取数据文件的行并填充参数模板），再用已提取的变量替换引用所在位置的参数值，必须在采样线程上调用
+     *
+     * @param values 已提取的变量
+     * @return 参数值数组
+     * @throws IllegalStateException 引用了尚未提取的变量时
+     * @throws java.util.NoSuchElementException 参数数据文件已读完且不从头读取时
+     * @see InvocationPlan#resolveArguments()
+     */
+    public Object[] resolveArguments(Map<String, Object> values) {
+        Object[] resolved = plan.resolveArguments();
+        if (templates == null) {
+            return resolved;
+        }
+        Object[] arguments = resolved == plan.getArguments() ? resolved.clone() : resolved;
+        for (int i = 0; i < templates.length; i++) {
+            Object template = templates[i];
+            if (template instanceof Reference) {
+                arguments[i] = ((Reference) template).resolve(values);
+            } else if (template instanceof Interpolation) {
+                arguments[i] = fill(plan.getParameterTypes()[i], ((Interpolation) template).resolve(values));
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * 将替换引用后的字符串转换为参数值，仍包含占位符时用当前线程的 JMeter 变量填充
+     *
+     * @param type 参数类型
+     * @param text 替换引用后的字符串
+     * @return 参数值
+     */
+    private static Object fill(String type, String text) {
+        if (!text.contains("#{")) {
+            return ArgumentConverter.convertLiteral(type, text);
+        }
+        Object converted = ArgumentConverter.convert(type, text);
+        return converted instanceof JsonTemplate
+            ? ((JsonTemplate) converted).fill(JMeterContextService.getContext().getVariables()) : converted;
+    }
+
+    /**
+     * 获取调用计划
+     *
+     * @return 调用计划
+     */
+    public InvocationPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * 获取提取的变量名
+     * 返回的数组在计划生命周期内共享，调用方不得修改
+     *
+     * @return 变量名数组，与 {@link #getPaths()} 一一对应
+     */
+    public String[] getVariables() {
+        return variables;
+    }
+
+    /**
+     * 获取提取的结果路径
+     * 返回的数组在计划生命周期内共享，调用方不得修改
+     *
+     * @return 结果路径数组
+     */
+    public ResultPath[] getPaths() {
+        return paths;
+    }
+
+    /**
+     * 变量引用
+     */
+    private static final class Reference {
+        private final String name;
+
+        /**
+         * 构造函数
+         *
+         * @param name 变量名
+         */
+        private Reference(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 获取变量值
+         *
+         * @param values 已提取的变量
+         * @return 变量的原始值
+         */
+        private Object resolve(Map<String, Object> values) {
+            if (!values.containsKey(name)) {
+                throw new IllegalStateException("Undefined scenario variable: " + name);
+            }
+            return values.get(name);
+        }
+    }
+
+    /**
+     * 包含引用的字符串模板
+     */
+    private static final class Interpolation {
+        private final Object[] parts;
+
+        /**
+         * 构造函数
+         *
+         * @param parts 字符串片段和 {@link Reference}
+         */
+        private Interpolation(Object[] parts) {
+            this.parts = parts;
+        }
+
+        /**
+         * 生成字符串
+         *
+         * @param values 已提取的变量
+         * @return 替换引用后的字符串
+         */
+        private String resolve(Map<String, Object> values) {
+            StringBuilder sb = new StringBuilder();
+            for (Object part : parts) {
+                sb.append(part instanceof Reference ? JMeterUtils.toString(((Reference) part).resolve(values)) : part);
+            }
+            return sb.toString();
+        }
+    }
+}
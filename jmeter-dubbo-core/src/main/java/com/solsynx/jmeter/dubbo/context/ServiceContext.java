@@ -17,9 +17,12 @@
 
 package com.solsynx.jmeter.dubbo.context;
 
+import com.solsynx.jmeter.dubbo.core.ResponseWriter;
 import com.solsynx.jmeter.dubbo.sampler.DubboSampler;
 import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -46,7 +49,20 @@ public class ServiceContext {
     private String methodName;
     private String serviceTimeout;
     private Map<String, String> attachment;
-    private Map<String, String> parameters;
+    private List<MethodParameter> parameters;
+
+    private String loadBalance;
+    private String hashArguments;
+    private String hashNodes;
+    private boolean sticky;
+    private boolean providerStatistics;
+    private boolean typed;
+    private String generic;
+    private String responseMode;
+    private int responseLimit;
+
+    private String feederFile;
+    private boolean feederRecycle;
 
     /**
      * 默认构造函数
@@ -72,10 +88,56 @@ public class ServiceContext {
         methodName = sampler.getMethodName();
         serviceTimeout = sampler.getServiceTimeout();
         attachment = JMeterUtils.toMap(sampler.getAttachment());
-        parameters = JMeterUtils.toMap(sampler.getParameters());
+        parameters = JMeterUtils.toParameters(sampler.getParameters());
+        loadBalance = sampler.getLoadBalance();
+        hashArguments = sampler.getHashArguments();
+        hashNodes = sampler.getHashNodes();
+        sticky = sampler.isSticky();
+        providerStatistics = sampler.isProviderStatistics();
+        typed = sampler.isTyped();
+        generic = sampler.getGeneric();
+        responseMode = sampler.getResponseMode();
+        responseLimit = NumberUtils.toInt(sampler.getResponseLimit(), ResponseWriter.DEFAULT_LIMIT);
+        feederFile = sampler.getFeederFile();
+        feederRecycle = sampler.isFeederRecycle();
     }
 
 
+    /**
+     * 复制服务上下文
+     * 附件和方法参数共享同一实例
+     * @return 新的服务上下文实例
+     */
+    public ServiceContext copy() {
+        ServiceContext copy = new ServiceContext();
+        copy.label = label;
+        copy.registryType = registryType;
+        copy.registryAddress = registryAddress;
+        copy.registryGroup = registryGroup;
+        copy.registryTimeout = registryTimeout;
+        copy.registryUsername = registryUsername;
+        copy.registryPassword = registryPassword;
+        copy.directUrl = directUrl;
+        copy.serviceGroup = serviceGroup;
+        copy.interfaceName = interfaceName;
+        copy.methodName = methodName;
+        copy.serviceTimeout = serviceTimeout;
+        copy.attachment = attachment;
+        copy.parameters = parameters;
+        copy.loadBalance = loadBalance;
+        copy.hashArguments = hashArguments;
+        copy.hashNodes = hashNodes;
+        copy.sticky = sticky;
+        copy.providerStatistics = providerStatistics;
+        copy.typed = typed;
+        copy.generic = generic;
+        copy.responseMode = responseMode;
+        copy.responseLimit = responseLimit;
+        copy.feederFile = feederFile;
+        copy.feederRecycle = feederRecycle;
+        return copy;
+    }
+
     /**
      * 获取标签
      * @return 标签
@@ -112,6 +174,78 @@ public class ServiceContext {
         return this;
     }
 
+    /**
+     * 是否使用类型化调用
+     * @return 启用时通过服务 API 包中的接口代理调用，不经过泛化转换
+     */
+    public boolean isTyped() {
+        return typed;
+    }
+
+    /**
+     * 设置是否使用类型化调用
+     * @param typed 是否使用类型化调用
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setTyped(boolean typed) {
+        this.typed = typed;
+        return this;
+    }
+
+    /**
+     * 获取泛化调用方式
+     * @return 泛化调用方式，如 true、raw.return、bean、nativejava、protobuf-json
+     */
+    public String getGeneric() {
+        return generic;
+    }
+
+    /**
+     * 设置泛化调用方式
+     * @param generic 泛化调用方式
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setGeneric(String generic) {
+        this.generic = generic;
+        return this;
+    }
+
+    /**
+     * 获取响应模式
+     * @return 响应模式，如 full、truncated、hash、size-only、discard
+     */
+    public String getResponseMode() {
+        return responseMode;
+    }
+
+    /**
+     * 设置响应模式
+     * @param responseMode 响应模式
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setResponseMode(String responseMode) {
+        this.responseMode = responseMode;
+        return this;
+    }
+
+    /**
+     * 获取截断模式保留的字节数
+     * @return 字节数
+     */
+    public int getResponseLimit() {
+        return responseLimit;
+    }
+
+    /**
+     * 设置截断模式保留的字节数
+     * @param responseLimit 字节数
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setResponseLimit(int responseLimit) {
+        this.responseLimit = responseLimit;
+        return this;
+    }
+
     /**
      * 获取注册中心地址
      * @return 注册中心地址
@@ -312,22 +446,112 @@ public class ServiceContext {
 
     /**
      * 获取方法参数
-     * @return 方法参数映射表
+     * @return 按声明顺序排列的方法参数列表
      */
-    public Map<String, String> getParameters() {
+    public List<MethodParameter> getParameters() {
         return parameters;
     }
 
     /**
      * 设置方法参数
-     * @param parameters 方法参数映射表
+     * @param parameters 按声明顺序排列的方法参数列表
      * @return 当前服务上下文实例
      */
-    public ServiceContext setParameters(Map<String, String> parameters) {
+    public ServiceContext setParameters(List<MethodParameter> parameters) {
         this.parameters = parameters;
         return this;
     }
 
+    /**
+     * 获取负载均衡策略
+     * @return 负载均衡策略，为空时使用 Dubbo 默认的 random
+     */
+    public String getLoadBalance() {
+        return loadBalance;
+    }
+
+    /**
+     * 设置负载均衡策略
+     * @param loadBalance 负载均衡策略
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setLoadBalance(String loadBalance) {
+        this.loadBalance = loadBalance;
+        return this;
+    }
+
+    /**
+     * 获取一致性哈希参与计算的参数下标
+     * @return 逗号分隔的参数下标
+     */
+    public String getHashArguments() {
+        return hashArguments;
+    }
+
+    /**
+     * 设置一致性哈希参与计算的参数下标
+     * @param hashArguments 逗号分隔的参数下标
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setHashArguments(String hashArguments) {
+        this.hashArguments = hashArguments;
+        return this;
+    }
+
+    /**
+     * 获取一致性哈希虚拟节点数
+     * @return 虚拟节点数
+     */
+    public String getHashNodes() {
+        return hashNodes;
+    }
+
+    /**
+     * 设置一致性哈希虚拟节点数
+     * @param hashNodes 虚拟节点数
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setHashNodes(String hashNodes) {
+        this.hashNodes = hashNodes;
+        return this;
+    }
+
+    /**
+     * 是否启用粘滞连接
+     * @return 启用时尽可能调用同一个提供者
+     */
+    public boolean isSticky() {
+        return sticky;
+    }
+
+    /**
+     * 设置是否启用粘滞连接
+     * @param sticky 是否启用粘滞连接
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setSticky(boolean sticky) {
+        this.sticky = sticky;
+        return this;
+    }
+
+    /**
+     * 是否记录提供者统计
+     * @return 启用时按提供者累计请求数、错误数和耗时分布
+     */
+    public boolean isProviderStatistics() {
+        return providerStatistics;
+    }
+
+    /**
+     * 设置是否记录提供者统计
+     * @param providerStatistics 是否记录提供者统计
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setProviderStatistics(boolean providerStatistics) {
+        this.providerStatistics = providerStatistics;
+        return this;
+    }
+
     /**
      * 获取注册中心地址
      * @return 注册中心地址字符串
@@ -335,4 +559,40 @@ public class ServiceContext {
     public String getRegistryCenter() {
         return registryType + "://" + registryAddress;
     }
+
+    /**
+     * 获取参数数据文件
+     * @return 参数数据文件路径
+     */
+    public String getFeederFile() {
+        return feederFile;
+    }
+
+    /**
+     * 设置参数数据文件
+     * @param feederFile 参数数据文件路径
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setFeederFile(String feederFile) {
+        this.feederFile = feederFile;
+        return this;
+    }
+
+    /**
+     * 参数数据文件读完后是否从头读取
+     * @return 如果从头读取则返回 true
+     */
+    public boolean isFeederRecycle() {
+        return feederRecycle;
+    }
+
+    /**
+     * 设置参数数据文件读完后是否从头读取
+     * @param feederRecycle 是否从头读取
+     * @return 当前服务上下文实例
+     */
+    public ServiceContext setFeederRecycle(boolean feederRecycle) {
+        this.feederRecycle = feederRecycle;
+        return this;
+    }
 }
@@ -18,17 +18,19 @@
 package com.solsynx.jmeter.dubbo.converter;
 
 import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.MethodParameter;
 import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
 import com.thoughtworks.xstream.converters.MarshallingContext;
 import com.thoughtworks.xstream.converters.UnmarshallingContext;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.mapper.Mapper;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.jmeter.samplers.SampleSaveConfiguration;
 import org.apache.jmeter.save.converters.SampleResultConverter;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Dubbo 采样结果转换器
@@ -47,6 +49,12 @@ public class DubboSampleResultConverter extends SampleResultConverter {
     protected static final String TAG_INTERFACE_NAME = "interfaceName";
     protected static final String TAG_METHOD_NAME = "methodName";
     protected static final String TAG_PARAMETERS = "parameters";
+    protected static final String TAG_ATTEMPTS = "attempts";
+    protected static final String TAG_WINNER = "winner";
+    protected static final String TAG_GENERIC = "generic";
+    protected static final String TAG_ARGUMENT_CONVERSION = "argumentConversionNanos";
+    protected static final String TAG_RESULT_CONVERSION = "resultConversionNanos";
+    protected static final String TAG_UNAVAILABLE = "unavailableMillis";
 
     /**
      * 构造函数，创建一个新的 DubboSampleResultConverter 实例
@@ -94,17 +102,35 @@ public class DubboSampleResultConverter extends SampleResultConverter {
             case TAG_PARAMETERS:
                 result.setParameters(readParameters(reader));
                 break;
+            case TAG_ATTEMPTS:
+                result.setAttempts(NumberUtils.toInt(value));
+                break;
+            case TAG_WINNER:
+                result.setWinner(value);
+                break;
+            case TAG_GENERIC:
+                result.setGeneric(value);
+                break;
+            case TAG_ARGUMENT_CONVERSION:
+                result.setArgumentConversionNanos(NumberUtils.toLong(value));
+                break;
+            case TAG_RESULT_CONVERSION:
+                result.setResultConversionNanos(NumberUtils.toLong(value));
+                break;
+            case TAG_UNAVAILABLE:
+                result.setUnavailableMillis(NumberUtils.toLong(value, -1));
+                break;
         }
     }
 
     /**
-     * 从 XML 读取参数映射
+     * 从 XML 读取方法参数
      *
      * @param reader 层次化读取器
-     * @return 参数映射表
+     * @return 按声明顺序排列的方法参数列表
      */
-    private static Map<String, String> readParameters(HierarchicalStreamReader reader) {
-        Map<String, String> parameters = new LinkedHashMap<>();
+    private static List<MethodParameter> readParameters(HierarchicalStreamReader reader) {
+        List<MethodParameter> parameters = new ArrayList<>();
 
         if (reader.hasMoreChildren()) {
             while (reader.hasMoreChildren()) {
@@ -112,7 +138,7 @@ public class DubboSampleResultConverter extends SampleResultConverter {
                 if ("item".equals(reader.getNodeName())) {
                     String key = reader.getAttribute("key");
                     String value = reader.getValue();
-                    parameters.put(key, value);
+                    parameters.add(new MethodParameter(key, value));
                 }
                 reader.moveUp();
             }
@@ -161,24 +187,36 @@ public class DubboSampleResultConverter extends SampleResultConverter {
             writeString(writer, TAG_INTERFACE_NAME, result.getInterfaceName());
             writeString(writer, TAG_METHOD_NAME, result.getMethodName());
             writeParameters(writer, result.getParameters());
+            if (result.getAttempts() > 0) {
+                writeString(writer, TAG_ATTEMPTS, String.valueOf(result.getAttempts()));
+            }
+            writeString(writer, TAG_WINNER, result.getWinner());
+            if (result.getGeneric() != null) {
+                writeString(writer, TAG_GENERIC, result.getGeneric());
+                writeString(writer, TAG_ARGUMENT_CONVERSION, String.valueOf(result.getArgumentConversionNanos()));
+                writeString(writer, TAG_RESULT_CONVERSION, String.valueOf(result.getResultConversionNanos()));
+            }
+            if (result.getUnavailableMillis() >= 0) {
+                writeString(writer, TAG_UNAVAILABLE, String.valueOf(result.getUnavailableMillis()));
+            }
         }
     }
 
     /**
-     * 将参数映射写入 XML
+     * 将方法参数写入 XML，参数类型写入 key 属性
      *
      * @param writer     层次化写入器
-     * @param parameters 参数映射表
+     * @param parameters 方法参数列表
      */
-    private void writeParameters(HierarchicalStreamWriter writer, Map<String, String> parameters) {
+    private void writeParameters(HierarchicalStreamWriter writer, List<MethodParameter> parameters) {
         writer.startNode(TAG_PARAMETERS);
-        writer.addAttribute("class", LinkedHashMap.class.getName());
+        writer.addAttribute("class", ArrayList.class.getName());
         if (parameters != null && !parameters.isEmpty()) {
 
-            for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            for (MethodParameter parameter : parameters) {
                 writer.startNode("item");
-                writer.addAttribute("key", entry.getKey());
-                writer.setValue(entry.getValue());
+                writer.addAttribute("key", parameter.getType());
+                writer.setValue(parameter.getValue());
                 writer.endNode();
             }
         }
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 服务接口类加载器
+ * 类型化调用需要服务 API 包：优先从插件所在的类加载器（包括 JMeter 的 lib/ext）加载，
+ * 找不到时从 JMeter 属性 {@value #API_PATH_PROPERTY} 指定的目录或 jar 加载；
+ * 后者使用独立的类加载器，API 包及其依赖不会进入 JMeter 的类路径，Dubbo 和 JDK 的类仍由插件类加载器提供
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ApiClassLoader {
+
+    /**
+     * 服务 API 包路径的 JMeter 属性名，多个目录或 jar 以逗号分隔，目录中的所有 jar 都会被加载
+     */
+    public static final String API_PATH_PROPERTY = "dubbo.api.path";
+
+    private static final Logger log = LoggerFactory.getLogger(ApiClassLoader.class);
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    private static URLClassLoader isolated;
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class,
+            long.class, float.class, double.class, void.class}) {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ApiClassLoader() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 按类型名加载类
+     * 支持基本类型、{@code java.lang.String[]} 形式和 JVM 描述符形式的数组，忽略泛型参数
+     *
+     * @param type 类型名
+     * @return 类
+     * @throws ClassNotFoundException 插件类路径和 API 包路径中都找不到时
+     */
+    public static Class<?> forName(String type) throws ClassNotFoundException {
+        String name = StringUtils.substringBefore(type.trim(), "<");
+        if (name.endsWith("[]")) {
+            Class<?> component = forName(name.substring(0, name.length() - 2));
+            return java.lang.reflect.Array.newInstance(component, 0).getClass();
+        }
+        Class<?> primitive = PRIMITIVES.get(name);
+        if (primitive != null) {
+            return primitive;
+        }
+        try {
+            return Class.forName(name, false, ApiClassLoader.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            ClassLoader loader = getIsolated();
+            if (loader == null) {
+                throw e;
+            }
+            return Class.forName(name, false, loader);
+        }
+    }
+
+    /**
+     * 获取加载服务接口的类加载器
+     *
+     * @param type 服务接口
+     * @return 类加载器
+     */
+    public static ClassLoader getClassLoader(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        return loader == null ? ApiClassLoader.class.getClassLoader() : loader;
+    }
+
+    /**
+     * 关闭独立类加载器，下次使用时按当前属性重新创建
+     * 必须在释放所有类型化引用之后调用
+     */
+    public static synchronized void reset() {
+        if (isolated != null) {
+            try {
+                isolated.close();
+            } catch (IOException e) {
+                log.warn("Failed to close API class loader: {}", e.getMessage());
+            }
+            isolated = null;
+        }
+    }
+
+    /**
+     * 获取独立类加载器，首次使用时创建
+     *
+     * @return 独立类加载器，未配置 API 包路径时返回 null
+     */
+    private static synchronized ClassLoader getIsolated() {
+        if (isolated == null) {
+            String path = org.apache.jmeter.util.JMeterUtils.getPropDefault(API_PATH_PROPERTY, "");
+            List<URL> urls = new ArrayList<>();
+            for (String entry : StringUtils.split(path, ',')) {
+                addJars(new File(entry.trim()), urls);
+            }
+            if (urls.isEmpty()) {
+                return null;
+            }
+            log.info("Loading service API classes from {}", urls);
+            isolated = new URLClassLoader(urls.toArray(new URL[0]), ApiClassLoader.class.getClassLoader());
+        }
+        return isolated;
+    }
+
+    /**
+     * 收集 jar 文件
+     *
+     * @param file 目录或 jar 文件
+     * @param urls 收集到的 jar 地址
+     */
+    private static void addJars(File file, List<URL> urls) {
+        File[] files = file.isDirectory() ? file.listFiles((dir, name) -> name.endsWith(".jar")) : new File[]{file};
+        if (files == null) {
+            return;
+        }
+        for (File jar : files) {
+            if (!jar.exists()) {
+                log.warn("Service API path not found: {}", jar);
+                continue;
+            }
+            try {
+                urls.add(jar.toURI().toURL());
+            } catch (MalformedURLException e) {
+                log.warn("Invalid service API path {}: {}", jar, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * 参数值转换器
+ * 在编译调用计划时按参数类型把字符串值一次性转换为泛化调用的参数形式：
+ * 基本类型及其包装类、BigDecimal、BigInteger 和 Date 转换为对应的 Java 对象，
+ * 其他类型的 JSON 值解析为 Map 或 List，由 Dubbo 在提供者端还原为 POJO、集合或数组，
+ * 包含 {@code #{name}} 占位符的 JSON 值和简单类型值编译为 {@link JsonTemplate}，每次调用前填充并转换为参数类型；
+ * 无法转换的值保持原始字符串，交由 Dubbo 泛化层处理
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ArgumentConverter {
+
+    /**
+     * 日期参数的文本格式，与结果序列化使用的格式一致
+     */
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ArgumentConverter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 按参数类型转换参数值
+     *
+     * @param type  参数类型全限定名
+     * @param value 参数原始值
+     * @return 转换后的参数值，无法转换时返回原始值
+     */
+    public static Object convert(String type, String value) {
+        if (type == null || value == null) {
+            return value;
+        }
+        if (value.contains("#{") && !isJson(value)) {
+            try {
+                return JsonTemplate.compileText(value, filled -> convertFilled(type, filled));
+            } catch (IllegalArgumentException e) {
+                return value;
+            }
+        }
+        return convert(type, value, true);
+    }
+
+    /**
+     * 按参数类型转换参数值，不编译占位符
+     * 用于参数数据文件等已经是最终值的输入
+     *
+     * @param type  参数类型全限定名
+     * @param value 参数值
+     * @return 转换后的参数值，无法转换时返回原始值
+     */
+    public static Object convertLiteral(String type, String value) {
+        if (type == null || value == null) {
+            return value;
+        }
+        return convert(type, value, false);
+    }
+
+    /**
+     * 按参数类型转换参数值
+     *
+     * @param type      参数类型全限定名
+     * @param value     参数原始值
+     * @param templates 是否将包含占位符的 JSON 值编译为模板
+     * @return 转换后的参数值，无法转换时返回原始值
+     */
+    private static Object convert(String type, String value, boolean templates) {
+        try {
+            switch (type.trim()) {
+                case "java.lang.String":
+                    return value;
+                case "int":
+                case "java.lang.Integer":
+                    return Integer.valueOf(value.trim());
+                case "long":
+                case "java.lang.Long":
+                    return Long.valueOf(value.trim());
+                case "short":
+                case "java.lang.Short":
+                    return Short.valueOf(value.trim());
+                case "byte":
+                case "java.lang.Byte":
+                    return Byte.valueOf(value.trim());
+                case "double":
+                case "java.lang.Double":
+                    return Double.valueOf(value.trim());
+                case "float":
+                case "java.lang.Float":
+                    return Float.valueOf(value.trim());
+                case "boolean":
+                case "java.lang.Boolean":
+                    return Boolean.valueOf(value.trim());
+                case "char":
+                case "java.lang.Character":
+                    return value.length() == 1 ? (Object) value.charAt(0) : value;
+                case "java.math.BigDecimal":
+                    return new BigDecimal(value.trim());
+                case "java.math.BigInteger":
+                    return new BigInteger(value.trim());
+                case "java.util.Date":
+                    return toDate(value.trim());
+                default:
+                    return toGeneric(value, templates);
+            }
+        } catch (IllegalArgumentException | ParseException e) {
+            return value;
+        }
+    }
+
+    /**
+     * 转换日期参数
+     *
+     * @param value 毫秒时间戳或 {@value #DATE_PATTERN} 格式的文本
+     * @return 日期对象
+     * @throws ParseException 文本格式错误时
+     */
+    private static Date toDate(String value) throws ParseException {
+        if (StringUtils.isNumeric(value)) {
+            return new Date(Long.parseLong(value));
+        }
+        return new SimpleDateFormat(DATE_PATTERN).parse(value);
+    }
+
+    /**
+     * 转换简单类型参数模板的填充结果
+     * 键分布等内置函数生成的数值直接转换为参数类型，不经过字符串
+     *
+     * @param type   参数类型全限定名
+     * @param filled 填充结果
+     * @return 转换后的参数值
+     */
+    private static Object convertFilled(String type, Object filled) {
+        if (filled instanceof String) {
+            return convertLiteral(type, (String) filled);
+        }
+        if (!(filled instanceof Number)) {
+            return filled;
+        }
+        Number number = (Number) filled;
+        switch (type.trim()) {
+            case "int":
+            case "java.lang.Integer":
+                return number.intValue();
+            case "long":
+            case "java.lang.Long":
+                return number.longValue();
+            case "short":
+            case "java.lang.Short":
+                return number.shortValue();
+            case "byte":
+            case "java.lang.Byte":
+                return number.byteValue();
+            case "double":
+            case "java.lang.Double":
+                return number.doubleValue();
+            case "float":
+            case "java.lang.Float":
+                return number.floatValue();
+            case "java.lang.String":
+            case "java.math.BigDecimal":
+            case "java.math.BigInteger":
+            case "java.util.Date":
+                return convertLiteral(type, number.toString());
+            default:
+                return number;
+        }
+    }
+
+    /**
+     * 是否为 JSON 对象或数组
+     *
+     * @param value 参数原始值
+     * @return 如果以 { 或 [ 开头则返回 true
+     */
+    private static boolean isJson(String value) {
+        String json = value.trim();
+        return json.startsWith("{") || json.startsWith("[");
+    }
+
+    /**
+     * 转换 POJO、Map、集合和数组参数
+     *
+     * @param value     参数原始值
+     * @param templates 是否将包含占位符的 JSON 值编译为模板
+     * @return JSON 对象或数组解析为 Map、List 或 {@link JsonTemplate}，其他值保持原样
+     */
+    private static Object toGeneric(String value, boolean templates) {
+        if (isJson(value)) {
+            String json = value.trim();
+            return templates && json.contains("#{") ? JsonTemplate.compile(json) : JMeterUtils.readJson(json);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 到达率负载曲线
+ * 由若干分段组成的声明式负载描述，分段之间以分号分隔，速率单位为请求/秒，时长默认单位为秒，支持 ms/s/m/h 后缀：
+ * <ul>
+ *     <li>{@code 500}：恒定 500 请求/秒，不限时长，速率必须大于 0</li>
+ *     <li>{@code const(rate, duration)}：恒定速率</li>
+ *     <li>{@code ramp(from, to, duration)}：线性爬升或下降</li>
+ *     <li>{@code step(from, to, steps, duration)}：分 steps 个等长阶梯从 from 到 to</li>
+ *     <li>{@code spike(base, peak, spikeDuration, duration)}：基础速率，分段正中间维持 spikeDuration 的峰值</li>
+ *     <li>{@code sine(mean, amplitude, period, duration)}：围绕均值按正弦波动</li>
+ * </ul>
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ArrivalProfile {
+
+    private final List<Segment> segments;
+    private final double duration;
+
+    /**
+     * 私有构造函数，通过 {@link #parse(String)} 创建
+     *
+     * @param segments 分段列表
+     */
+    private ArrivalProfile(List<Segment> segments) {
+        this.segments = segments;
+        double total = 0;
+        for (Segment segment : segments) {
+            total += segment.duration;
+        }
+        this.duration = total;
+    }
+
+    /**
+     * 解析负载曲线描述
+     *
+     * @param spec 负载曲线描述
+     * @return 负载曲线
+     * @throws IllegalArgumentException 描述格式错误时
+     */
+    public static ArrivalProfile parse(String spec) {
+        if (StringUtils.isBlank(spec)) {
+            throw new IllegalArgumentException("Load profile is empty");
+        }
+        List<Segment> segments = new ArrayList<>();
+        for (String part : spec.split(";")) {
+            String text = part.trim();
+            if (!text.isEmpty()) {
+                segments.add(parseSegment(text));
+            }
+        }
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("Load profile is empty: " + spec);
+        }
+        return new ArrivalProfile(Collections.unmodifiableList(segments));
+    }
+
+    /**
+     * 获取指定时刻的目标速率
+     *
+     * @param seconds 距离开始的秒数
+     * @return 目标速率（请求/秒），负载曲线已结束时返回负数
+     */
+    public double rateAt(double seconds) {
+        double offset = seconds;
+        for (Segment segment : segments) {
+            if (offset < segment.duration) {
+                return Math.max(0, segment.rateAt(offset));
+            }
+            offset -= segment.duration;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取速率保持不变的截止时刻，用于跳过速率为 0 的区间
+     *
+     * @param seconds 距离开始的秒数
+     * @return 从该时刻起速率保持不变直到返回的时刻；速率连续变化时返回 seconds，不限时长的分段返回无穷大
+     */
+    public double constantUntil(double seconds) {
+        double offset = seconds;
+        double start = 0;
+        for (Segment segment : segments) {
+            if (offset < segment.duration) {
+                return start + segment.constantUntil(offset);
+            }
+            offset -= segment.duration;
+            start += segment.duration;
+        }
+        return seconds;
+    }
+
+    /**
+     * 获取负载曲线总时长
+     *
+     * @return 总时长（秒），包含不限时长的分段时为无穷大
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * 解析单个分段
+     *
+     * @param text 分段描述
+     * @return 分段
+     */
+    private static Segment parseSegment(String text) {
+        int open = text.indexOf('(');
+        if (open < 0) {
+            double rate = parseNumber(text, text);
+            // 不限时长的分段速率为 0 时永远不会发出下一个请求，也不会结束
+            if (!(rate > 0)) {
+                throw new IllegalArgumentException("Rate of an unbounded segment must be positive: " + text);
+            }
+            return new Segment("const", new double[]{rate}, Double.POSITIVE_INFINITY);
+        }
+        if (!text.endsWith(")")) {
+            throw new IllegalArgumentException("Invalid load profile segment: " + text);
+        }
+        String type = text.substring(0, open).trim().toLowerCase(Locale.ROOT);
+        String[] args = text.substring(open + 1, text.length() - 1).split(",");
+        int arity;
+        switch (type) {
+            case "const":
+                arity = 2;
+                break;
+            case "ramp":
+                arity = 3;
+                break;
+            case "step":
+            case "spike":
+            case "sine":
+                arity = 4;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown load profile segment: " + text);
+        }
+        if (args.length != arity) {
+            throw new IllegalArgumentException("Expected " + arity + " arguments: " + text);
+        }
+        double[] values = new double[arity - 1];
+        for (int i = 0; i < values.length; i++) {
+            // spike 的峰值时长和 sine 的周期是时长参数
+            values[i] = i == 2 && ("spike".equals(type) || "sine".equals(type))
+                ? parseDuration(args[i], text) : parseNumber(args[i], text);
+        }
+        return new Segment(type, values, parseDuration(args[arity - 1], text));
+    }
+
+    /**
+     * 解析数值
+     *
+     * @param value 数值文本
+     * @param text  所在分段描述，用于错误信息
+     * @return 数值
+     */
+    private static double parseNumber(String value, String text) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number '" + value.trim() + "' in: " + text, e);
+        }
+    }
+
+    /**
+     * 解析时长，支持 ms/s/m/h 后缀，默认单位为秒
+     *
+     * @param value 时长文本
+     * @param text  所在分段描述，用于错误信息
+     * @return 时长（秒）
+     */
+    private static double parseDuration(String value, String text) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        double unit = 1;
+        if (trimmed.endsWith("ms")) {
+            unit = 0.001;
+            trimmed = trimmed.substring(0, trimmed.length() - 2);
+        } else if (trimmed.endsWith("h") || trimmed.endsWith("m") || trimmed.endsWith("s")) {
+            if (trimmed.endsWith("h")) {
+                unit = 3600;
+            } else if (trimmed.endsWith("m")) {
+                unit = 60;
+            }
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        double seconds = parseNumber(trimmed, text) * unit;
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("Duration must be positive: " + text);
+        }
+        return seconds;
+    }
+
+    /**
+     * 负载曲线分段
+     */
+    private static final class Segment {
+        private final String type;
+        private final double[] values;
+        private final double duration;
+
+        /**
+         * 构造函数
+         *
+         * @param type     分段类型
+         * @param values   除时长外的参数
+         * @param duration 分段时长（秒）
+         */
+        private Segment(String type, double[] values, double duration) {
+            this.type = type;
+            this.values = values;
+            this.duration = duration;
+        }
+
+        /**
+         * 获取分段内指定时刻的速率
+         *
+         * @param offset 距离分段开始的秒数
+         * @return 速率（请求/秒）
+         */
+        private double rateAt(double offset) {
+            switch (type) {
+                case "ramp":
+                    return values[0] + (values[1] - values[0]) * offset / duration;
+                case "step": {
+                    int steps = Math.max(1, (int) values[2]);
+                    if (steps == 1) {
+                        return values[0];
+                    }
+                    int index = Math.min(steps - 1, (int) (offset * steps / duration));
+                    return values[0] + (values[1] - values[0]) * index / (steps - 1);
+                }
+                case "spike": {
+                    double spikeStart = (duration - values[2]) / 2;
+                    return offset >= spikeStart && offset < spikeStart + values[2] ? values[1] : values[0];
+                }
+                case "sine":
+                    return values[0] + values[1] * Math.sin(2 * Math.PI * offset / values[2]);
+                default:
+                    return values[0];
+            }
+        }
+
+        /**
+         * 获取分段内速率保持不变的截止时刻
+         *
+         * @param offset 距离分段开始的秒数
+         * @return 距离分段开始的秒数，速率连续变化时返回 offset
+         */
+        private double constantUntil(double offset) {
+            switch (type) {
+                case "ramp":
+                    return values[0] == values[1] ? duration : offset;
+                case "step": {
+                    int steps = Math.max(1, (int) values[2]);
+                    double width = duration / steps;
+                    return Math.min(duration, (Math.floor(offset / width) + 1) * width);
+                }
+                case "spike": {
+                    double spikeStart = (duration - values[2]) / 2;
+                    if (offset < spikeStart) {
+                        return spikeStart;
+                    }
+                    return offset < spikeStart + values[2] ? spikeStart + values[2] : duration;
+                }
+                case "sine":
+                    return values[1] == 0 ? duration : offset;
+                default:
+                    return duration;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 开放模型到达率驱动
+ * 每个 JMeter 线程持有一个实例，从共享的 {@link ArrivalSchedule} 领取计划发送时刻，到点后以 $invokeAsync 发出请求且不等待响应；
+ * 采样结果以计划发送时刻为开始时间，响应变慢造成的排队延迟会如实计入耗时，避免协调遗漏
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ArrivalRateDriver {
+
+    private final ArrivalSchedule schedule;
+    private final long drainTimeout;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final BlockingQueue<DubboSampleResult> completed = new LinkedBlockingQueue<>();
+    private boolean finished;
+
+    /**
+     * 构造函数
+     *
+     * @param schedule     共享的到达率调度
+     * @param drainTimeout 负载曲线结束后等待在途请求的最长时间（毫秒）
+     */
+    public ArrivalRateDriver(ArrivalSchedule schedule, long drainTimeout) {
+        this.schedule = schedule;
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * 按计划时刻发出一个请求，并返回一个已完成的采样结果
+     *
+     * @param plans 调用计划来源，每发出一个请求获取一次
+     * @return 已完成的采样结果，暂无完成的请求时返回 null
+     */
+    public DubboSampleResult next(Supplier<InvocationPlan> plans) {
+        long intended = schedule.next();
+        if (intended < 0) {
+            return drain();
+        }
+        long delay = intended - System.nanoTime();
+        if (delay > 0) {
+            LockSupport.parkNanos(delay);
+        }
+        outstanding.incrementAndGet();
+        GenericDubbo.executeAsync(plans.get(), schedule.toTimeMillis(intended), intended)
+                    .thenAccept(this::complete);
+        return completed.poll();
+    }
+
+    /**
+     * 负载曲线是否已结束且所有请求均已上报
+     *
+     * @return 如果已结束则返回 true
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * 负载曲线结束后逐个上报剩余的在途请求
+     *
+     * @return 已完成的采样结果，全部上报后返回 null
+     */
+    private DubboSampleResult drain() {
+        DubboSampleResult result = completed.poll();
+        if (result != null) {
+            return result;
+        }
+        if (outstanding.get() > 0) {
+            try {
+                result = completed.poll(drainTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (result == null) {
+            finished = true;
+        }
+        return result;
+    }
+
+    /**
+     * 请求完成回调
+     *
+     * @param result 采样结果
+     */
+    private void complete(DubboSampleResult result) {
+        outstanding.decrementAndGet();
+        completed.add(result);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 到达率调度
+ * 按负载曲线生成每个请求的计划发送时刻，同一采样器的所有线程共享一个实例并以无锁方式领取时刻，
+ * 请求的发送节奏只由曲线决定，与线程数和响应时间无关；
+ * 相邻两个请求之间的间隔使速率曲线在该区间上的积分恰好为 1 个请求，速率随时间变化（例如从 0 开始爬升）时也不会出现长时间的空档
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ArrivalSchedule {
+
+    /**
+     * 对速率积分时的最大步长（秒），步长内视速率为常数
+     */
+    private static final double RATE_STEP = 0.01;
+    /**
+     * 判断积分已满 1 个请求时允许的误差
+     */
+    private static final double EPSILON = 1e-9;
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final ArrivalProfile profile;
+    private final AtomicLong cursor = new AtomicLong(NOT_STARTED);
+    private volatile long startNanos;
+    private volatile long startTime;
+
+    /**
+     * 构造函数，创建一个尚未开始的调度
+     *
+     * @param profile 负载曲线
+     */
+    public ArrivalSchedule(ArrivalProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * 领取下一个请求的计划发送时刻，首次领取时开始计时
+     *
+     * @return 计划发送时刻（System.nanoTime 基准），负载曲线结束时返回 -1
+     */
+    public long next() {
+        start();
+        while (true) {
+            long previous = cursor.get();
+            long intended = due(previous);
+            if (intended < 0) {
+                return -1;
+            }
+            if (cursor.compareAndSet(previous, intended)) {
+                return intended;
+            }
+        }
+    }
+
+    /**
+     * 计算上一个请求之后的下一个计划发送时刻
+     * 从上一个发送时刻起以不超过 {@link #RATE_STEP} 的步长对速率积分，积分达到 1 个请求的时刻即为下一个发送时刻；
+     * 速率较高时一步即可完成，速率保持为 0 的区间被直接跳到区间末尾
+     *
+     * @param previous 上一个请求的计划发送时刻（System.nanoTime 基准）
+     * @return 下一个计划发送时刻，负载曲线在此之前结束时返回 -1
+     */
+    private long due(long previous) {
+        double seconds = (previous - startNanos) / 1e9;
+        double remaining = 1;
+        while (true) {
+            double rate = profile.rateAt(seconds);
+            if (rate < 0) {
+                return -1;
+            }
+            double step = rate > 0 ? Math.min(RATE_STEP, remaining / rate) : RATE_STEP;
+            if (rate == 0) {
+                double until = profile.constantUntil(seconds);
+                if (Double.isInfinite(until)) {
+                    return -1;
+                }
+                step = Math.max(step, until - seconds);
+            }
+            remaining -= rate * step;
+            seconds += step;
+            if (remaining <= EPSILON) {
+                return Math.max(previous + 1, startNanos + (long) (seconds * 1e9));
+            }
+        }
+    }
+
+    /**
+     * 将计划发送时刻换算为毫秒时间戳
+     *
+     * @param intendedNanos 计划发送时刻（System.nanoTime 基准）
+     * @return 毫秒时间戳
+     */
+    public long toTimeMillis(long intendedNanos) {
+        return startTime + TimeUnit.NANOSECONDS.toMillis(intendedNanos - startNanos);
+    }
+
+    /**
+     * 首次领取时初始化起始时刻
+     */
+    private void start() {
+        if (cursor.get() != NOT_STARTED) {
+            return;
+        }
+        synchronized (this) {
+            if (cursor.get() == NOT_STARTED) {
+                startTime = System.currentTimeMillis();
+                startNanos = System.nanoTime();
+                cursor.set(startNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 提供者可用性闸门
+ * 每个引用句柄持有一个闸门，采样线程按检查间隔轮流读取集群目录（直连时为连接状态）判断是否存在可用的提供者，
+ * 两次检查之间热路径只读取一个 volatile 字段；调用因无可用提供者失败时立即关闭闸门。
+ * 闸门关闭期间采样不再进入 Dubbo 集群调用，直接以 {@link FailureClassifier#NO_PROVIDER} 拒绝，提供者恢复后自动打开；
+ * 各引用的不可用次数、累计不可用时长和拒绝的采样数在测试结束时输出
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class AvailabilityGate {
+
+    /**
+     * 可用性检查间隔（毫秒）的 JMeter 属性名，默认 0 表示关闭闸门，需要时显式开启
+     */
+    public static final String INTERVAL_PROPERTY = "dubbo.availability.check.interval";
+    /**
+     * 被闸门拒绝的采样的响应消息
+     */
+    public static final String REJECTED_MESSAGE = "Rejected by availability gate";
+    private static final long DEFAULT_INTERVAL = 0L;
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityGate.class);
+    private static final ConcurrentMap<ReferenceKey, Outages> OUTAGES = new ConcurrentHashMap<>();
+
+    private final ReferenceKey key;
+    private final BooleanSupplier available;
+    private final long intervalNanos;
+    private final AtomicLong nextCheck;
+
+    private volatile boolean open = true;
+    private volatile long closedSince;
+
+    /**
+     * 构造函数
+     *
+     * @param key       引用的缓存键，相同键的引用共享一份统计
+     * @param available 是否存在可用提供者的检查
+     */
+    AvailabilityGate(ReferenceKey key, BooleanSupplier available) {
+        this.key = key;
+        this.available = available;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(getInterval());
+        // 注册中心的首次通知可能晚于引用初始化，第一次检查推迟一个间隔
+        this.nextCheck = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+
+    /**
+     * 是否启用闸门
+     *
+     * @return 检查间隔大于 0 时返回 true
+     */
+    public static boolean isEnabled() {
+        return getInterval() > 0;
+    }
+
+    /**
+     * 闸门是否打开
+     * 到达检查时间时只有一个线程执行检查，其余线程直接返回当前状态
+     *
+     * @return 存在可用提供者或闸门未启用时返回 true
+     */
+    public boolean isOpen() {
+        if (intervalNanos <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        long next = nextCheck.get();
+        if (now - next >= 0 && nextCheck.compareAndSet(next, now + intervalNanos)) {
+            update(available.getAsBoolean(), now);
+        }
+        return open;
+    }
+
+    /**
+     * 调用因无可用提供者失败时关闭闸门，直到下一次检查确认提供者已恢复
+     */
+    void close() {
+        if (intervalNanos <= 0 || !open) {
+            return;
+        }
+        long now = System.nanoTime();
+        nextCheck.set(now + intervalNanos);
+        update(false, now);
+    }
+
+    /**
+     * 记录一次被拒绝的采样
+     *
+     * @return 闸门本次关闭已持续的时长（毫秒）
+     */
+    long reject() {
+        outages().rejected.increment();
+        long since = closedSince;
+        return open ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+
+    /**
+     * 引用销毁时结束正在进行的不可用区间，使其计入统计
+     */
+    synchronized void destroy() {
+        if (!open) {
+            outages().unavailableNanos.add(System.nanoTime() - closedSince);
+            open = true;
+        }
+    }
+
+    /**
+     * 按检查结果切换闸门状态
+     *
+     * @param available 是否存在可用提供者
+     * @param now       检查时刻（System.nanoTime 基准）
+     */
+    private synchronized void update(boolean available, long now) {
+        if (available == open) {
+            return;
+        }
+        if (available) {
+            long unavailableNanos = now - closedSince;
+            outages().unavailableNanos.add(unavailableNanos);
+            open = true;
+            log.info("Providers of dubbo reference {} available again after {} ms, gate reopened", key,
+                     TimeUnit.NANOSECONDS.toMillis(unavailableNanos));
+        } else {
+            closedSince = now;
+            open = false;
+            outages().count.increment();
+            log.warn("No provider of dubbo reference {} available, gate closed", key);
+        }
+    }
+
+    /**
+     * 获取当前引用的不可用统计
+     *
+     * @return 不可用统计
+     */
+    private Outages outages() {
+        Outages outages = OUTAGES.get(key);
+        if (outages == null) {
+            outages = OUTAGES.computeIfAbsent(key, Outages::new);
+        }
+        return outages;
+    }
+
+    /**
+     * 生成统计报告并清空所有统计，需要在引用销毁之后调用，才能计入测试结束时仍未恢复的不可用区间；
+     * 引用描述相同而配置不同的引用分别统计，描述后追加序号区分
+     *
+     * @return 统计报告，没有发生过不可用时返回 null
+     */
+    public static String report() {
+        List<Outages> snapshot = new ArrayList<>(OUTAGES.values());
+        OUTAGES.clear();
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        snapshot.sort(Comparator.comparing(outages -> outages.key.toString()));
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-60s %8s %14s %10s",
+                                                           "reference", "outages", "unavailable", "rejected"));
+        String previous = null;
+        int duplicates = 0;
+        for (Outages outages : snapshot) {
+            String name = outages.key.toString();
+            duplicates = name.equals(previous) ? duplicates + 1 : 0;
+            previous = name;
+            if (duplicates > 0) {
+                name = name + " #" + (duplicates + 1);
+            }
+            sb.append(String.format(Locale.ROOT, "%n%-60s %8d %12dms %10d", name, outages.count.sum(),
+                                    TimeUnit.NANOSECONDS.toMillis(outages.unavailableNanos.sum()),
+                                    outages.rejected.sum()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public static void reset() {
+        OUTAGES.clear();
+    }
+
+    /**
+     * 获取检查间隔
+     *
+     * @return 检查间隔（毫秒）
+     */
+    private static long getInterval() {
+        return org.apache.jmeter.util.JMeterUtils.getPropDefault(INTERVAL_PROPERTY, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * 单个引用的不可用统计
+     */
+    private static final class Outages {
+
+        private final ReferenceKey key;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder unavailableNanos = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        /**
+         * 构造函数
+         *
+         * @param key 引用的缓存键
+         */
+        private Outages(ReferenceKey key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 参数与结果转换统计
+ * 按接口、方法和调用方式累计消费端转换参数和还原返回值的耗时分布，所有线程共享；
+ * 测试结束时输出各调用方式的转换开销，用于为每个服务选择开销最低的泛化方式。
+ * 直方图以纳秒记录，报告以微秒输出
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ConversionStatistics {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final ConcurrentMap<String, LatencyHistogram[]> METHODS = new ConcurrentHashMap<>();
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ConversionStatistics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 记录一次调用的转换耗时
+     *
+     * @param result 已完成的采样结果
+     */
+    static void record(DubboSampleResult result) {
+        String key = result.getInterfaceName() + "#" + result.getMethodName() + " [" + result.getGeneric() + "]";
+        LatencyHistogram[] histograms = METHODS.get(key);
+        if (histograms == null) {
+            histograms = METHODS.computeIfAbsent(key, k -> new LatencyHistogram[]{
+                new LatencyHistogram(), new LatencyHistogram()});
+        }
+        histograms[0].record(result.getArgumentConversionNanos());
+        if (result.isSuccessful()) {
+            histograms[1].record(result.getResultConversionNanos());
+        }
+    }
+
+    /**
+     * 生成统计报告并清空所有统计
+     *
+     * @return 统计报告，没有记录时返回 null
+     */
+    public static String report() {
+        Map<String, LatencyHistogram[]> snapshot = new TreeMap<>(METHODS);
+        METHODS.clear();
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+            "%-60s %-10s %12s %10s %10s %10s %10s%n",
+            "method [mode]", "phase", "count", "mean(us)", "p50(us)", "p90(us)", "p99(us)"));
+        for (Map.Entry<String, LatencyHistogram[]> entry : snapshot.entrySet()) {
+            append(report, entry.getKey(), "arguments", entry.getValue()[0]);
+            append(report, "", "result", entry.getValue()[1]);
+        }
+        return report.toString();
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public static void reset() {
+        METHODS.clear();
+    }
+
+    /**
+     * 追加一行统计
+     *
+     * @param report    报告
+     * @param method    方法与调用方式
+     * @param phase     转换阶段
+     * @param histogram 耗时直方图（纳秒）
+     */
+    private static void append(StringBuilder report, String method, String phase, LatencyHistogram histogram) {
+        long[] quantiles = histogram.getQuantiles(QUANTILES);
+        report.append(String.format(Locale.ROOT,
+            "%-60s %-10s %12d %10.3f %10.3f %10.3f %10.3f%n",
+            method, phase, histogram.getCount(), histogram.getMean() / 1000,
+            quantiles[0] / 1000.0, quantiles[1] / 1000.0, quantiles[2] / 1000.0));
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.jmeter.services.FileServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 参数数据源
+ * 以只读方式分段内存映射 JSONL 或 CSV 文件，文件大小不受堆内存限制；
+ * 所有线程通过一个原子游标领取下一行：游标为下一行的起始偏移，线程扫描到行尾后以 CAS 推进游标，无需加锁，也无需预先建立行索引；
+ * 每行按位置直接转换为参数值，不经过 JMeter 变量；
+ * 同一文件在所有采样器和线程间共享一个实例，测试开始时从头读取，测试结束时解除映射；
+ * 相对路径与 CSV Data Set 一样相对于测试计划所在目录解析，按解析后的规范路径识别同一文件，不同写法的路径共享同一个游标
+ *
+ * <p>JSONL 文件每行为一个 JSON 数组，按位置对应方法参数，不是数组时作为第一个参数；
+ * CSV 文件每行以逗号分隔，支持双引号转义；空行和以 # 开头的行被忽略。</p>
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class DataFeeder {
+
+    /**
+     * 映射分段大小的位数，每段 1GB
+     */
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private static final Logger log = LoggerFactory.getLogger(DataFeeder.class);
+    private static final ConcurrentMap<String, DataFeeder> FEEDERS = new ConcurrentHashMap<>();
+
+    private final File file;
+    private final String path;
+    private final boolean csv;
+    private final AtomicLong cursor = new AtomicLong();
+    private volatile MappedByteBuffer[] segments;
+    private long size;
+    private volatile boolean exhausted;
+
+    /**
+     * 私有构造函数，通过 {@link #of(String)} 获取
+     *
+     * @param file 解析后的文件
+     */
+    private DataFeeder(File file) {
+        this.file = file;
+        this.path = file.getPath();
+        this.csv = path.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    /**
+     * 获取文件对应的共享数据源
+     * 相对路径相对于测试计划所在目录解析，以规范路径作为共享的键；文件在第一次读取时映射
+     *
+     * @param path 文件路径
+     * @return 数据源
+     */
+    public static DataFeeder of(String path) {
+        File file = resolve(path.trim());
+        return FEEDERS.computeIfAbsent(file.getPath(), key -> new DataFeeder(file));
+    }
+
+    /**
+     * 将文件路径解析为规范路径，消除 {@code ./}、{@code ..} 和符号链接带来的不同写法
+     *
+     * @param path 文件路径
+     * @return 解析后的文件，无法取得规范路径时为绝对路径
+     */
+    private static File resolve(String path) {
+        File file = FileServer.getFileServer().getResolvedFile(path);
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    /**
+     * 释放所有数据源并解除文件映射，下次使用时从头读取
+     * 只能在没有采样线程读取数据源时调用，例如测试开始和结束时
+     */
+    public static void reset() {
+        for (String path : FEEDERS.keySet()) {
+            DataFeeder feeder = FEEDERS.remove(path);
+            if (feeder != null) {
+                feeder.release();
+            }
+        }
+    }
+
+    /**
+     * 领取下一行并转换为参数值
+     *
+     * @param types    参数类型
+     * @param defaults 默认参数值，行中缺少的位置使用默认值
+     * @param recycle  到达文件末尾时是否从头读取
+     * @return 参数值数组，不回绕且文件已读完时返回 null
+     * @throws IllegalStateException 文件无法读取或格式错误时
+     */
+    public Object[] next(String[] types, Object[] defaults, boolean recycle) {
+        MappedByteBuffer[] mapped = map();
+        int wraps = 0;
+        while (true) {
+            long start = cursor.get();
+            if (start >= size) {
+                // 文件为空或只有注释时避免无限回绕
+                if (!recycle || wraps++ > 0) {
+                    exhausted = true;
+                    return null;
+                }
+                cursor.compareAndSet(start, 0);
+                continue;
+            }
+            long end = lineEnd(mapped, start);
+            if (!cursor.compareAndSet(start, end + 1)) {
+                continue;
+            }
+            String line = decode(mapped, start, end);
+            if (!line.isEmpty() && line.charAt(0) != '#') {
+                return toArguments(line, types, defaults);
+            }
+        }
+    }
+
+    /**
+     * 领取下一行前判断是否还有剩余的行
+     * 只检查游标位置，文件末尾只剩空行或注释时仍返回 true，此时 {@link #next(String[], Object[], boolean)} 返回 null；
+     * 文件尚未映射时返回 true，由第一次领取映射文件并报告读取错误
+     *
+     * @param recycle 到达文件末尾时是否从头读取
+     * @return 从头读取或游标未到达文件末尾时返回 true
+     */
+    public boolean hasNext(boolean recycle) {
+        if (recycle) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        return segments == null || cursor.get() < size;
+    }
+
+    /**
+     * 不回绕时文件是否已读完
+     *
+     * @return 如果已读完则返回 true
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * 解除文件映射
+     * 映射的内存通常要等到缓冲区被垃圾回收才释放，这里尽力立即解除映射，失败时退回等待回收
+     */
+    private synchronized void release() {
+        MappedByteBuffer[] mapped = segments;
+        segments = null;
+        if (mapped == null) {
+            return;
+        }
+        for (MappedByteBuffer buffer : mapped) {
+            try {
+                unmap(buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debug("Cannot unmap data file {}, leaving it to the garbage collector", path, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 解除单个缓冲区的映射
+     * JDK 9 及以上使用 Unsafe.invokeCleaner，JDK 8 调用缓冲区的 Cleaner
+     *
+     * @param buffer 映射缓冲区
+     * @throws ReflectiveOperationException 当前 JDK 不支持时
+     */
+    private static void unmap(MappedByteBuffer buffer) throws ReflectiveOperationException {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        try {
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (NoSuchMethodException e) {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        }
+    }
+
+    /**
+     * 分段映射文件
+     *
+     * @return 映射分段
+     * @throws IllegalStateException 文件无法读取时
+     */
+    private MappedByteBuffer[] map() {
+        MappedByteBuffer[] mapped = segments;
+        if (mapped != null) {
+            return mapped;
+        }
+        synchronized (this) {
+            if (segments == null) {
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    long length = channel.size();
+                    int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS);
+                    MappedByteBuffer[] buffers = new MappedByteBuffer[count];
+                    for (int i = 0; i < count; i++) {
+                        long offset = (long) i << SEGMENT_BITS;
+                        buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                                                 Math.min(SEGMENT_MASK + 1, length - offset));
+                    }
+                    size = length;
+                    segments = buffers;
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot map data file " + path + ": " + e.getMessage(), e);
+                }
+            }
+            return segments;
+        }
+    }
+
+    /**
+     * 读取指定偏移的字节
+     *
+     * @param mapped 映射分段
+     * @param offset 文件偏移
+     * @return 字节
+     */
+    private static byte get(MappedByteBuffer[] mapped, long offset) {
+        return mapped[(int) (offset >>> SEGMENT_BITS)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * 查找行尾
+     *
+     * @param mapped 映射分段
+     * @param start  行起始偏移
+     * @return 换行符的偏移，最后一行没有换行符时为文件大小
+     */
+    private long lineEnd(MappedByteBuffer[] mapped, long start) {
+        long offset = start;
+        while (offset < size && get(mapped, offset) != '\n') {
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * 将一行解码为字符串，去掉行尾的回车符
+     *
+     * @param mapped 映射分段
+     * @param start  行起始偏移
+     * @param end    行结束偏移（不含）
+     * @return 行内容
+     */
+    private static String decode(MappedByteBuffer[] mapped, long start, long end) {
+        long last = end;
+        if (last > start && get(mapped, last - 1) == '\r') {
+            last--;
+        }
+        byte[] bytes = new byte[(int) (last - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = get(mapped, start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 将一行转换为参数值
+     *
+     * @param line     行内容
+     * @param types    参数类型
+     * @param defaults 默认参数值
+     * @return 参数值数组
+     */
+    private Object[] toArguments(String line, String[] types, Object[] defaults) {
+        Object[] arguments = defaults.clone();
+        List<?> values = csv ? splitCsv(line) : toList(JMeterUtils.readJson(line));
+        int count = Math.min(values.size(), arguments.length);
+        for (int i = 0; i < count; i++) {
+            Object value = values.get(i);
+            // JSON 中的字符串和 CSV 字段按参数类型转换，其余值已是泛化形式
+            arguments[i] = value instanceof String ? ArgumentConverter.convertLiteral(types[i], (String) value) : value;
+        }
+        return arguments;
+    }
+
+    /**
+     * 将 JSONL 行解析结果转换为列表
+     *
+     * @param value 解析结果
+     * @return JSON 数组本身，否则为只包含该值的列表
+     */
+    private static List<?> toList(Object value) {
+        if (value instanceof List) {
+            return (List<?>) value;
+        }
+        List<Object> list = new ArrayList<>(1);
+        list.add(value);
+        return list;
+    }
+
+    /**
+     * 按逗号拆分 CSV 行，双引号包围的字段可以包含逗号，两个双引号表示一个双引号
+     *
+     * @param line 行内容
+     * @return 字段列表
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * 数据文件已读完
+     * 这是正常的结束条件而不是调用失败，采样器据此停止线程，不输出采样结果，也不记录失败日志
+     */
+    public static final class ExhaustedException extends NoSuchElementException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 构造函数
+         *
+         * @param path 文件路径
+         */
+        public ExhaustedException(String path) {
+            super("Data file exhausted: " + path);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
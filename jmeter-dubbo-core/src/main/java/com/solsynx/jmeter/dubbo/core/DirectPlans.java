@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import org.apache.dubbo.common.URL;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 直连调用计划缓存
+ * 将注册中心调用计划按提供者地址派生为直连计划，用于绕过负载均衡调用指定的提供者；
+ * 每个 JMeter 线程持有一个实例，基础计划重新编译后自动清空
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+final class DirectPlans {
+
+    private final Map<String, InvocationPlan> plans = new HashMap<>();
+    private InvocationPlan base;
+
+    /**
+     * 获取指定提供者的直连调用计划
+     *
+     * @param plan     基础调用计划
+     * @param provider 提供者 URL
+     * @return 直连调用计划
+     */
+    InvocationPlan get(InvocationPlan plan, URL provider) {
+        if (plan != base) {
+            // 调用计划重新编译后参数可能变化
+            plans.clear();
+            base = plan;
+        }
+        String address = provider.getProtocol() + "://" + provider.getAddress();
+        return plans.computeIfAbsent(address, a -> {
+            ServiceContext context = plan.getContext().copy()
+                .setDirectUrl(a)
+                .setLabel(plan.getContext().getLabel() + " @ " + provider.getAddress());
+            return InvocationPlan.of(context);
+        });
+    }
+}
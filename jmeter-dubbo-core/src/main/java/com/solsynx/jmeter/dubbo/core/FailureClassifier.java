@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.remoting.RemotingException;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.service.GenericException;
+
+import java.io.ObjectStreamException;
+import java.net.SocketException;
+import java.nio.channels.ClosedChannelException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 调用失败分类
+ * 按异常类型和 Dubbo 的 {@link RpcException} 错误码将失败归为稳定的类别，类别名直接作为采样结果的响应码，
+ * 便于在聚合报告和错误统计中区分超时、无可用提供者、序列化、业务异常和网络故障；无法识别的异常使用
+ * {@link GenericDubbo#ERROR_RESPONSE_CODE}
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class FailureClassifier {
+
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String NO_PROVIDER = "NO_PROVIDER";
+    public static final String SERIALIZATION = "SERIALIZATION";
+    public static final String BUSINESS = "BUSINESS";
+    public static final String NETWORK = "NETWORK";
+    public static final String LIMIT_EXCEEDED = "LIMIT_EXCEEDED";
+    /**
+     * 请求发出前在压测机本地发生的错误，例如参数转换失败、数据文件读完、找不到服务 API 类
+     */
+    public static final String CLIENT = "CLIENT";
+    /**
+     * 调用成功但返回值不满足采样器的要求，例如场景步骤的结果路径不存在
+     */
+    public static final String ASSERTION = "ASSERTION";
+    /**
+     * 调用方主动放弃等待，例如对冲请求胜出后取消的原始请求
+     */
+    public static final String CANCELLED = "CANCELLED";
+
+    private static final String NO_PROVIDER_MESSAGE = "No provider available";
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private FailureClassifier() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 对失败异常分类
+     * 沿异常链查找第一个可识别的异常，错误码未知的 RpcException 继续检查其原因
+     *
+     * @param throwable 失败异常
+     * @return 失败类别
+     */
+    public static String classify(Throwable throwable) {
+        Throwable cause = throwable;
+        for (int depth = 0; cause != null && depth < MAX_CAUSE_DEPTH; depth++, cause = cause.getCause()) {
+            String category = classifyOne(cause);
+            if (category != null) {
+                return category;
+            }
+        }
+        return GenericDubbo.ERROR_RESPONSE_CODE;
+    }
+
+    /**
+     * 对单个异常分类，不检查其原因
+     *
+     * @param throwable 异常
+     * @return 失败类别，无法识别时返回 null
+     */
+    private static String classifyOne(Throwable throwable) {
+        if (throwable instanceof RpcException) {
+            RpcException e = (RpcException) throwable;
+            if (e.isTimeout() || e.getCode() == RpcException.TIMEOUT_TERMINATE) {
+                return TIMEOUT;
+            }
+            if (e.isForbidded() || e.isNoInvokerAvailableAfterFilter() || isNoProvider(e)) {
+                return NO_PROVIDER;
+            }
+            if (e.isNetwork()) {
+                return NETWORK;
+            }
+            if (e.isSerialization()) {
+                return SERIALIZATION;
+            }
+            if (e.isLimitExceed()) {
+                return LIMIT_EXCEEDED;
+            }
+            if (e.isBiz()) {
+                return BUSINESS;
+            }
+            return null;
+        }
+        if (throwable instanceof GenericException) {
+            return BUSINESS;
+        }
+        if (throwable instanceof CancellationException) {
+            return CANCELLED;
+        }
+        if (throwable instanceof org.apache.dubbo.remoting.TimeoutException
+            || throwable instanceof java.util.concurrent.TimeoutException) {
+            return TIMEOUT;
+        }
+        if (throwable instanceof RemotingException || throwable instanceof SocketException
+            || throwable instanceof ClosedChannelException) {
+            return NETWORK;
+        }
+        if (throwable instanceof ObjectStreamException || throwable.getClass().getName().contains(".hessian")) {
+            return SERIALIZATION;
+        }
+        if (isNoProvider(throwable)) {
+            // 引用初始化检查提供者失败时抛出 IllegalStateException
+            return NO_PROVIDER;
+        }
+        if (throwable instanceof NoSuchElementException || throwable instanceof IllegalArgumentException
+            || throwable instanceof ClassNotFoundException || throwable instanceof NoSuchMethodException) {
+            return CLIENT;
+        }
+        return null;
+    }
+
+    /**
+     * 异常消息是否表示没有可用的提供者
+     *
+     * @param throwable 异常
+     * @return 如果没有可用的提供者则返回 true
+     */
+    private static boolean isNoProvider(Throwable throwable) {
+        return StringUtils.contains(throwable.getMessage(), NO_PROVIDER_MESSAGE);
+    }
+}
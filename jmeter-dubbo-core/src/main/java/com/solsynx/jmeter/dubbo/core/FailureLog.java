@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 失败日志
+ * 按异常签名（异常链的类名和根因的前几个栈帧）对失败去重，每个签名分配一个短 ID，完整的堆栈只在首次出现时写入 jmeter.log，
+ * 采样结果中只引用 ID；之后的失败只计数，每隔 {@value #INTERVAL_PROPERTY} 毫秒由遇到失败的线程输出一次区间内各签名的次数，
+ * 测试结束时输出整个测试的汇总，提供者宕机时日志量与失败率无关
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class FailureLog {
+
+    /**
+     * 失败汇总日志间隔（毫秒）的 JMeter 属性名
+     */
+    public static final String INTERVAL_PROPERTY = "dubbo.failure.log.interval";
+
+    private static final Logger log = LoggerFactory.getLogger(FailureLog.class);
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(Math.max(0,
+        org.apache.jmeter.util.JMeterUtils.getPropDefault(INTERVAL_PROPERTY, 10000L)));
+    /**
+     * 最多跟踪的签名数，超过后新的签名归入同一个溢出项，避免异常消息中的变量导致签名无限增长
+     */
+    private static final int MAX_SIGNATURES = 1024;
+    private static final int SIGNATURE_FRAMES = 8;
+    private static final int MAX_MESSAGE_LENGTH = 200;
+    private static final String OVERFLOW = "overflow";
+
+    private static final ConcurrentMap<String, FailureLog> SIGNATURES = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_SUMMARY = new AtomicLong(System.nanoTime() + INTERVAL_NANOS);
+
+    private final String id;
+    private final String category;
+    private final String exception;
+    private final String message;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder recent = new LongAdder();
+
+    /**
+     * 私有构造函数，通过 {@link #record(String, Throwable)} 创建
+     *
+     * @param id        签名 ID
+     * @param category  失败类别
+     * @param throwable 首次出现的异常
+     */
+    private FailureLog(String id, String category, Throwable throwable) {
+        this.id = id;
+        this.category = category;
+        this.exception = throwable.getClass().getName();
+        this.message = StringUtils.abbreviate(StringUtils.defaultString(throwable.getMessage()), MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * 记录一次失败
+     * 签名首次出现时输出完整堆栈，之后到达汇总间隔时输出区间内的失败次数
+     *
+     * @param category  失败类别
+     * @param throwable 失败异常
+     * @return 签名 ID
+     */
+    public static String record(String category, Throwable throwable) {
+        String signature = signatureOf(category, throwable);
+        FailureLog entry = SIGNATURES.get(signature);
+        if (entry == null) {
+            if (SIGNATURES.size() >= MAX_SIGNATURES) {
+                signature = OVERFLOW;
+            }
+            String id = OVERFLOW.equals(signature) ? OVERFLOW : String.format("%08x", signature.hashCode());
+            FailureLog created = new FailureLog(id, category, throwable);
+            entry = SIGNATURES.putIfAbsent(signature, created);
+            if (entry == null) {
+                entry = created;
+                log.warn("Dubbo failure [{}] {}: {}", id, category, created.message, throwable);
+            }
+        }
+        entry.total.increment();
+        entry.recent.increment();
+        long next = NEXT_SUMMARY.get();
+        long now = System.nanoTime();
+        if (now - next >= 0 && NEXT_SUMMARY.compareAndSet(next, now + INTERVAL_NANOS)) {
+            String summary = summary(false);
+            if (summary != null) {
+                log.warn("Dubbo failures in the last {} ms:\n{}",
+                         TimeUnit.NANOSECONDS.toMillis(INTERVAL_NANOS), summary);
+            }
+        }
+        return entry.id;
+    }
+
+    /**
+     * 生成整个测试的失败汇总并清空所有签名
+     *
+     * @return 失败汇总，没有失败时返回 null
+     */
+    public static String report() {
+        String summary = summary(true);
+        reset();
+        return summary;
+    }
+
+    /**
+     * 清空所有签名
+     */
+    public static void reset() {
+        SIGNATURES.clear();
+        NEXT_SUMMARY.set(System.nanoTime() + INTERVAL_NANOS);
+    }
+
+    /**
+     * 生成失败汇总，按次数降序排列
+     *
+     * @param total 是否统计整个测试，否则统计上次汇总以来的次数并清零
+     * @return 失败汇总，没有失败时返回 null
+     */
+    private static String summary(boolean total) {
+        List<long[]> counts = new ArrayList<>();
+        List<FailureLog> entries = new ArrayList<>();
+        for (FailureLog entry : SIGNATURES.values()) {
+            long count = total ? entry.total.sum() : entry.recent.sumThenReset();
+            if (count > 0) {
+                counts.add(new long[]{count, entries.size()});
+                entries.add(entry);
+            }
+        }
+        if (counts.isEmpty()) {
+            return null;
+        }
+        counts.sort(Comparator.comparingLong((long[] c) -> c[0]).reversed());
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+            "%-10s %-16s %12s  %s%n", "id", "category", "count", "exception"));
+        for (long[] count : counts) {
+            FailureLog entry = entries.get((int) count[1]);
+            summary.append(String.format(Locale.ROOT, "%-10s %-16s %12d  %s: %s%n",
+                                         entry.id, entry.category, count[0], entry.exception, entry.message));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * 计算异常签名
+     * 由类别、异常链各层的类名和根因的前几个栈帧组成，不包含异常消息，消息中的请求参数和地址不会产生新的签名
+     *
+     * @param category  失败类别
+     * @param throwable 失败异常
+     * @return 异常签名
+     */
+    private static String signatureOf(String category, Throwable throwable) {
+        StringBuilder signature = new StringBuilder(category);
+        Throwable root = throwable;
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            signature.append('|').append(cause.getClass().getName());
+            root = cause;
+            if (signature.length() > 4096) {
+                break;
+            }
+        }
+        StackTraceElement[] frames = root.getStackTrace();
+        for (int i = 0; i < frames.length && i < SIGNATURE_FRAMES; i++) {
+            signature.append('|').append(frames[i].getClassName()).append('.').append(frames[i].getMethodName())
+                .append(':').append(frames[i].getLineNumber());
+        }
+        return signature.toString();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.common.beanutil.JavaBeanAccessor;
+import org.apache.dubbo.common.beanutil.JavaBeanDescriptor;
+import org.apache.dubbo.common.beanutil.JavaBeanSerializeUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * 泛化调用的参数与结果转换
+ * 按调用方式把计划生成的参数值（Map、List 等泛化形式）转换为 Dubbo 要求的形式，并把返回值还原为可读的对象：
+ * <ul>
+ *     <li>{@code true}、{@code raw.return}: 参数直接传递，由提供者端的 PojoUtils 还原</li>
+ *     <li>{@code bean}: 参数还原为真实类型后转换为 JavaBeanDescriptor，返回值按描述还原，需要服务 API 包</li>
+ *     <li>{@code nativejava}: 参数还原为真实类型后以 Java 序列化为 byte[]，返回值反序列化，需要服务 API 包</li>
+ *     <li>{@code protobuf-json}: 参数转换为 JSON 字符串，返回值为 JSON 字符串，适用于 Protobuf 服务</li>
+ *     <li>类型化调用: 参数还原为真实类型，见 {@link TypedMethod}</li>
+ * </ul>
+ * 转换耗时记录到采样结果，用于比较不同调用方式在消费端的开销
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class GenericCodec {
+
+    public static final String RAW_RETURN = "raw.return";
+    public static final String BEAN = "bean";
+    public static final String NATIVE_JAVA = "nativejava";
+    public static final String PROTOBUF_JSON = "protobuf-json";
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private GenericCodec() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 获取服务上下文的调用方式
+     *
+     * @param context 服务上下文
+     * @return 类型化调用时为 {@link GenericDubbo#TYPED}，否则为泛化方式，默认 {@link GenericDubbo#GENERIC_DEFAULT}
+     */
+    public static String modeOf(ServiceContext context) {
+        if (context.isTyped()) {
+            return GenericDubbo.TYPED;
+        }
+        return StringUtils.defaultIfBlank(StringUtils.trim(context.getGeneric()), GenericDubbo.GENERIC_DEFAULT);
+    }
+
+    /**
+     * 按调用方式转换参数值
+     *
+     * @param plan      调用计划
+     * @param arguments 泛化形式的参数值
+     * @return Dubbo 要求形式的参数值
+     * @throws Exception 找不到服务 API 包中的类或序列化失败时
+     */
+    static Object[] encode(InvocationPlan plan, Object[] arguments) throws Exception {
+        switch (plan.getMode()) {
+            case GenericDubbo.TYPED:
+                return plan.getTypedMethod().realize(arguments);
+            case BEAN: {
+                Object[] realized = plan.getTypedMethod().realize(arguments);
+                Object[] encoded = new Object[realized.length];
+                for (int i = 0; i < realized.length; i++) {
+                    encoded[i] = JavaBeanSerializeUtil.serialize(realized[i], JavaBeanAccessor.METHOD);
+                }
+                return encoded;
+            }
+            case NATIVE_JAVA: {
+                Object[] realized = plan.getTypedMethod().realize(arguments);
+                Object[] encoded = new Object[realized.length];
+                for (int i = 0; i < realized.length; i++) {
+                    encoded[i] = serialize(realized[i]);
+                }
+                return encoded;
+            }
+            case PROTOBUF_JSON: {
+                Object[] encoded = new Object[arguments.length];
+                for (int i = 0; i < arguments.length; i++) {
+                    encoded[i] = arguments[i] instanceof String ? arguments[i] : JMeterUtils.toString(arguments[i]);
+                }
+                return encoded;
+            }
+            default:
+                return arguments;
+        }
+    }
+
+    /**
+     * 按调用方式还原返回值
+     *
+     * @param plan  调用计划
+     * @param value Dubbo 返回的原始值
+     * @return 还原后的返回值
+     * @throws Exception 找不到服务 API 包中的类或反序列化失败时
+     */
+    static Object decode(InvocationPlan plan, Object value) throws Exception {
+        switch (plan.getMode()) {
+            case BEAN:
+                return value instanceof JavaBeanDescriptor
+                    ? JavaBeanSerializeUtil.deserialize((JavaBeanDescriptor) value, plan.getTypedMethod().getClassLoader())
+                    : value;
+            case NATIVE_JAVA:
+                return value instanceof byte[] ? deserialize((byte[]) value) : value;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * 以 Java 序列化转换对象
+     *
+     * @param value 对象
+     * @return 序列化后的字节数组
+     * @throws IOException 对象不可序列化时
+     */
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 以 Java 序列化还原对象，类从服务 API 包中加载
+     *
+     * @param bytes 序列化后的字节数组
+     * @return 对象
+     * @throws IOException            数据格式错误时
+     * @throws ClassNotFoundException 找不到对象的类时
+     */
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ApiObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * 从服务 API 包中加载类的对象输入流
+     */
+    private static final class ApiObjectInputStream extends ObjectInputStream {
+
+        /**
+         * 构造函数
+         *
+         * @param in 输入流
+         * @throws IOException 读取流头失败时
+         */
+        private ApiObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws ClassNotFoundException {
+            return ApiClassLoader.forName(desc.getName());
+        }
+    }
+}
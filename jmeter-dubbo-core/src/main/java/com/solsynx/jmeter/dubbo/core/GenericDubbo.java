@@ -18,14 +18,14 @@
 package com.solsynx.jmeter.dubbo.core;
 
 import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
 import com.solsynx.jmeter.dubbo.context.ServiceContext;
 import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.dubbo.common.URL;
 import org.apache.dubbo.config.ApplicationConfig;
 import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.dubbo.config.RegistryConfig;
-import org.apache.dubbo.config.utils.ReferenceConfigCache;
 import org.apache.dubbo.rpc.RpcContext;
 import org.apache.dubbo.rpc.model.ApplicationModel;
 import org.apache.dubbo.rpc.service.GenericService;
@@ -33,6 +33,19 @@ import org.apache.jmeter.samplers.SampleResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static org.apache.dubbo.common.constants.CommonConstants.THREADPOOL_KEY;
+import static org.apache.dubbo.rpc.cluster.loadbalance.ConsistentHashLoadBalance.HASH_ARGUMENTS;
+import static org.apache.dubbo.rpc.cluster.loadbalance.ConsistentHashLoadBalance.HASH_NODES;
+
 /**
  * 用于 JMeter 插件的 Dubbo 客户端
  * 提供了对 Dubbo 服务的泛化调用能力，支持通过注册中心或直连方式调用服务
@@ -41,11 +54,22 @@ import org.slf4j.LoggerFactory;
  * @version 0.0.1
  * @since 0.0.1
  * @since 0.0.2 提前设置结果上下文信息，优化了 execute 方法的 RpcContext 处理逻辑
+ * @since 0.0.2 基于预编译的 InvocationPlan 执行调用，采样热路径不再拷贝参数
+ * @since 0.0.2 没有可用提供者时由可用性闸门快速拒绝采样
  */
 public class GenericDubbo {
 
     public static final String UTF_8 = "UTF-8";
     public static final String ERROR_RESPONSE_CODE = "500";
+    public static final String GENERIC_DEFAULT = "true";
+    /**
+     * 类型化调用在引用缓存键中的标识
+     */
+    public static final String TYPED = "typed";
+    /**
+     * 消费端线程池类型的 JMeter 属性名，例如 virtual 表示使用 {@link VirtualThreadPool}
+     */
+    public static final String CONSUMER_THREADPOOL_PROPERTY = "dubbo.consumer.threadpool";
     static Logger log = LoggerFactory.getLogger(GenericDubbo.class);
 
     static {
@@ -80,59 +104,289 @@ public class GenericDubbo {
      * @since 0.0.2 提前设置结果上下文信息，优化了 execute 方法的 RpcContext 处理逻辑
      */
     public static DubboSampleResult execute(ServiceContext context) {
+        return execute(InvocationPlan.of(context));
+    }
+
+    /**
+     * 按调用计划执行 Dubbo 服务调用
+     *
+     * @param plan 预编译的调用计划
+     * @return DubboSampleResult 包含调用结果的采样结果对象
+     * @see InvocationPlan
+     * @since 0.0.2
+     */
+    public static DubboSampleResult execute(InvocationPlan plan) {
+        return execute(plan, null);
+    }
+
+    /**
+     * 按调用计划执行 Dubbo 服务调用，使用指定的参数值代替计划中的参数值
+     *
+     * @param plan      预编译的调用计划
+     * @param arguments 参数值数组，与计划的参数类型一一对应，为 null 时使用计划生成的参数值
+     * @return DubboSampleResult 包含调用结果的采样结果对象
+     * @since 0.0.2
+     */
+    public static DubboSampleResult execute(InvocationPlan plan, Object[] arguments) {
+        ServiceContext context = plan.getContext();
         DubboSampleResult result = initializeResult(context);
         RpcContext rpcContext = RpcContext.getContext();
         try {
             long connectStartTime = System.currentTimeMillis();
-            GenericService service = getService(context);
+            Object service = getProxy(plan);
             long connectTime = System.currentTimeMillis() - connectStartTime;
+            if (rejectUnavailable(plan, result)) {
+                // 闸门关闭，不解析参数也不发出调用
+                result.sampleStart();
+            } else {
+                long conversionStart = System.nanoTime();
+                Object[] values = arguments == null ? plan.resolveArguments() : arguments;
+                result.setSentBytes(plan.estimateSentBytes(values));
+                values = GenericCodec.encode(plan, values);
+                result.setArgumentConversionNanos(System.nanoTime() - conversionStart);
 
-            result.sampleStart();
+                result.sampleStart();
 
-            long latencyStartTime = System.currentTimeMillis();
-            Object o = executeCall(context, rpcContext, service);
-            long latencyTime = System.currentTimeMillis() - latencyStartTime;
+                long latencyStartTime = System.currentTimeMillis();
+                Object o = executeCall(plan, values, rpcContext, service);
+                long latencyTime = System.currentTimeMillis() - latencyStartTime;
 
-            setSuccessResult(result, o);
-            result.setConnectTime(connectTime);  // 连接时间
-            result.setLatency(latencyTime);      // 延迟时间
+                setSuccessResult(plan, result, o);
+                result.setConnectTime(connectTime);  // 连接时间
+                result.setLatency(latencyTime);      // 延迟时间
+            }
         } catch (Throwable throwable) {
-            log.warn(throwable.getMessage(), throwable);
             handleException(throwable, result);
+            closeGateIfNoProvider(plan, result);
         } finally {
             finalizeResult(result, rpcContext);
         }
+        return complete(context, result);
+    }
+
+    /**
+     * 按调用计划异步执行 Dubbo 服务调用
+     *
+     * <p>使用 {@link GenericService#$invokeAsync(String, String[], Object[])} 发出请求后立即返回，
+     * 请求完成时在回调中填充结果。开始时间取发送时刻，耗时以纳秒计时，不受调用线程调度影响。
+     * 返回的 Future 总是正常完成，调用失败记录为失败的采样结果。</p>
+     *
+     * @param plan 预编译的调用计划
+     * @return 完成时得到采样结果的 CompletableFuture
+     * @see GenericService#$invokeAsync(String, String[], Object[])
+     * @since 0.0.2
+     */
+    public static CompletableFuture<DubboSampleResult> executeAsync(InvocationPlan plan) {
+        return executeAsync(plan, System.currentTimeMillis(), System.nanoTime());
+    }
+
+    /**
+     * 按调用计划异步执行 Dubbo 服务调用，耗时从指定的计划开始时刻起算
+     *
+     * <p>用于开放模型：传入计划发送时刻而不是实际发送时刻，发送滞后造成的排队延迟计入耗时。</p>
+     *
+     * @param plan       预编译的调用计划
+     * @param startTime  计划开始时刻（毫秒时间戳）
+     * @param startNanos 计划开始时刻（System.nanoTime 基准）
+     * @return 完成时得到采样结果的 CompletableFuture
+     * @since 0.0.2
+     */
+    public static CompletableFuture<DubboSampleResult> executeAsync(InvocationPlan plan, long startTime, long startNanos) {
+        return executeAsync(plan, null, startTime, startNanos, null);
+    }
+
+    /**
+     * 按调用计划异步执行 Dubbo 服务调用，请求发出后将 Dubbo 返回的原始 Future 交给回调
+     *
+     * <p>调用方可通过取消原始 Future 放弃等待响应，被取消的调用以失败结果完成且不计入提供者统计。
+     * 重试、对冲等需要多次发出同一请求的调用方传入预先填充的参数值，每次请求的参数保持一致。</p>
+     *
+     * @param plan       预编译的调用计划
+     * @param arguments  参数值数组，与计划的参数类型一一对应，为 null 时使用计划生成的参数值
+     * @param startTime  计划开始时刻（毫秒时间戳）
+     * @param startNanos 计划开始时刻（System.nanoTime 基准）
+     * @param sent       请求发出后的回调，可以为 null
+     * @return 完成时得到采样结果的 CompletableFuture
+     * @since 0.0.2
+     */
+    static CompletableFuture<DubboSampleResult> executeAsync(InvocationPlan plan, Object[] arguments, long startTime,
+                                                             long startNanos, Consumer<CompletableFuture<?>> sent) {
+        DubboSampleResult result = initializeResult(plan.getContext());
+        RpcContext rpcContext = RpcContext.getContext();
+        CompletableFuture<Object> future;
+        try {
+            Object service = getProxy(plan);
+            if (rejectUnavailable(plan, result)) {
+                future = null;
+            } else {
+                long conversionStart = System.nanoTime();
+                Object[] values = arguments == null ? plan.resolveArguments() : arguments;
+                result.setSentBytes(plan.estimateSentBytes(values));
+                Object[] encoded = GenericCodec.encode(plan, values);
+                result.setArgumentConversionNanos(System.nanoTime() - conversionStart);
+                rpcContext.setAttachments(plan.getAttachment());
+                if (plan.getContext().isTyped()) {
+                    TypedMethod method = plan.getTypedMethod();
+                    future = rpcContext.asyncCall(() -> method.invoke(service, encoded));
+                } else {
+                    future = ((GenericService) service).$invokeAsync(plan.getContext().getMethodName(),
+                                                                     plan.getParameterTypes(), encoded);
+                }
+            }
+        } catch (Throwable throwable) {
+            handleException(throwable, result);
+            closeGateIfNoProvider(plan, result);
+            future = null;
+        } finally {
+            setProviderInfo(result, rpcContext);
+        }
+        if (future == null) {
+            result.setTiming(startTime, System.nanoTime() - startNanos);
+            return CompletableFuture.completedFuture(complete(plan.getContext(), result));
+        }
+        if (sent != null) {
+            sent.accept(future);
+        }
+        return future.handle((o, throwable) -> {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            if (throwable == null) {
+                try {
+                    setSuccessResult(plan, result, o);
+                } catch (Exception e) {
+                    handleException(e, result);
+                }
+            } else {
+                Throwable cause = unwrap(throwable);
+                handleException(cause, result);
+                closeGateIfNoProvider(plan, result);
+                if (cause instanceof CancellationException) {
+                    // 调用方已放弃等待，不记录提供者统计
+                    result.setTiming(startTime, elapsedNanos);
+                    return result;
+                }
+            }
+            result.setTiming(startTime, elapsedNanos);
+            return complete(plan.getContext(), result);
+        });
+    }
+
+    /**
+     * 完成一次调用，记录转换统计并按需记录提供者统计
+     *
+     * @param context 服务上下文
+     * @param result  已完成的采样结果
+     * @return 采样结果
+     * @see ProviderStatistics
+     * @see ConversionStatistics
+     * @since 0.0.2
+     */
+    private static DubboSampleResult complete(ServiceContext context, DubboSampleResult result) {
+        if (context.isProviderStatistics()) {
+            ProviderStatistics.record(result);
+        }
+        ConversionStatistics.record(result);
         return result;
     }
 
+    /**
+     * 可用性闸门关闭时直接拒绝采样
+     * 被拒绝的采样响应码为 {@link FailureClassifier#NO_PROVIDER}，响应消息为 {@link AvailabilityGate#REJECTED_MESSAGE}，
+     * 并记录闸门本次关闭已持续的时长；不构造异常，也不计入失败日志
+     *
+     * @param plan   已绑定引用句柄的调用计划
+     * @param result 采样结果对象
+     * @return 采样被拒绝时返回 true
+     * @see AvailabilityGate
+     * @since 0.0.2
+     */
+    private static boolean rejectUnavailable(InvocationPlan plan, DubboSampleResult result) {
+        AvailabilityGate gate = plan.getReference().getGate();
+        if (gate.isOpen()) {
+            return false;
+        }
+        long unavailableMillis = gate.reject();
+        result.setSuccessful(false);
+        result.setResponseCode(FailureClassifier.NO_PROVIDER);
+        result.setResponseMessage(AvailabilityGate.REJECTED_MESSAGE);
+        result.setUnavailableMillis(unavailableMillis);
+        result.setDataType(SampleResult.TEXT);
+        result.setResponseData(FailureClassifier.NO_PROVIDER + " " + AvailabilityGate.REJECTED_MESSAGE
+                                   + ": no provider available for " + unavailableMillis + " ms", UTF_8);
+        return true;
+    }
+
+    /**
+     * 调用因无可用提供者失败时关闭引用的可用性闸门，后续采样在提供者恢复前直接拒绝
+     *
+     * @param plan   调用计划
+     * @param result 失败的采样结果
+     * @since 0.0.2
+     */
+    private static void closeGateIfNoProvider(InvocationPlan plan, DubboSampleResult result) {
+        ReferenceHandle handle = plan.getReference();
+        if (handle != null && FailureClassifier.NO_PROVIDER.equals(result.getResponseCode())) {
+            handle.getGate().close();
+        }
+    }
+
+    /**
+     * 剥离 CompletableFuture 包装的异常
+     *
+     * @param throwable 异常
+     * @return 原始异常
+     * @since 0.0.2
+     */
+    static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+            && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
     /**
      * 执行 Dubbo 服务调用
      *
-     * @param context    服务上下文
+     * @param plan       调用计划
+     * @param arguments  已按调用方式转换的参数值数组
      * @param rpcContext RpcContext 对象
-     * @param service    泛化服务实例
+     * @param service    服务代理，类型化调用时为服务接口的代理，否则为泛化服务实例
+     * @throws Exception 调用失败或类型化调用的方法无法绑定时
      * @since 0.0.2
      */
-    private static Object executeCall(ServiceContext context, RpcContext rpcContext, GenericService service) {
-        rpcContext.setAttachments(context.getAttachment());
-        String[] parameterTypes = context.getParameters().keySet().toArray(new String[0]);
-        Object[] parameters = context.getParameters().values().toArray();
-        return service.$invoke(context.getMethodName(), parameterTypes, parameters);
+    private static Object executeCall(InvocationPlan plan, Object[] arguments, RpcContext rpcContext,
+                                      Object service) throws Exception {
+        rpcContext.setAttachments(plan.getAttachment());
+        if (plan.getContext().isTyped()) {
+            return plan.getTypedMethod().invoke(service, arguments);
+        }
+        return ((GenericService) service).$invoke(plan.getContext().getMethodName(), plan.getParameterTypes(), arguments);
     }
 
     /**
-     * 设置成功结果对象
+     * 设置成功结果对象，按调用方式还原返回值并记录还原耗时，按响应模式写出响应数据
      *
+     * @param plan   调用计划
      * @param result 采样结果对象
-     * @param o      服务调用返回的对象
+     * @param o      服务调用返回的原始对象
+     * @throws Exception 返回值无法还原时
+     * @see GenericCodec#decode(InvocationPlan, Object)
+     * @see ResponseWriter
      * @since 0.0.2
      */
-    private static void setSuccessResult(DubboSampleResult result, Object o) {
+    private static void setSuccessResult(InvocationPlan plan, DubboSampleResult result, Object o) throws Exception {
+        long conversionStart = System.nanoTime();
+        o = GenericCodec.decode(plan, o);
+        result.setResultConversionNanos(System.nanoTime() - conversionStart);
         result.setSuccessful(true);
         result.setResponseCodeOK();
         result.setResponseMessageOK();
         result.setDataType(SampleResult.TEXT);
-        result.setResponseData(JMeterUtils.toString(o), UTF_8);
+        ServiceContext context = plan.getContext();
+        ResponseWriter.write(result, o, StringUtils.defaultString(context.getResponseMode(), ResponseWriter.FULL),
+                             context.getResponseLimit());
+        result.setReturnValue(o);
     }
 
     /**
@@ -143,26 +397,62 @@ public class GenericDubbo {
      * @since 0.0.2
      */
     private static void finalizeResult(DubboSampleResult result, RpcContext rpcContext) {
-        result.setProviderUrl(JMeterUtils.toURL(JMeterUtils.toIdentityString(rpcContext.getUrl())));
-        result.setRequestHeaders(JMeterUtils.mapAsString(rpcContext.getObjectAttachments()));
+        setProviderInfo(result, rpcContext);
         if (result.getEndTime() == 0) {
             result.sampleEnd();
         }
     }
 
     /**
-     * 执行 Dubbo 服务调用
+     * 记录提供者地址和请求附件
+     *
+     * @param result     采样结果对象
+     * @param rpcContext RpcContext 对象
+     * @since 0.0.2
+     */
+    private static void setProviderInfo(DubboSampleResult result, RpcContext rpcContext) {
+        result.setProviderUrl(JMeterUtils.toURL(JMeterUtils.toIdentityString(rpcContext.getUrl())));
+        result.setRequestHeaders(JMeterUtils.mapAsString(rpcContext.getObjectAttachments()));
+    }
+
+    /**
+     * 设置失败结果对象
+     * 响应码为失败类别，响应消息为异常类名和签名 ID，完整堆栈只在签名首次出现时写入 jmeter.log，响应数据中只引用签名 ID
+     *
+     * @param throwable 错误对象
+     * @param result    采样结果对象
+     * @see FailureClassifier
+     * @see FailureLog
+     * @since 0.0.2
+     */
+    static void handleException(Throwable throwable, DubboSampleResult result) {
+        handleException(throwable, result, FailureClassifier.classify(throwable));
+    }
+
+    /**
+     * 按指定的失败类别设置失败结果对象
      *
      * @param throwable 错误对象
      * @param result    采样结果对象
+     * @param category  失败类别
+     * @see #handleException(Throwable, DubboSampleResult)
      * @since 0.0.2
      */
-    private static void handleException(Throwable throwable, DubboSampleResult result) {
+    static void handleException(Throwable throwable, DubboSampleResult result, String category) {
+        String exception = throwable.getClass().getName();
         result.setSuccessful(false);
-        result.setResponseCode(ERROR_RESPONSE_CODE);
-        result.setResponseMessage(throwable.getClass().getName());
+        result.setResponseCode(category);
+        result.setFailure(throwable);
         result.setDataType(SampleResult.TEXT);
-        result.setResponseData(ExceptionUtils.getStackTrace(throwable), UTF_8);
+        if (FailureClassifier.CANCELLED.equals(category) || throwable instanceof DataFeeder.ExhaustedException) {
+            // 调用方主动放弃或数据文件已读完，不计入失败日志
+            result.setResponseMessage(exception);
+            return;
+        }
+        String id = FailureLog.record(category, throwable);
+        result.setResponseMessage(exception + " [" + id + "]");
+        result.setResponseData(category + " " + exception + ": " + StringUtils.defaultString(throwable.getMessage())
+                                   + "\nFailure ID: " + id + " (stack trace logged once in jmeter.log)", UTF_8);
     }
 
     /**
@@ -172,7 +462,7 @@ public class GenericDubbo {
      * @return 初始化的 DubboSampleResult 对象
      * @since 0.0.2
      */
-    private static DubboSampleResult initializeResult(ServiceContext context) {
+    static DubboSampleResult initializeResult(ServiceContext context) {
         DubboSampleResult result = new DubboSampleResult();
         result.setSampleLabel(context.getLabel());
         setContext(result, context);
@@ -200,6 +490,7 @@ public class GenericDubbo {
         result.setMethodName(context.getMethodName());
         result.setServiceGroup(context.getServiceGroup());
         result.setParameters(context.getParameters());
+        result.setGeneric(GenericCodec.modeOf(context));
     }
 
     /**
@@ -207,10 +498,75 @@ public class GenericDubbo {
      *
      * @param context 服务上下文
      * @return GenericService 泛化服务实例
+     * @see ReferenceCache
      * @since 0.0.2
      */
     public static GenericService getService(ServiceContext context) {
-        return ReferenceConfigCache.getCache().get(getReferenceConfig(context));
+        return ReferenceCache.getInstance().acquire(context).getService();
+    }
+
+    /**
+     * 获取服务代理
+     *
+     * @param context 服务上下文
+     * @return 服务代理，类型化调用时为服务接口的代理，否则为泛化服务实例
+     * @see ReferenceCache
+     * @since 0.0.2
+     */
+    public static Object getProxy(ServiceContext context) {
+        return ReferenceCache.getInstance().acquire(context).getProxy();
+    }
+
+    /**
+     * 获取调用计划绑定的泛化服务实例
+     * 计划首次使用或句柄已被淘汰时从引用缓存获取并绑定，之后直接读取句柄
+     *
+     * @param plan 调用计划
+     * @return GenericService 泛化服务实例
+     * @since 0.0.2
+     */
+    public static GenericService getService(InvocationPlan plan) {
+        getProxy(plan);
+        return plan.getReference().getService();
+    }
+
+    /**
+     * 获取调用计划绑定的服务代理
+     * 计划首次使用或句柄已被淘汰时从引用缓存获取并绑定，之后直接读取句柄
+     *
+     * @param plan 调用计划
+     * @return 服务代理，类型化调用时为服务接口的代理，否则为泛化服务实例
+     * @since 0.0.2
+     */
+    public static Object getProxy(InvocationPlan plan) {
+        ReferenceHandle handle = plan.getReference();
+        if (handle == null || handle.isDestroyed()) {
+            handle = ReferenceCache.getInstance().acquire(plan.getReferenceKey(), plan.getContext());
+            plan.setReference(handle);
+        }
+        return handle.getProxy();
+    }
+
+    /**
+     * 获取调用计划对应引用当前可用的提供者
+     *
+     * @param plan 调用计划
+     * @return 提供者 URL 列表
+     * @see ReferenceHandle#getProviders()
+     * @since 0.0.2
+     */
+    public static List<URL> getProviders(InvocationPlan plan) {
+        getProxy(plan);
+        return plan.getReference().getProviders();
+    }
+
+    /**
+     * 释放所有缓存的引用
+     *
+     * @since 0.0.2
+     */
+    public static void releaseServices() {
+        ReferenceCache.getInstance().clear();
     }
 
     /**
@@ -218,9 +574,10 @@ public class GenericDubbo {
      *
      * @param context 服务上下文
      * @return ReferenceConfig 引用配置对象
+     * @throws IllegalStateException 类型化调用找不到服务接口时
      */
-    public static ReferenceConfig<GenericService> getReferenceConfig(ServiceContext context) {
-        ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
+    public static ReferenceConfig<Object> getReferenceConfig(ServiceContext context) {
+        ReferenceConfig<Object> reference = new ReferenceConfig<>();
         if (StringUtils.isBlank(context.getDirectUrl())) {
             RegistryConfig registry = new RegistryConfig();
             registry.setProtocol(context.getRegistryType());
@@ -233,13 +590,61 @@ public class GenericDubbo {
         } else {
             reference.setUrl(context.getDirectUrl());
         }
-        // 服务接口全限定名
-        reference.setInterface(context.getInterfaceName());
-        // 声明为泛化接口
-        reference.setGeneric("true");
+        if (context.isTyped()) {
+            // 服务 API 包中的真实接口
+            reference.setInterface(loadInterface(context.getInterfaceName()));
+        } else {
+            // 服务接口全限定名
+            reference.setInterface(context.getInterfaceName());
+            // 声明为泛化接口，bean、nativejava 等方式的参数与返回值由 GenericCodec 转换
+            reference.setGeneric(GenericCodec.modeOf(context));
+        }
+        if (StringUtils.isNotBlank(context.getServiceGroup())) {
+            reference.setGroup(context.getServiceGroup());
+        }
         reference.setTimeout(Integer.parseInt(context.getServiceTimeout()));
         // 关闭重试
         reference.setRetries(0);
+        if (AvailabilityGate.isEnabled()) {
+            // 启动时没有提供者也完成初始化，由可用性闸门拒绝采样，避免每次采样重新初始化引用
+            reference.setCheck(false);
+        }
+        // 负载均衡策略，为空时使用 Dubbo 默认的 random
+        if (StringUtils.isNotBlank(context.getLoadBalance())) {
+            reference.setLoadbalance(context.getLoadBalance().trim());
+        }
+        reference.setSticky(context.isSticky());
+        Map<String, String> parameters = new HashMap<>();
+        String threadPool = org.apache.jmeter.util.JMeterUtils.getPropDefault(CONSUMER_THREADPOOL_PROPERTY, "");
+        if (StringUtils.isNotBlank(threadPool)) {
+            parameters.put(THREADPOOL_KEY, threadPool.trim());
+        }
+        if (StringUtils.isNotBlank(context.getHashArguments())) {
+            parameters.put(HASH_ARGUMENTS, StringUtils.deleteWhitespace(context.getHashArguments()));
+        }
+        if (StringUtils.isNotBlank(context.getHashNodes())) {
+            parameters.put(HASH_NODES, context.getHashNodes().trim());
+        }
+        if (!parameters.isEmpty()) {
+            reference.setParameters(parameters);
+        }
         return reference;
     }
+
+    /**
+     * 加载类型化调用的服务接口
+     *
+     * @param interfaceName 接口全限定名
+     * @return 服务接口
+     * @throws IllegalStateException 找不到服务接口时
+     * @see ApiClassLoader
+     */
+    private static Class<?> loadInterface(String interfaceName) {
+        try {
+            return ApiClassLoader.forName(interfaceName);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Service API class not found, add the API jar to lib/ext or "
+                                                + ApiClassLoader.API_PATH_PROPERTY + ": " + interfaceName, e);
+        }
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 重试与对冲统计
+ * 累计所有线程的采样数、实际发出的请求数、重试次数、对冲次数和对冲胜出次数，计数器均为无锁结构；
+ * 对冲胜出时原始请求在后台继续完成，两者耗时之差记为节省的耗时；
+ * 请求放大倍数用于评估重试和对冲给提供者带来的额外负载
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class HedgeStatistics {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private static final LongAdder SAMPLES = new LongAdder();
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder HEDGES = new LongAdder();
+    private static final LongAdder HEDGE_WINS = new LongAdder();
+    private static final LongAdder PRIMARY_FAILURES = new LongAdder();
+    private static volatile LatencyHistogram saved = new LatencyHistogram();
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private HedgeStatistics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 记录一次采样
+     *
+     * @param requests 发出的请求数
+     * @param retries  重试次数
+     * @param hedges   对冲次数
+     * @param wins     对冲胜出次数
+     */
+    static void record(int requests, int retries, int hedges, int wins) {
+        SAMPLES.increment();
+        REQUESTS.add(requests);
+        RETRIES.add(retries);
+        HEDGES.add(hedges);
+        HEDGE_WINS.add(wins);
+    }
+
+    /**
+     * 记录对冲胜出后原始请求的完成情况
+     *
+     * @param savedNanos 原始请求耗时减去对冲胜出时的耗时（纳秒），原始请求失败时为负数
+     */
+    static void recordSaved(long savedNanos) {
+        if (savedNanos < 0) {
+            PRIMARY_FAILURES.increment();
+        } else {
+            saved.record(TimeUnit.NANOSECONDS.toMicros(savedNanos));
+        }
+    }
+
+    /**
+     * 生成统计报告并清空所有统计
+     *
+     * @return 统计报告，没有记录时返回 null
+     */
+    public static String report() {
+        long samples = SAMPLES.sumThenReset();
+        long requests = REQUESTS.sumThenReset();
+        long retries = RETRIES.sumThenReset();
+        long hedges = HEDGES.sumThenReset();
+        long wins = HEDGE_WINS.sumThenReset();
+        long primaryFailures = PRIMARY_FAILURES.sumThenReset();
+        LatencyHistogram histogram = saved;
+        saved = new LatencyHistogram();
+        if (samples == 0) {
+            return null;
+        }
+        long[] quantiles = histogram.getQuantiles(QUANTILES);
+        return String.format(Locale.ROOT,
+            "samples=%d requests=%d amplification=%.3f retries=%d hedges=%d (%.2f%%) hedge wins=%d (%.2f%%)%n"
+                + "saved by hedge wins: measured=%d primary failed=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms",
+            samples, requests, (double) requests / samples, retries, hedges, percent(hedges, samples),
+            wins, percent(wins, hedges), histogram.getCount(), primaryFailures, histogram.getMean() / 1000,
+            quantiles[0] / 1000.0, quantiles[1] / 1000.0, quantiles[2] / 1000.0);
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public static void reset() {
+        report();
+    }
+
+    /**
+     * 计算百分比
+     *
+     * @param part  部分
+     * @param total 总数
+     * @return 百分比，总数为 0 时返回 0
+     */
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+}
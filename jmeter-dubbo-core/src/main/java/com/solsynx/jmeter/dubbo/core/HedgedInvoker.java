@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.RpcContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 重试与对冲调用
+ * 调用失败类别为超时、网络错误或无可用提供者时按指数退避重试，业务异常等其他失败不重试；
+ * 启用对冲时，原始请求超过对冲阈值仍未返回则向另一个提供者发出对冲请求，采用先成功的响应，
+ * 参数在第一次请求前填充一次，重试和对冲请求发出完全相同的参数；
+ * 原始请求胜出时取消对冲请求，对冲胜出时原始请求在后台继续完成以测量节省的耗时，见 {@link HedgeStatistics}；
+ * 采样耗时从第一次请求发出起算，包括退避等待；每个 JMeter 线程持有一个实例
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class HedgedInvoker {
+
+    /**
+     * 原始请求胜出
+     */
+    public static final String PRIMARY = "primary";
+    /**
+     * 对冲请求胜出
+     */
+    public static final String HEDGE = "hedge";
+
+    /**
+     * 退避时间最多翻倍的次数
+     */
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    private final int retries;
+    private final long backoff;
+    private final long hedgeDelay;
+    private final DirectPlans plans = new DirectPlans();
+    private int cursor;
+
+    private int requests;
+    private int hedges;
+    private int wins;
+
+    /**
+     * 构造函数
+     *
+     * @param retries    最大重试次数
+     * @param backoff    第一次重试前的退避时间（毫秒），之后每次翻倍
+     * @param hedgeDelay 对冲阈值（毫秒），不大于 0 时不发出对冲请求
+     */
+    public HedgedInvoker(int retries, long backoff, long hedgeDelay) {
+        this.retries = Math.max(0, retries);
+        this.backoff = Math.max(0, backoff);
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * 执行一次调用，按需重试和对冲
+     *
+     * @param plan 调用计划
+     * @return 最终采用的采样结果，线程被中断时返回 null
+     */
+    public DubboSampleResult next(InvocationPlan plan) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        requests = 0;
+        hedges = 0;
+        wins = 0;
+        // 同一请求的所有尝试使用相同的参数，模板函数和参数数据源只推进一次
+        Object[] arguments;
+        try {
+            arguments = plan.resolveArguments();
+        } catch (RuntimeException e) {
+            DubboSampleResult result = GenericDubbo.initializeResult(plan.getContext());
+            GenericDubbo.handleException(e, result);
+            result.setTiming(startTime, System.nanoTime() - startNanos);
+            return result;
+        }
+        int attempt = 0;
+        DubboSampleResult result;
+        while (true) {
+            result = hedgeDelay > 0 ? invokeHedged(plan, arguments) : invoke(plan, arguments);
+            if (result == null) {
+                return null;
+            }
+            if (result.isSuccessful() || attempt >= retries || !isRetryable(result)) {
+                break;
+            }
+            attempt++;
+            if (!sleep(backoff(attempt))) {
+                return null;
+            }
+        }
+        // 对冲请求使用直连计划，恢复为采样器的标签以便按采样器汇总
+        result.setSampleLabel(plan.getContext().getLabel());
+        result.setAttempts(requests);
+        result.setTiming(startTime, System.nanoTime() - startNanos);
+        HedgeStatistics.record(requests, attempt, hedges, wins);
+        return result;
+    }
+
+    /**
+     * 失败是否可以重试
+     * 按失败类别判断：同步调用抛出的 RpcException、异步调用的超时和网络异常、引用初始化时的无可用提供者均可重试
+     *
+     * @param result 失败的采样结果
+     * @return 失败类别为超时、网络错误或无可用提供者时返回 true
+     */
+    private static boolean isRetryable(DubboSampleResult result) {
+        String category = result.getResponseCode();
+        return FailureClassifier.TIMEOUT.equals(category) || FailureClassifier.NETWORK.equals(category)
+            || FailureClassifier.NO_PROVIDER.equals(category);
+    }
+
+    /**
+     * 发出一个不对冲的请求
+     *
+     * @param plan      调用计划
+     * @param arguments 已填充的参数值
+     * @return 采样结果
+     */
+    private DubboSampleResult invoke(InvocationPlan plan, Object[] arguments) {
+        requests++;
+        return GenericDubbo.execute(plan, arguments);
+    }
+
+    /**
+     * 发出原始请求，超过对冲阈值后以相同的参数向另一个提供者发出对冲请求
+     *
+     * @param plan      调用计划
+     * @param arguments 已填充的参数值
+     * @return 采用的采样结果，线程被中断时返回 null
+     */
+    private DubboSampleResult invokeHedged(InvocationPlan plan, Object[] arguments) {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[2];
+        long primaryNanos = System.nanoTime();
+        CompletableFuture<DubboSampleResult> primary = GenericDubbo.executeAsync(
+            plan, arguments, System.currentTimeMillis(), primaryNanos, f -> calls[0] = f);
+        URL primaryProvider = RpcContext.getContext().getUrl();
+        requests++;
+        try {
+            DubboSampleResult result = primary.get(hedgeDelay, TimeUnit.MILLISECONDS);
+            result.setWinner(PRIMARY);
+            return result;
+        } catch (TimeoutException e) {
+            // 超过对冲阈值，发出对冲请求
+        } catch (InterruptedException e) {
+            cancel(calls[0]);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        long hedgeNanos = System.nanoTime();
+        CompletableFuture<DubboSampleResult> hedge = GenericDubbo.executeAsync(
+            hedgePlan(plan, primaryProvider), arguments, System.currentTimeMillis(), hedgeNanos, f -> calls[1] = f);
+        requests++;
+        hedges++;
+        DubboSampleResult winner;
+        boolean hedgeWon;
+        try {
+            // executeAsync 返回的 Future 总是正常完成
+            winner = (DubboSampleResult) CompletableFuture.anyOf(primary, hedge).get();
+            hedgeWon = winner != primary.getNow(null);
+            if (!winner.isSuccessful()) {
+                DubboSampleResult other = (hedgeWon ? primary : hedge).get();
+                if (other.isSuccessful()) {
+                    winner = other;
+                    hedgeWon = !hedgeWon;
+                } else {
+                    // 两个请求都失败时采用原始请求的结果
+                    winner = primary.get();
+                    hedgeWon = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            cancel(calls[0]);
+            cancel(calls[1]);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (hedgeWon) {
+            wins++;
+            long winNanos = hedgeNanos - primaryNanos + winner.getElapsedNanos();
+            primary.thenAccept(r -> HedgeStatistics.recordSaved(r.isSuccessful() ? r.getElapsedNanos() - winNanos : -1));
+        } else {
+            cancel(calls[1]);
+        }
+        winner.setWinner(hedgeWon ? HEDGE : PRIMARY);
+        return winner;
+    }
+
+    /**
+     * 选择对冲请求的调用计划
+     * 从注册中心目录中轮流选择一个与原始请求不同的提供者直连调用，只有一个提供者或使用直连地址时交由负载均衡选择
+     *
+     * @param plan    调用计划
+     * @param primary 原始请求的提供者，可以为 null
+     * @return 对冲请求的调用计划
+     */
+    private InvocationPlan hedgePlan(InvocationPlan plan, URL primary) {
+        if (StringUtils.isNotBlank(plan.getContext().getDirectUrl())) {
+            return plan;
+        }
+        List<URL> providers;
+        try {
+            providers = GenericDubbo.getProviders(plan);
+        } catch (RuntimeException e) {
+            return plan;
+        }
+        int size = providers.size();
+        for (int i = 0; i < size; i++) {
+            URL candidate = providers.get(Math.floorMod(cursor++, size));
+            if (primary == null || !candidate.getAddress().equals(primary.getAddress())) {
+                return plans.get(plan, candidate);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * 计算第 n 次重试前的退避时间
+     * 退避时间每次翻倍，取一半固定、一半随机，避免多个线程同时重试
+     *
+     * @param attempt 重试序号，从 1 开始
+     * @return 退避时间（毫秒）
+     */
+    private long backoff(int attempt) {
+        long delay = backoff << Math.min(attempt - 1, MAX_BACKOFF_SHIFT);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * 退避等待
+     *
+     * @param millis 等待时间（毫秒）
+     * @return 线程被中断时返回 false
+     */
+    private static boolean sleep(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 取消等待请求的响应
+     *
+     * @param call Dubbo 返回的原始 Future，可以为 null
+     */
+    private static void cancel(CompletableFuture<?> call) {
+        if (call != null) {
+            call.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 批量调用
+ * 每次采样发出固定数量的调用，顺序执行或同时以 $invokeAsync 发出，汇总为一个父采样结果，
+ * 监听器、前后置处理器和定时器的开销由整批调用分摊；
+ * 顺序执行时父结果的耗时即各次调用耗时之和，采样数为批量大小、错误数为失败调用数，聚合报告据此按单次调用统计吞吐量和平均耗时；
+ * 同时发出时整批调用重叠执行，父结果的耗时为整批的墙钟时间，按一次采样计数，延迟为各次调用的平均耗时，
+ * 避免墙钟时间被批量大小平分而低估单次调用的耗时
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class InvocationBatch {
+
+    private final int size;
+    private final boolean concurrent;
+    private final boolean subResults;
+
+    /**
+     * 构造函数
+     *
+     * @param size       每次采样的调用次数
+     * @param concurrent 是否同时发出整批调用，否则顺序执行
+     * @param subResults 是否将每次调用记录为子结果
+     */
+    public InvocationBatch(int size, boolean concurrent, boolean subResults) {
+        this.size = Math.max(1, size);
+        this.concurrent = concurrent;
+        this.subResults = subResults;
+    }
+
+    /**
+     * 执行一批调用并返回汇总的采样结果
+     *
+     * @param plans 调用计划来源，每发出一个调用获取一次
+     * @return 汇总的采样结果，线程被中断时返回 null
+     */
+    public DubboSampleResult next(Supplier<InvocationPlan> plans) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        InvocationPlan first = plans.get();
+        List<DubboSampleResult> results = concurrent ? invokeConcurrently(first, plans) : invokeSequentially(first, plans);
+        if (results == null) {
+            return null;
+        }
+        DubboSampleResult parent = GenericDubbo.initializeResult(first.getContext());
+        parent.setTiming(startTime, System.nanoTime() - startNanos);
+        aggregate(parent, results);
+        return parent;
+    }
+
+    /**
+     * 顺序执行整批调用
+     *
+     * @param first 第一个调用的计划
+     * @param plans 调用计划来源
+     * @return 各次调用的采样结果
+     */
+    private List<DubboSampleResult> invokeSequentially(InvocationPlan first, Supplier<InvocationPlan> plans) {
+        List<DubboSampleResult> results = new ArrayList<>(size);
+        results.add(GenericDubbo.execute(first));
+        for (int i = 1; i < size; i++) {
+            results.add(GenericDubbo.execute(plans.get()));
+        }
+        return results;
+    }
+
+    /**
+     * 同时发出整批调用并等待全部完成
+     *
+     * @param first 第一个调用的计划
+     * @param plans 调用计划来源
+     * @return 各次调用的采样结果，线程被中断时返回 null
+     */
+    private List<DubboSampleResult> invokeConcurrently(InvocationPlan first, Supplier<InvocationPlan> plans) {
+        List<CompletableFuture<DubboSampleResult>> futures = new ArrayList<>(size);
+        futures.add(GenericDubbo.executeAsync(first));
+        for (int i = 1; i < size; i++) {
+            futures.add(GenericDubbo.executeAsync(plans.get()));
+        }
+        List<DubboSampleResult> results = new ArrayList<>(size);
+        try {
+            // executeAsync 返回的 Future 总是正常完成
+            for (CompletableFuture<DubboSampleResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * 汇总各次调用的结果
+     * 全部成功时响应和返回值取最后一次调用，存在失败时取第一个失败的调用；成功的子结果不保留响应数据以减少内存占用；
+     * 同时发出时按一次采样计数，存在失败时错误数为 1，延迟记录为各次调用的平均耗时
+     *
+     * @param parent  父采样结果
+     * @param results 各次调用的采样结果
+     */
+    private void aggregate(DubboSampleResult parent, List<DubboSampleResult> results) {
+        DubboSampleResult representative = results.get(results.size() - 1);
+        int errors = 0;
+        long bytes = 0;
+        long sentBytes = 0;
+        long latency = 0;
+        for (DubboSampleResult result : results) {
+            if (!result.isSuccessful()) {
+                if (errors == 0) {
+                    representative = result;
+                }
+                errors++;
+            }
+            bytes += result.getBytesAsLong();
+            sentBytes += result.getSentBytes();
+            latency += result.getTime();
+        }
+        parent.setSuccessful(errors == 0);
+        parent.setResponseCode(representative.getResponseCode());
+        parent.setResponseMessage(representative.getResponseMessage());
+        parent.setDataType(representative.getDataType());
+        parent.setResponseData(representative.getResponseData());
+        parent.setProviderUrl(representative.getProviderUrl());
+        parent.setReturnValue(representative.getReturnValue());
+        parent.setUnavailableMillis(representative.getUnavailableMillis());
+        if (concurrent) {
+            parent.setSampleCount(1);
+            parent.setErrorCount(errors == 0 ? 0 : 1);
+            parent.setLatency(latency / results.size());
+        } else {
+            parent.setSampleCount(results.size());
+            parent.setErrorCount(errors);
+        }
+        if (subResults) {
+            for (DubboSampleResult result : results) {
+                if (result.isSuccessful() && result != representative) {
+                    result.setResponseData(new byte[0]);
+                }
+                parent.addRawSubResult(result);
+            }
+        }
+        parent.setBytes(bytes);
+        parent.setSentBytes(sentBytes);
+    }
+}
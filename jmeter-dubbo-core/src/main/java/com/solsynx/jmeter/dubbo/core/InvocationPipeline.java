@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 异步调用流水线
+ * 每个 JMeter 线程持有一个实例，保持固定数量的在途请求；每次采样补足在途请求后返回一个已完成的结果，
+ * 每个完成的请求都作为独立的采样结果上报
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class InvocationPipeline {
+
+    private final int depth;
+    private final Function<InvocationPlan, CompletableFuture<DubboSampleResult>> invoker;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final BlockingQueue<DubboSampleResult> completed = new LinkedBlockingQueue<>();
+
+    /**
+     * 构造函数，创建指定深度、以 $invokeAsync 发出请求的流水线
+     *
+     * @param depth 每个线程的最大在途请求数
+     */
+    public InvocationPipeline(int depth) {
+        this(depth, GenericDubbo::executeAsync);
+    }
+
+    /**
+     * 构造函数，创建指定深度和调用方式的流水线
+     *
+     * @param depth   每个线程的最大在途请求数
+     * @param invoker 发出请求的方式，发出失败或 Future 异常完成时按失败结果上报
+     */
+    public InvocationPipeline(int depth, Function<InvocationPlan, CompletableFuture<DubboSampleResult>> invoker) {
+        this.depth = Math.max(1, depth);
+        this.invoker = invoker;
+    }
+
+    /**
+     * 补足在途请求并返回一个已完成的采样结果
+     *
+     * @param plans 调用计划来源，每发出一个请求获取一次
+     * @return 已完成的采样结果，线程被中断时返回 null
+     */
+    public DubboSampleResult next(Supplier<InvocationPlan> plans) {
+        // 只按本次调用开始时的空位发出请求，失败请求会立即完成，不能据此循环补足
+        int free = depth - outstanding.get();
+        for (int i = 0; i < free; i++) {
+            InvocationPlan plan = plans.get();
+            long startTime = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            outstanding.incrementAndGet();
+            CompletableFuture<DubboSampleResult> future;
+            try {
+                future = invoker.apply(plan);
+            } catch (RuntimeException e) {
+                // 例如执行器已关闭时的 RejectedExecutionException，请求没有发出，仍需释放空位
+                complete(failed(plan, e, startTime, startNanos));
+                continue;
+            }
+            future.whenComplete((result, throwable) -> complete(
+                result != null ? result : failed(plan, throwable, startTime, startNanos)));
+        }
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * 获取当前在途请求数
+     *
+     * @return 在途请求数
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * 为没有正常返回结果的请求生成失败结果，保证每个发出的请求都释放空位并上报一个结果
+     *
+     * @param plan       调用计划
+     * @param throwable  失败原因，可以为 null
+     * @param startTime  发出请求的时间（毫秒）
+     * @param startNanos 发出请求的时间（纳秒）
+     * @return 失败的采样结果
+     */
+    private static DubboSampleResult failed(InvocationPlan plan, Throwable throwable, long startTime,
+                                            long startNanos) {
+        DubboSampleResult result = GenericDubbo.initializeResult(plan.getContext());
+        GenericDubbo.handleException(throwable == null
+                                         ? new IllegalStateException("Invocation completed without result")
+                                         : GenericDubbo.unwrap(throwable), result);
+        result.setTiming(startTime, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    /**
+     * 请求完成回调
+     *
+     * @param result 采样结果
+     */
+    private void complete(DubboSampleResult result) {
+        outstanding.decrementAndGet();
+        completed.add(result);
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.jmeter.threads.JMeterVariables;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JSON 参数模板
+ * 模板只解析一次，得到的对象树中 {@code #{name}} 形式的占位符标记为待填充节点；
+ * 每次采样只填充占位符，并复制从根到占位符路径上的 Map 和 List，不含占位符的分支在所有采样间共享；
+ * 占位符恰好为整个字符串时填入原始值，否则按字符串拼接
+ *
+ * <p>占位符支持以下形式：</p>
+ * <ul>
+ *     <li>{@code #{name}}: JMeter 变量 name 的值，变量不存在时保留占位符原文</li>
+ *     <li>{@code #{uuid()}}: 随机 UUID</li>
+ *     <li>{@code #{random(min,max)}}: [min, max] 区间内的随机整数</li>
+ *     <li>{@code #{counter()}}: 所有线程共享的递增序号，每次测试从 1 开始</li>
+ *     <li>{@code #{timestamp()}}: 当前毫秒时间戳</li>
+ *     <li>{@code #{sequence(min,max)}}、{@code #{uniform(min,max)}}、{@code #{zipf(n,exponent)}}、
+ *     {@code #{hotspot(n,hotKeys,hotTraffic)}}、{@code #{gaussian(mean,stddev)}}: 按指定分布生成的键，见 {@link KeyDistribution}</li>
+ *     <li>{@code #{bytes(min,max)}}、{@code #{text(min,max)}}: 从共享负载池选取的 byte[] 或 String 负载，见 {@link PayloadPool}</li>
+ * </ul>
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class JsonTemplate {
+
+    private static final Pattern HOLE = Pattern.compile("#\\{([^}]+)}");
+    private static final Pattern FUNCTION = Pattern.compile("(\\w+)\\((.*)\\)");
+    private static final Pattern PAYLOAD = Pattern.compile("#\\{\\s*(?:bytes|text)\\(");
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private final Node root;
+    private final boolean payload;
+
+    /**
+     * 私有构造函数，通过 {@link #compile(String)} 创建
+     *
+     * @param root    根节点
+     * @param payload 是否包含负载占位符
+     */
+    private JsonTemplate(Node root, boolean payload) {
+        this.root = root;
+        this.payload = payload;
+    }
+
+    /**
+     * 编译 JSON 模板
+     *
+     * @param json JSON 文本
+     * @return 包含占位符时返回模板，否则返回解析后的 Map、List 或简单值
+     * @throws IllegalArgumentException JSON 格式错误时
+     */
+    public static Object compile(String json) {
+        Object tree = JMeterUtils.readJson(json);
+        Node root = compileNode(tree);
+        return root == null ? tree : new JsonTemplate(root, PAYLOAD.matcher(json).find());
+    }
+
+    /**
+     * 编译简单类型参数的文本模板
+     *
+     * @param text       参数原始值
+     * @param conversion 对填充结果（不含占位符时为原始值）进行的类型转换
+     * @return 包含占位符时返回模板，否则返回转换后的值
+     * @throws IllegalArgumentException 内置函数参数格式错误时
+     */
+    public static Object compileText(String text, UnaryOperator<Object> conversion) {
+        Node node = compileString(text);
+        if (node == null) {
+            return conversion.apply(text);
+        }
+        return new JsonTemplate(variables -> conversion.apply(node.fill(variables)), PAYLOAD.matcher(text).find());
+    }
+
+    /**
+     * 填充占位符，生成本次调用的参数值
+     *
+     * @param variables 当前线程的 JMeter 变量，可以为 null
+     * @return 填充后的 Map、List 或简单值
+     */
+    public Object fill(JMeterVariables variables) {
+        return root.fill(variables);
+    }
+
+    /**
+     * 是否包含 {@code #{bytes()}}、{@code #{text()}} 负载占位符，填充结果的大小每次不同
+     *
+     * @return 包含负载占位符时返回 true
+     */
+    public boolean hasPayload() {
+        return payload;
+    }
+
+    /**
+     * 重置递增序号，每次测试的 {@code #{counter()}} 都从 1 开始
+     */
+    public static void reset() {
+        COUNTER.set(0);
+    }
+
+    /**
+     * 编译对象树中的一个节点
+     *
+     * @param value 解析后的 JSON 值
+     * @return 包含占位符时返回节点，否则返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private static Node compileNode(Object value) {
+        if (value instanceof String) {
+            return compileString((String) value);
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) value;
+            List<String> keys = new ArrayList<>();
+            List<Node> nodes = new ArrayList<>();
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                Node node = compileNode(entry.getValue());
+                if (node != null) {
+                    keys.add(entry.getKey());
+                    nodes.add(node);
+                }
+            }
+            return nodes.isEmpty() ? null
+                : new ObjectNode(map, keys.toArray(new String[0]), nodes.toArray(new Node[0]));
+        }
+        if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            List<Integer> indexes = new ArrayList<>();
+            List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < list.size(); i++) {
+                Node node = compileNode(list.get(i));
+                if (node != null) {
+                    indexes.add(i);
+                    nodes.add(node);
+                }
+            }
+            if (nodes.isEmpty()) {
+                return null;
+            }
+            int[] positions = new int[indexes.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = indexes.get(i);
+            }
+            return new ArrayNode(list, positions, nodes.toArray(new Node[0]));
+        }
+        return null;
+    }
+
+    /**
+     * 编译字符串节点
+     *
+     * @param value 字符串
+     * @return 包含占位符时返回节点，否则返回 null
+     */
+    private static Node compileString(String value) {
+        if (!value.contains("#{")) {
+            return null;
+        }
+        Matcher matcher = HOLE.matcher(value);
+        if (matcher.matches()) {
+            return hole(matcher.group(1).trim(), value);
+        }
+        List<Node> parts = new ArrayList<>();
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) {
+                parts.add(new Constant(value.substring(last, matcher.start())));
+            }
+            parts.add(hole(matcher.group(1).trim(), matcher.group()));
+            last = matcher.end();
+        }
+        if (parts.isEmpty()) {
+            return null;
+        }
+        if (last < value.length()) {
+            parts.add(new Constant(value.substring(last)));
+        }
+        return new Interpolation(parts.toArray(new Node[0]));
+    }
+
+    /**
+     * 编译占位符
+     *
+     * @param expression 占位符表达式
+     * @param text       占位符原文，变量不存在时使用
+     * @return 占位符节点
+     * @throws IllegalArgumentException 内置函数参数格式错误时
+     */
+    private static Node hole(String expression, String text) {
+        Matcher matcher = FUNCTION.matcher(expression);
+        if (!matcher.matches()) {
+            return new Variable(expression, text);
+        }
+        String[] args = matcher.group(2).split(",");
+        switch (matcher.group(1)) {
+            case "uuid":
+                return variables -> UUID.randomUUID().toString();
+            case "random":
+                if (args.length != 2) {
+                    throw new IllegalArgumentException("random(min,max) requires two arguments: " + text);
+                }
+                long min = Long.parseLong(args[0].trim());
+                long max = Long.parseLong(args[1].trim());
+                if (max < min) {
+                    throw new IllegalArgumentException("random(min,max) requires min <= max: " + text);
+                }
+                return new LongHole(() -> ThreadLocalRandom.current().nextLong(min, max + 1));
+            case "counter":
+                return new LongHole(COUNTER::incrementAndGet);
+            case "timestamp":
+                return new LongHole(System::currentTimeMillis);
+            default:
+                LongSupplier keys = KeyDistribution.of(matcher.group(1), args, text);
+                if (keys != null) {
+                    return new LongHole(keys);
+                }
+                Supplier<Object> payloads = PayloadPool.of(matcher.group(1), args, text);
+                return payloads == null ? new Variable(expression, text) : variables -> payloads.get();
+        }
+    }
+
+    /**
+     * 模板节点
+     */
+    @FunctionalInterface
+    private interface Node {
+
+        /**
+         * 生成节点的值
+         *
+         * @param variables 当前线程的 JMeter 变量，可以为 null
+         * @return 节点的值
+         */
+        Object fill(JMeterVariables variables);
+    }
+
+    /**
+     * 常量字符串片段
+     */
+    private static final class Constant implements Node {
+        private final String value;
+
+        /**
+         * 构造函数
+         *
+         * @param value 字符串片段
+         */
+        private Constant(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object fill(JMeterVariables variables) {
+            return value;
+        }
+    }
+
+    /**
+     * 生成整数的内置函数占位符
+     * 作为整个值填入时装箱为 Long，拼接到字符串中时直接追加数值，不装箱
+     */
+    private static final class LongHole implements Node {
+        private final LongSupplier values;
+
+        /**
+         * 构造函数
+         *
+         * @param values 整数生成器
+         */
+        private LongHole(LongSupplier values) {
+            this.values = values;
+        }
+
+        /**
+         * 生成下一个整数
+         *
+         * @return 整数值
+         */
+        private long next() {
+            return values.getAsLong();
+        }
+
+        @Override
+        public Object fill(JMeterVariables variables) {
+            return values.getAsLong();
+        }
+    }
+
+    /**
+     * JMeter 变量占位符
+     */
+    private static final class Variable implements Node {
+        private final String name;
+        private final String text;
+
+        /**
+         * 构造函数
+         *
+         * @param name 变量名
+         * @param text 占位符原文
+         */
+        private Variable(String name, String text) {
+            this.name = name;
+            this.text = text;
+        }
+
+        @Override
+        public Object fill(JMeterVariables variables) {
+            String value = variables == null ? null : variables.get(name);
+            return value == null ? text : value;
+        }
+    }
+
+    /**
+     * 包含占位符的字符串
+     */
+    private static final class Interpolation implements Node {
+        private final Node[] parts;
+
+        /**
+         * 构造函数
+         *
+         * @param parts 常量片段和占位符
+         */
+        private Interpolation(Node[] parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public Object fill(JMeterVariables variables) {
+            StringBuilder sb = new StringBuilder();
+            for (Node part : parts) {
+                if (part instanceof LongHole) {
+                    sb.append(((LongHole) part).next());
+                    continue;
+                }
+                Object value = part.fill(variables);
+                sb.append(value instanceof String ? (String) value : JMeterUtils.toString(value));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 包含占位符的 JSON 对象，只复制本层映射表并填充含占位符的字段
+     */
+    private static final class ObjectNode implements Node {
+        private final Map<String, Object> base;
+        private final String[] keys;
+        private final Node[] nodes;
+
+        /**
+         * 构造函数
+         *
+         * @param base  解析后的映射表，作为复制的模板
+         * @param keys  含占位符的字段名
+         * @param nodes 含占位符的字段节点
+         */
+        private ObjectNode(Map<String, Object> base, String[] keys, Node[] nodes) {
+            this.base = base;
+            this.keys = keys;
+            this.nodes = nodes;
+        }
+
+        @Override
+        public Object fill(JMeterVariables variables) {
+            Map<String, Object> copy = new LinkedHashMap<>(base);
+            for (int i = 0; i < keys.length; i++) {
+                copy.put(keys[i], nodes[i].fill(variables));
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * 包含占位符的 JSON 数组，只复制本层列表并填充含占位符的元素
+     */
+    private static final class ArrayNode implements Node {
+        private final List<Object> base;
+        private final int[] positions;
+        private final Node[] nodes;
+
+        /**
+         * 构造函数
+         *
+         * @param base      解析后的列表，作为复制的模板
+         * @param positions 含占位符的元素下标
+         * @param nodes     含占位符的元素节点
+         */
+        private ArrayNode(List<Object> base, int[] positions, Node[] nodes) {
+            this.base = base;
+            this.positions = positions;
+            this.nodes = nodes;
+        }
+
+        @Override
+        public Object fill(JMeterVariables variables) {
+            List<Object> copy = new ArrayList<>(base);
+            for (int i = 0; i < positions.length; i++) {
+                copy.set(positions[i], nodes[i].fill(variables));
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 键分布生成器
+ * 为参数模板生成符合指定分布的键，用于在压测中复现提供者端缓存的命中率：
+ * 每个线程持有一个由根随机数生成器拆分得到的 {@link SplittableRandom}，线程间无共享状态，吞吐量随核数线性扩展；
+ * 键的生成过程不分配对象，Zipf 分布使用拒绝-逆变换采样，不需要预先计算累积概率表；
+ * 占位符恰好为整个值时键需要装箱为 Long 填入参数对象，拼接到字符串中时直接追加数值
+ *
+ * <p>支持以下分布，键的取值范围为 [1, n] 或 [min, max]：</p>
+ * <ul>
+ *     <li>{@code sequence(min,max)}: 所有线程共享的循环递增序列，相同表达式共享同一序列，每次测试从 min 开始</li>
+ *     <li>{@code uniform(min,max)}: 均匀分布</li>
+ *     <li>{@code zipf(n,exponent)}: Zipf 分布，键 1 访问最频繁，指数越大越集中</li>
+ *     <li>{@code hotspot(n,hotKeys,hotTraffic)}: 比例为 hotTraffic 的请求落在前 hotKeys 比例的键上，其余请求均匀落在剩余的键上</li>
+ *     <li>{@code gaussian(mean,stddev)}: 正态分布，四舍五入为整数</li>
+ * </ul>
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class KeyDistribution {
+
+    /**
+     * 随机种子的 JMeter 属性名，设置后每个线程按首次使用的顺序得到确定的随机序列
+     */
+    public static final String SEED_PROPERTY = "dubbo.keys.seed";
+
+    private static final SplittableRandom ROOT = createRoot();
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(KeyDistribution::split);
+    private static final ConcurrentMap<String, AtomicLong> SEQUENCES = new ConcurrentHashMap<>();
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private KeyDistribution() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 创建键分布生成器
+     *
+     * @param name 分布名称
+     * @param args 分布参数
+     * @param text 占位符原文，用于错误信息和序列标识
+     * @return 键生成器，名称不是已知的分布时返回 null
+     * @throws IllegalArgumentException 分布参数格式错误时
+     */
+    static LongSupplier of(String name, String[] args, String text) {
+        switch (name) {
+            case "sequence": {
+                long[] range = range(args, text);
+                long min = range[0];
+                long span = range[1] - range[0] + 1;
+                AtomicLong sequence = SEQUENCES.computeIfAbsent(text, key -> new AtomicLong());
+                return () -> min + Math.floorMod(sequence.getAndIncrement(), span);
+            }
+            case "uniform": {
+                long[] range = range(args, text);
+                long min = range[0];
+                long bound = range[1] + 1;
+                return () -> RANDOM.get().nextLong(min, bound);
+            }
+            case "zipf":
+                return zipf(args, text);
+            case "hotspot":
+                return hotspot(args, text);
+            case "gaussian": {
+                double[] values = doubles(args, 2, text);
+                double mean = values[0];
+                double stddev = values[1];
+                return () -> Math.round(mean + stddev * nextGaussian(RANDOM.get()));
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 将所有序列重置到起点，每次测试的 {@code sequence(min,max)} 都从 min 开始
+     * 只重置计数而不移除序列，已编译的模板继续共享原来的序列
+     */
+    public static void reset() {
+        for (AtomicLong sequence : SEQUENCES.values()) {
+            sequence.set(0);
+        }
+    }
+
+    /**
+     * 获取当前线程的随机数生成器
+     *
+     * @return 线程独享的随机数生成器
+     */
+    static SplittableRandom random() {
+        return RANDOM.get();
+    }
+
+    /**
+     * 创建根随机数生成器
+     *
+     * @return 根随机数生成器
+     */
+    private static SplittableRandom createRoot() {
+        String seed = org.apache.jmeter.util.JMeterUtils.getPropDefault(SEED_PROPERTY, "");
+        return StringUtils.isBlank(seed) ? new SplittableRandom() : new SplittableRandom(Long.parseLong(seed.trim()));
+    }
+
+    /**
+     * 为新线程拆分随机数生成器
+     *
+     * @return 线程独享的随机数生成器
+     */
+    private static SplittableRandom split() {
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+
+    /**
+     * 创建 Zipf 分布生成器
+     *
+     * @param args 键数量和指数
+     * @param text 占位符原文
+     * @return 键生成器
+     */
+    private static LongSupplier zipf(String[] args, String text) {
+        double[] values = doubles(args, 2, text);
+        long n = (long) values[0];
+        double exponent = values[1];
+        if (n < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("zipf(n,exponent) requires n >= 1 and exponent > 0: " + text);
+        }
+        ZipfSampler sampler = new ZipfSampler(n, exponent);
+        return () -> sampler.sample(RANDOM.get());
+    }
+
+    /**
+     * 创建热点分布生成器
+     *
+     * @param args 键数量、热点键比例和热点流量比例
+     * @param text 占位符原文
+     * @return 键生成器
+     */
+    private static LongSupplier hotspot(String[] args, String text) {
+        double[] values = doubles(args, 3, text);
+        long n = (long) values[0];
+        double hotKeys = values[1];
+        double hotTraffic = values[2];
+        if (n < 1 || hotKeys <= 0 || hotKeys > 1 || hotTraffic < 0 || hotTraffic > 1) {
+            throw new IllegalArgumentException(
+                "hotspot(n,hotKeys,hotTraffic) requires n >= 1, 0 < hotKeys <= 1 and 0 <= hotTraffic <= 1: " + text);
+        }
+        long hot = Math.max(1, Math.min(n, (long) (n * hotKeys)));
+        return () -> {
+            SplittableRandom random = RANDOM.get();
+            if (hot == n || random.nextDouble() < hotTraffic) {
+                return 1 + random.nextLong(hot);
+            }
+            return hot + 1 + random.nextLong(n - hot);
+        };
+    }
+
+    /**
+     * 生成标准正态分布随机数（Box-Muller 变换）
+     *
+     * @param random 随机数生成器
+     * @return 标准正态分布随机数
+     */
+    private static double nextGaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * 解析取值范围参数
+     *
+     * @param args 最小值和最大值
+     * @param text 占位符原文
+     * @return 最小值和最大值
+     */
+    private static long[] range(String[] args, String text) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Two arguments (min,max) required: " + text);
+        }
+        long min = Long.parseLong(args[0].trim());
+        long max = Long.parseLong(args[1].trim());
+        if (max < min || max == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("min <= max < Long.MAX_VALUE required: " + text);
+        }
+        return new long[]{min, max};
+    }
+
+    /**
+     * 解析数值参数
+     *
+     * @param args  参数
+     * @param count 参数个数
+     * @param text  占位符原文
+     * @return 数值参数
+     */
+    private static double[] doubles(String[] args, int count, String text) {
+        if (args.length != count) {
+            throw new IllegalArgumentException(count + " arguments required: " + text);
+        }
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Double.parseDouble(args[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Zipf 分布的拒绝-逆变换采样（Hörmann 和 Derflinger），期望采样次数接近 1，与键数量无关
+     */
+    private static final class ZipfSampler {
+        private final long n;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        /**
+         * 构造函数
+         *
+         * @param n        键数量
+         * @param exponent 指数
+         */
+        private ZipfSampler(long n, double exponent) {
+            this.n = n;
+            this.exponent = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1.0;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        /**
+         * 采样一个键
+         *
+         * @param random 随机数生成器
+         * @return [1, n] 区间内的键
+         */
+        private long sample(SplittableRandom random) {
+            while (true) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                long k = Math.max(1, Math.min(n, (long) (x + 0.5)));
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1.0 - exponent) * logX) * logX;
+        }
+
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1.0, x * (1.0 - exponent));
+            return Math.exp(helper1(t) * x);
+        }
+
+        /**
+         * log1p(x) / x，在 0 附近使用泰勒展开
+         */
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - x * 0.25));
+        }
+
+        /**
+         * expm1(x) / x，在 0 附近使用泰勒展开
+         */
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + x * 0.25));
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+import com.solsynx.jmeter.dubbo.context.MethodParameter;
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.config.ReferenceConfig;
+import org.apache.dubbo.rpc.service.GenericService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 方法签名解析
+ * 测试开始时获取服务接口的方法签名，校验采样器配置的方法名和参数类型，并将参数类型的简单类名解析为全限定名；
+ * 签名优先从磁盘缓存读取，其次通过提供者的 MetadataService 获取服务定义，都不可用时退化为提供者 URL 的 methods 参数（只含方法名）；
+ * 服务定义按接口和提供者修订版本缓存到磁盘，修订版本或方法列表变化时重新获取
+ *
+ * <p>解析结果在编译调用计划时使用，校验失败只在测试开始时记录一次错误，不会在压测过程中重复解析。</p>
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class MethodSignatures {
+
+    /**
+     * 签名缓存目录的 JMeter 属性名，默认为用户目录下的 .jmeter-dubbo/signatures
+     */
+    public static final String CACHE_DIR_PROPERTY = "dubbo.signature.cache.dir";
+    private static final String METADATA_SERVICE = "org.apache.dubbo.metadata.MetadataService";
+    private static final String METADATA_SERVICE_VERSION = "1.0.0";
+    private static final String[] DEFINITION_TYPES = {"java.lang.String", "java.lang.String", "java.lang.String"};
+
+    private static final Logger log = LoggerFactory.getLogger(MethodSignatures.class);
+    private static final ConcurrentMap<String, Map<String, List<List<String>>>> SIGNATURES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, String[]> RESOLVED = new ConcurrentHashMap<>();
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private MethodSignatures() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 解析并校验服务上下文中的方法签名
+     * 解析失败时记录错误，不抛出异常
+     *
+     * @param context 服务上下文
+     * @return 如果方法存在且参数类型匹配唯一的重载则返回 true
+     */
+    public static boolean prepare(ServiceContext context) {
+        String interfaceName = context.getInterfaceName();
+        String methodName = context.getMethodName();
+        String[] types = types(context.getParameters());
+        Map<String, List<List<String>>> methods;
+        try {
+            methods = load(context);
+        } catch (Exception e) {
+            log.warn("Cannot load method signatures of {}: {}", interfaceName, e.getMessage());
+            return false;
+        }
+        if (!methods.containsKey(methodName)) {
+            log.error("Method {} not found in {}, available methods: {}", methodName, interfaceName, methods.keySet());
+            return false;
+        }
+        List<List<String>> overloads = methods.get(methodName);
+        if (overloads == null) {
+            // 只有方法名，无法校验参数类型
+            return true;
+        }
+        String[] resolved = match(overloads, types);
+        if (resolved == null) {
+            log.error("No unique overload of {}.{} matches parameter types {}, available signatures: {}",
+                      interfaceName, methodName, Arrays.toString(types), overloads);
+            return false;
+        }
+        if (!Arrays.equals(resolved, types)) {
+            log.info("Resolved parameter types of {}.{}: {} -> {}",
+                     interfaceName, methodName, Arrays.toString(types), Arrays.toString(resolved));
+            RESOLVED.put(key(interfaceName, methodName, types), resolved);
+        }
+        return true;
+    }
+
+    /**
+     * 获取测试开始时解析得到的参数类型
+     *
+     * @param interfaceName 接口全限定名
+     * @param methodName    方法名
+     * @param types         配置的参数类型
+     * @return 解析后的参数类型，未解析时返回配置的参数类型
+     */
+    public static String[] resolve(String interfaceName, String methodName, String[] types) {
+        if (RESOLVED.isEmpty()) {
+            return types;
+        }
+        return RESOLVED.getOrDefault(key(interfaceName, methodName, types), types);
+    }
+
+    /**
+     * 清空解析结果和内存中的签名，磁盘缓存保留
+     */
+    public static void reset() {
+        SIGNATURES.clear();
+        RESOLVED.clear();
+    }
+
+    /**
+     * 加载服务接口的方法签名
+     *
+     * @param context 服务上下文
+     * @return 方法名到各重载参数类型的映射表，只有方法名时值为 null
+     * @throws IOException 无法读取提供者信息时
+     */
+    private static Map<String, List<List<String>>> load(ServiceContext context) throws IOException {
+        List<URL> providers = GenericDubbo.getProviders(InvocationPlan.of(context.copy()));
+        if (providers.isEmpty()) {
+            throw new IOException("no available provider");
+        }
+        URL provider = providers.get(0);
+        String methodNames = provider.getParameter("methods", "");
+        String cacheKey = context.getInterfaceName() + '@' + provider.getParameter("revision", "")
+            + '#' + Integer.toHexString(methodNames.hashCode());
+        Map<String, List<List<String>>> methods = SIGNATURES.get(cacheKey);
+        if (methods != null) {
+            return methods;
+        }
+        Path file = getCacheDir().resolve(cacheKey.replaceAll("[^\\w.@#-]", "_") + ".json");
+        methods = readCache(file);
+        if (methods == null) {
+            methods = fetchDefinition(context, provider);
+            if (methods != null) {
+                writeCache(file, methods);
+            } else {
+                methods = new LinkedHashMap<>();
+                for (String name : StringUtils.split(methodNames, ',')) {
+                    methods.put(name.trim(), null);
+                }
+            }
+        }
+        SIGNATURES.put(cacheKey, methods);
+        return methods;
+    }
+
+    /**
+     * 通过提供者的 MetadataService 获取服务定义
+     *
+     * @param context  服务上下文
+     * @param provider 提供者 URL
+     * @return 方法签名，提供者未暴露 MetadataService 时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<List<String>>> fetchDefinition(ServiceContext context, URL provider) {
+        ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
+        reference.setInterface(METADATA_SERVICE);
+        reference.setVersion(METADATA_SERVICE_VERSION);
+        reference.setGroup(provider.getParameter("application", ""));
+        reference.setUrl(provider.getProtocol() + "://" + provider.getAddress());
+        reference.setGeneric(GenericDubbo.GENERIC_DEFAULT);
+        reference.setTimeout(Integer.parseInt(context.getServiceTimeout()));
+        reference.setRetries(0);
+        try {
+            Object definition = reference.get().$invoke("getServiceDefinition", DEFINITION_TYPES, new Object[]{
+                context.getInterfaceName(), provider.getParameter("version"), provider.getParameter("group")});
+            if (!(definition instanceof String) || StringUtils.isBlank((String) definition)) {
+                return null;
+            }
+            Object tree = JMeterUtils.readJson((String) definition);
+            if (!(tree instanceof Map) || !(((Map<?, ?>) tree).get("methods") instanceof List)) {
+                return null;
+            }
+            Map<String, List<List<String>>> methods = new LinkedHashMap<>();
+            for (Object method : (List<Object>) ((Map<?, ?>) tree).get("methods")) {
+                Map<String, Object> map = (Map<String, Object>) method;
+                List<String> types = (List<String>) map.getOrDefault("parameterTypes", Collections.emptyList());
+                methods.computeIfAbsent((String) map.get("name"), name -> new ArrayList<>()).add(types);
+            }
+            return methods;
+        } catch (RuntimeException e) {
+            log.debug("MetadataService unavailable on {}: {}", provider.getAddress(), e.getMessage());
+            return null;
+        } finally {
+            reference.destroy();
+        }
+    }
+
+    /**
+     * 按参数个数和类型名匹配唯一的重载
+     * 类型名可以是全限定名或简单类名，完全一致的重载优先
+     *
+     * @param overloads 各重载的参数类型
+     * @param types     配置的参数类型
+     * @return 匹配的重载参数类型，没有或不唯一时返回 null
+     */
+    private static String[] match(List<List<String>> overloads, String[] types) {
+        List<String> candidate = null;
+        int matches = 0;
+        for (List<String> overload : overloads) {
+            if (overload.size() != types.length) {
+                continue;
+            }
+            boolean exact = true;
+            boolean similar = true;
+            for (int i = 0; i < types.length && similar; i++) {
+                exact &= overload.get(i).equals(types[i]);
+                similar = exact || simpleName(overload.get(i)).equals(types[i]);
+            }
+            if (exact) {
+                return overload.toArray(new String[0]);
+            }
+            if (similar) {
+                candidate = overload;
+                matches++;
+            }
+        }
+        return matches == 1 ? candidate.toArray(new String[0]) : null;
+    }
+
+    /**
+     * 获取类型的简单名称，保留数组和泛型之外的部分
+     *
+     * @param type 类型全限定名
+     * @return 简单名称
+     */
+    private static String simpleName(String type) {
+        String name = StringUtils.substringBefore(type, "<");
+        int index = Math.max(name.lastIndexOf('.'), name.lastIndexOf('$'));
+        return name.substring(index + 1);
+    }
+
+    /**
+     * 读取磁盘缓存
+     *
+     * @param file 缓存文件
+     * @return 方法签名，缓存不存在或损坏时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<List<String>>> readCache(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            Object tree = JMeterUtils.readJson(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            return tree instanceof Map ? (Map<String, List<List<String>>>) tree : null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring corrupt signature cache {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 写入磁盘缓存，先写临时文件再替换，避免并发读取到不完整的内容
+     *
+     * @param file    缓存文件
+     * @param methods 方法签名
+     */
+    private static void writeCache(Path file, Map<String, List<List<String>>> methods) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, JMeterUtils.toString(methods).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Cannot write signature cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取签名缓存目录
+     *
+     * @return 缓存目录
+     */
+    private static Path getCacheDir() {
+        String dir = org.apache.jmeter.util.JMeterUtils.getPropDefault(CACHE_DIR_PROPERTY, "");
+        return StringUtils.isBlank(dir)
+            ? Paths.get(System.getProperty("user.home"), ".jmeter-dubbo", "signatures")
+            : Paths.get(dir.trim());
+    }
+
+    /**
+     * 提取参数类型
+     *
+     * @param parameters 方法参数
+     * @return 参数类型数组
+     */
+    private static String[] types(List<MethodParameter> parameters) {
+        String[] types = new String[parameters.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = parameters.get(i).getType();
+        }
+        return types;
+    }
+
+    /**
+     * 生成解析结果的键
+     *
+     * @param interfaceName 接口全限定名
+     * @param methodName    方法名
+     * @param types         配置的参数类型
+     * @return 键
+     */
+    private static String key(String interfaceName, String methodName, String[] types) {
+        return interfaceName + '#' + methodName + Arrays.toString(types);
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 合成负载池
+ * 为带宽和序列化容量测试生成指定大小的 byte[] 或 String 参数：
+ * 每种大小预先填充若干份内容不同的只读负载，所有线程共享，采样时只选取引用，不复制也不分配；
+ * 大小区间按对数等分为若干档，每次调用均匀选取一档，覆盖从小包到大包的分布
+ *
+ * <p>支持以下内置函数，大小支持 k、m 后缀：</p>
+ * <ul>
+ *     <li>{@code bytes(size)}、{@code bytes(min,max)}、{@code bytes(min,max,fixed)}: byte[] 负载</li>
+ *     <li>{@code text(size)}、{@code text(min,max)}、{@code text(min,max,fixed)}: String 负载</li>
+ * </ul>
+ * <p>默认每次调用随机选取一份内容，指定 fixed 时同一大小始终使用同一份内容。</p>
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class PayloadPool {
+
+    /**
+     * 单个负载的最大字节数
+     */
+    public static final int MAX_SIZE = 16 * 1024 * 1024;
+    private static final int VARIANTS = 4;
+    private static final int SIZE_CLASSES = 16;
+    private static final byte[] ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ConcurrentMap<Integer, byte[][]> BYTES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Integer, String[]> TEXTS = new ConcurrentHashMap<>();
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private PayloadPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 创建负载生成器
+     *
+     * @param name 函数名称
+     * @param args 函数参数
+     * @param text 占位符原文，用于错误信息
+     * @return 负载生成器，名称不是负载函数时返回 null
+     * @throws IllegalArgumentException 函数参数格式错误时
+     */
+    static Supplier<Object> of(String name, String[] args, String text) {
+        boolean binary = "bytes".equals(name);
+        if (!binary && !"text".equals(name)) {
+            return null;
+        }
+        if (args.length < 1 || args.length > 3) {
+            throw new IllegalArgumentException(name + "(min,max,fixed) requires one to three arguments: " + text);
+        }
+        int min = parseSize(args[0], text);
+        int max = args.length > 1 ? parseSize(args[1], text) : min;
+        if (max < min) {
+            throw new IllegalArgumentException(name + "(min,max) requires min <= max: " + text);
+        }
+        boolean fixed = args.length > 2 && "fixed".equalsIgnoreCase(args[2].trim());
+        int[] sizes = sizeClasses(min, max);
+        Object[][] classes = new Object[sizes.length][];
+        for (int i = 0; i < sizes.length; i++) {
+            classes[i] = binary ? bytes(sizes[i]) : texts(sizes[i]);
+        }
+        if (classes.length == 1 && fixed) {
+            Object payload = classes[0][0];
+            return () -> payload;
+        }
+        return () -> {
+            SplittableRandom random = KeyDistribution.random();
+            Object[] variants = classes.length == 1 ? classes[0] : classes[random.nextInt(classes.length)];
+            return fixed ? variants[0] : variants[random.nextInt(variants.length)];
+        };
+    }
+
+    /**
+     * 估算参数序列化后的内容字节数，递归统计 Map 的键值和集合中的元素
+     * 字符串按 UTF-8 编码计算，数值按 8 字节、布尔值按 1 字节计算，不含协议头和对象结构，用于估算发送带宽
+     *
+     * @param arguments 参数值数组
+     * @return 估算的字节数
+     */
+    public static long estimateSize(Object[] arguments) {
+        long size = 0;
+        for (Object argument : arguments) {
+            size += estimateSize(argument);
+        }
+        return size;
+    }
+
+    /**
+     * 释放所有负载
+     */
+    public static void reset() {
+        BYTES.clear();
+        TEXTS.clear();
+    }
+
+    /**
+     * 估算单个值的字节数
+     *
+     * @param value 参数值
+     * @return 估算的字节数
+     */
+    private static long estimateSize(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof CharSequence) {
+            return utf8Length((CharSequence) value);
+        }
+        if (value instanceof Number) {
+            return Long.BYTES;
+        }
+        if (value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof Map) {
+            long size = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 0;
+            for (Object element : (Collection<?>) value) {
+                size += estimateSize(element);
+            }
+            return size;
+        }
+        return 0;
+    }
+
+    /**
+     * 计算字符串按 UTF-8 编码的字节数，不实际编码
+     *
+     * @param text 字符串
+     * @return 字节数
+     */
+    private static long utf8Length(CharSequence text) {
+        int length = text.length();
+        long size = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800) {
+                // 代理对的两个字符共 4 字节，其余 3 字节
+                size += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 获取指定大小的 byte[] 负载，首次使用时填充
+     *
+     * @param size 字节数
+     * @return 内容不同的负载
+     */
+    private static byte[][] bytes(int size) {
+        return BYTES.computeIfAbsent(size, key -> {
+            byte[][] variants = new byte[VARIANTS][];
+            for (int i = 0; i < VARIANTS; i++) {
+                SplittableRandom random = new SplittableRandom(31L * size + i);
+                byte[] payload = new byte[size];
+                for (int j = 0; j < size; j++) {
+                    payload[j] = ALPHABET[random.nextInt(ALPHABET.length)];
+                }
+                variants[i] = payload;
+            }
+            return variants;
+        });
+    }
+
+    /**
+     * 获取指定大小的 String 负载，内容与同样大小的 byte[] 负载相同
+     *
+     * @param size 字符数
+     * @return 内容不同的负载
+     */
+    private static String[] texts(int size) {
+        return TEXTS.computeIfAbsent(size, key -> {
+            byte[][] bytes = bytes(size);
+            String[] variants = new String[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                variants[i] = new String(bytes[i], StandardCharsets.US_ASCII);
+            }
+            return variants;
+        });
+    }
+
+    /**
+     * 将大小区间按对数等分为若干档
+     *
+     * @param min 最小字节数
+     * @param max 最大字节数
+     * @return 去重后的各档大小
+     */
+    private static int[] sizeClasses(int min, int max) {
+        if (min == max) {
+            return new int[]{min};
+        }
+        int[] sizes = new int[SIZE_CLASSES];
+        int count = 0;
+        double ratio = (double) Math.max(max, 1) / Math.max(min, 1);
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            int size = i == SIZE_CLASSES - 1 ? max
+                : (int) Math.round(Math.max(min, 1) * Math.pow(ratio, (double) i / (SIZE_CLASSES - 1)));
+            size = Math.max(min, size);
+            if (count == 0 || sizes[count - 1] != size) {
+                sizes[count++] = size;
+            }
+        }
+        int[] result = new int[count];
+        System.arraycopy(sizes, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * 解析负载大小
+     *
+     * @param value 大小，支持 k、m 后缀
+     * @param text  占位符原文
+     * @return 字节数
+     */
+    private static int parseSize(String value, String text) {
+        String size = value.trim().toLowerCase(Locale.ROOT);
+        long unit = 1;
+        if (size.endsWith("k")) {
+            unit = 1024;
+        } else if (size.endsWith("m")) {
+            unit = 1024 * 1024;
+        }
+        long bytes = Long.parseLong(unit == 1 ? size : size.substring(0, size.length() - 1).trim()) * unit;
+        if (bytes < 0 || bytes > MAX_SIZE) {
+            throw new IllegalArgumentException("Payload size must be between 0 and " + MAX_SIZE + ": " + text);
+        }
+        return (int) bytes;
+    }
+}
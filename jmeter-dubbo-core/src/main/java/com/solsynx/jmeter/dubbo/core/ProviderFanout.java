@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+import org.apache.dubbo.common.URL;
+import org.apache.jmeter.samplers.SampleResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 提供者扇出调用
+ * 每次采样从注册中心目录读取当前可用的提供者列表，参数只填充一次，以直连方式同时向每个提供者发出参数完全相同的调用，
+ * 每个提供者的结果作为一个子结果上报，父结果的响应数据为各提供者的耗时一览，便于定位慢节点；
+ * 各提供者的调用重叠执行，父结果的耗时为整次扇出的墙钟时间，按一次采样计数，延迟为各提供者的平均耗时，
+ * 避免墙钟时间被提供者数量平分而低估单次调用的耗时；
+ * 每个 JMeter 线程持有一个实例
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ProviderFanout {
+
+    private final DirectPlans plans = new DirectPlans();
+
+    /**
+     * 向所有提供者发出一次调用并返回汇总的采样结果
+     *
+     * @param plan 调用计划
+     * @return 汇总的采样结果，线程被中断时返回 null
+     */
+    public DubboSampleResult next(InvocationPlan plan) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        DubboSampleResult parent = GenericDubbo.initializeResult(plan.getContext());
+        List<URL> providers;
+        Object[] arguments;
+        try {
+            providers = GenericDubbo.getProviders(plan);
+            if (providers.isEmpty()) {
+                throw new IllegalStateException("No provider available for " + plan.getReferenceKey());
+            }
+            // 同一次扇出的所有提供者使用相同的参数，模板函数和参数数据源只推进一次
+            arguments = plan.resolveArguments();
+        } catch (RuntimeException e) {
+            GenericDubbo.handleException(e, parent);
+            parent.setTiming(startTime, System.nanoTime() - startNanos);
+            return parent;
+        }
+
+        List<CompletableFuture<DubboSampleResult>> futures = new ArrayList<>(providers.size());
+        for (URL provider : providers) {
+            futures.add(GenericDubbo.executeAsync(plans.get(plan, provider), arguments, System.currentTimeMillis(),
+                                                  System.nanoTime(), null));
+        }
+        List<DubboSampleResult> results = new ArrayList<>(futures.size());
+        try {
+            // executeAsync 返回的 Future 总是正常完成
+            for (CompletableFuture<DubboSampleResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        parent.setTiming(startTime, System.nanoTime() - startNanos);
+        aggregate(parent, results);
+        return parent;
+    }
+
+    /**
+     * 汇总各提供者的结果
+     * 父结果按一次采样计数，存在失败的提供者时错误数为 1，延迟为各提供者的平均耗时，响应数据为各提供者的响应码和耗时
+     *
+     * @param parent  父采样结果
+     * @param results 各提供者的采样结果
+     */
+    private static void aggregate(DubboSampleResult parent, List<DubboSampleResult> results) {
+        StringBuilder summary = new StringBuilder();
+        DubboSampleResult failure = null;
+        int errors = 0;
+        long bytes = 0;
+        long sentBytes = 0;
+        long latency = 0;
+        for (DubboSampleResult result : results) {
+            if (!result.isSuccessful()) {
+                if (failure == null) {
+                    failure = result;
+                }
+                errors++;
+            }
+            bytes += result.getBytesAsLong();
+            sentBytes += result.getSentBytes();
+            latency += result.getTime();
+            summary.append(result.getDirectUrl() == null ? result.getSampleLabel() : result.getDirectUrl().getAddress())
+                .append('\t').append(result.getResponseCode())
+                .append('\t').append(TimeUnit.NANOSECONDS.toMicros(result.getElapsedNanos()) / 1000.0).append(" ms")
+                .append('\n');
+            parent.addRawSubResult(result);
+        }
+        parent.setSuccessful(errors == 0);
+        if (failure == null) {
+            parent.setResponseCodeOK();
+            parent.setResponseMessage(results.size() + " providers");
+        } else {
+            parent.setResponseCode(failure.getResponseCode());
+            parent.setResponseMessage(errors + "/" + results.size() + " providers failed: " + failure.getResponseMessage());
+        }
+        parent.setDataType(SampleResult.TEXT);
+        parent.setResponseData(summary.toString(), GenericDubbo.UTF_8);
+        parent.setSampleCount(1);
+        parent.setErrorCount(errors == 0 ? 0 : 1);
+        parent.setLatency(latency / results.size());
+        parent.setBytes(bytes);
+        parent.setSentBytes(sentBytes);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import org.apache.dubbo.common.URL;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 提供者统计
+ * 按采样结果中记录的提供者地址累计请求数、错误数和耗时分布，计数器均为无锁结构，所有线程共享；
+ * 测试结束时输出各提供者的请求占比和耗时分位，用于判断容量问题是否由负载不均造成
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ProviderStatistics {
+
+    /**
+     * 调用未到达任何提供者时使用的地址
+     */
+    public static final String UNKNOWN_PROVIDER = "unknown";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final ConcurrentMap<String, ProviderStatistics> PROVIDERS = new ConcurrentHashMap<>();
+
+    private final String provider;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * 私有构造函数，通过 {@link #record(DubboSampleResult)} 创建
+     *
+     * @param provider 提供者地址
+     */
+    private ProviderStatistics(String provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * 记录一次调用
+     *
+     * @param result 已完成的采样结果
+     */
+    public static void record(DubboSampleResult result) {
+        String provider = keyOf(result.getProviderUrl());
+        ProviderStatistics statistics = PROVIDERS.get(provider);
+        if (statistics == null) {
+            statistics = PROVIDERS.computeIfAbsent(provider, ProviderStatistics::new);
+        }
+        statistics.requests.increment();
+        if (!result.isSuccessful()) {
+            statistics.errors.increment();
+        }
+        long elapsedNanos = result.getElapsedNanos();
+        statistics.latency.record(elapsedNanos > 0
+            ? TimeUnit.NANOSECONDS.toMicros(elapsedNanos)
+            : TimeUnit.MILLISECONDS.toMicros(result.getTime()));
+    }
+
+    /**
+     * 获取所有提供者的统计，按请求数降序排列
+     *
+     * @return 提供者统计列表
+     */
+    public static List<ProviderStatistics> snapshot() {
+        List<ProviderStatistics> snapshot = new ArrayList<>(PROVIDERS.values());
+        snapshot.sort(Comparator.comparingLong(ProviderStatistics::getRequests).reversed());
+        return snapshot;
+    }
+
+    /**
+     * 生成统计报告并清空所有统计
+     *
+     * @return 统计报告，没有记录时返回 null
+     */
+    public static String report() {
+        List<ProviderStatistics> snapshot = snapshot();
+        PROVIDERS.clear();
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        long total = 0;
+        for (ProviderStatistics statistics : snapshot) {
+            total += statistics.getRequests();
+        }
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+            "%-40s %12s %7s %10s %7s %10s %10s %10s %10s %10s %10s%n",
+            "provider", "requests", "share", "errors", "error", "mean(ms)",
+            "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        for (ProviderStatistics statistics : snapshot) {
+            long requests = statistics.getRequests();
+            long errors = statistics.getErrors();
+            long[] quantiles = statistics.latency.getQuantiles(QUANTILES);
+            report.append(String.format(Locale.ROOT,
+                "%-40s %12d %6.2f%% %10d %6.2f%% %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                statistics.provider, requests, percent(requests, total), errors, percent(errors, requests),
+                statistics.latency.getMean() / 1000, quantiles[0] / 1000.0, quantiles[1] / 1000.0,
+                quantiles[2] / 1000.0, quantiles[3] / 1000.0, statistics.latency.getMax() / 1000.0));
+        }
+        return report.toString();
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public static void reset() {
+        PROVIDERS.clear();
+    }
+
+    /**
+     * 计算提供者统计键
+     *
+     * @param url 提供者 URL，可以为 null
+     * @return 协议和地址组成的键
+     */
+    private static String keyOf(URL url) {
+        if (url == null || url.getHost() == null) {
+            return UNKNOWN_PROVIDER;
+        }
+        return url.getProtocol() + "://" + url.getAddress();
+    }
+
+    /**
+     * 计算百分比
+     *
+     * @param part  部分
+     * @param total 总数
+     * @return 百分比，总数为 0 时返回 0
+     */
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    /**
+     * 获取提供者地址
+     *
+     * @return 协议和地址，调用未到达提供者时为 {@link #UNKNOWN_PROVIDER}
+     */
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * 获取请求数
+     *
+     * @return 请求数
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * 获取错误数
+     *
+     * @return 错误数
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * 获取耗时直方图
+     *
+     * @return 耗时直方图
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
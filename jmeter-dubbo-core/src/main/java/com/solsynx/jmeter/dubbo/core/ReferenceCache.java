@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 插件自有的引用缓存
+ * 以 {@link ReferenceKey} 为键缓存 {@link ReferenceHandle}，查找无锁，同一引用单飞初始化；
+ * 容量有限，超出时淘汰并销毁最久未使用的引用，测试结束时由采样器调用 {@link #clear()} 释放全部引用，
+ * 避免连接、注册中心监听和 Netty 线程泄漏
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ReferenceCache {
+
+    /**
+     * 缓存容量的 JMeter 属性名
+     */
+    public static final String MAX_SIZE_PROPERTY = "dubbo.reference.cache.size";
+    private static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceCache.class);
+    private static final ReferenceCache INSTANCE = new ReferenceCache();
+
+    private final Map<ReferenceKey, ReferenceHandle> handles = new ConcurrentHashMap<>();
+
+    /**
+     * 私有构造函数，通过 {@link #getInstance()} 获取单例
+     */
+    private ReferenceCache() {
+    }
+
+    /**
+     * 获取引用缓存单例
+     *
+     * @return 引用缓存
+     */
+    public static ReferenceCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 获取已初始化的引用句柄，不存在时创建
+     *
+     * @param context 服务上下文
+     * @return 引用句柄
+     */
+    public ReferenceHandle acquire(ServiceContext context) {
+        return acquire(ReferenceKey.of(context), context);
+    }
+
+    /**
+     * 获取已初始化的引用句柄，不存在时创建
+     * 同一引用并发获取时只有一个线程执行初始化，初始化失败的句柄会被移除以便下次重试
+     *
+     * @param key     引用缓存键
+     * @param context 服务上下文
+     * @return 引用句柄
+     */
+    public ReferenceHandle acquire(ReferenceKey key, ServiceContext context) {
+        ReferenceHandle handle = handles.get(key);
+        if (handle == null) {
+            ReferenceHandle created = new ReferenceHandle(key);
+            handle = handles.putIfAbsent(key, created);
+            if (handle == null) {
+                handle = created;
+                evict();
+            }
+        }
+        try {
+            handle.resolve(context);
+        } catch (RuntimeException | Error e) {
+            handles.remove(key, handle);
+            throw e;
+        }
+        return handle;
+    }
+
+    /**
+     * 销毁并移除所有缓存的引用
+     */
+    public void clear() {
+        int released = 0;
+        for (ReferenceKey key : handles.keySet()) {
+            ReferenceHandle handle = handles.remove(key);
+            if (handle != null) {
+                destroy(handle);
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.info("Released {} cached dubbo references", released);
+        }
+    }
+
+    /**
+     * 获取当前缓存的引用数量
+     *
+     * @return 引用数量
+     */
+    public int size() {
+        return handles.size();
+    }
+
+    /**
+     * 超出容量时淘汰最久未使用的引用
+     * 只在新建句柄时执行，查找路径不受影响
+     */
+    private void evict() {
+        int maxSize = Math.max(1, org.apache.jmeter.util.JMeterUtils.getPropDefault(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+        while (handles.size() > maxSize) {
+            ReferenceHandle eldest = null;
+            for (ReferenceHandle handle : handles.values()) {
+                if (eldest == null || handle.getLastAccess() < eldest.getLastAccess()) {
+                    eldest = handle;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            if (handles.remove(eldest.getKey(), eldest)) {
+                log.info("Evicting dubbo reference: {}", eldest.getKey());
+                destroy(eldest);
+            }
+        }
+    }
+
+    /**
+     * 销毁引用句柄
+     *
+     * @param handle 引用句柄
+     */
+    private static void destroy(ReferenceHandle handle) {
+        try {
+            handle.destroy();
+        } catch (Exception e) {
+            log.warn("Failed to destroy dubbo reference: {}", handle.getKey(), e);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.config.ReferenceConfig;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.cluster.ClusterInvoker;
+import org.apache.dubbo.rpc.service.GenericService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 引用句柄
+ * 以单飞方式初始化引用：同一引用只有第一个线程创建 ReferenceConfig，其余线程等待其结果；
+ * 初始化完成后采样线程持有句柄，热路径只需读取字段；每个句柄持有一个 {@link AvailabilityGate}，提供者全部不可用时快速拒绝采样
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ReferenceHandle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceHandle.class);
+    private static final long TOUCH_INTERVAL = 1000L;
+
+    private final ReferenceKey key;
+    private final CompletableFuture<Object> service = new CompletableFuture<>();
+    private final AtomicBoolean initializing = new AtomicBoolean();
+    private final AvailabilityGate gate;
+
+    private volatile ReferenceConfig<?> reference;
+    private volatile boolean destroyed;
+    private long lastAccess = System.currentTimeMillis();
+
+    /**
+     * 构造函数，创建一个未初始化的引用句柄
+     *
+     * @param key 引用缓存键
+     */
+    ReferenceHandle(ReferenceKey key) {
+        this.key = key;
+        this.gate = new AvailabilityGate(key, this::isAvailable);
+    }
+
+    /**
+     * 初始化引用，只有第一个调用的线程执行初始化，其余线程阻塞等待结果
+     *
+     * @param context 服务上下文
+     * @throws RuntimeException 初始化失败时抛出原始异常
+     */
+    void resolve(ServiceContext context) {
+        if (initializing.compareAndSet(false, true)) {
+            try {
+                ReferenceConfig<?> config = GenericDubbo.getReferenceConfig(context);
+                Object proxy = config.get();
+                reference = config;
+                if (AvailabilityGate.isEnabled() && !isAvailable()) {
+                    // 启用闸门时引用以 check=false 初始化，没有提供者不会报错，由此提示采样将被闸门拒绝
+                    log.warn("Dubbo reference started with no provider available, samples are rejected by "
+                                 + "availability gate until a provider appears: {}", key);
+                }
+                service.complete(proxy);
+                if (destroyed) {
+                    // 初始化期间句柄已被淘汰
+                    config.destroy();
+                }
+            } catch (Throwable throwable) {
+                service.completeExceptionally(throwable);
+            }
+        }
+        try {
+            service.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 获取泛化服务实例
+     *
+     * @return 泛化服务实例，未初始化完成时返回 null
+     * @throws IllegalStateException 类型化引用时，类型化引用应通过 {@link #getProxy()} 获取服务接口的代理
+     */
+    public GenericService getService() {
+        Object proxy = getProxy();
+        if (proxy != null && !(proxy instanceof GenericService)) {
+            throw new IllegalStateException("Typed dubbo reference is not a GenericService: " + key);
+        }
+        return (GenericService) proxy;
+    }
+
+    /**
+     * 获取服务代理，泛化引用时为 {@link GenericService}，类型化引用时为服务接口的代理
+     *
+     * @return 服务代理，未初始化完成时返回 null
+     */
+    public Object getProxy() {
+        long now = System.currentTimeMillis();
+        if (now - lastAccess > TOUCH_INTERVAL) {
+            lastAccess = now;
+        }
+        return service.getNow(null);
+    }
+
+    /**
+     * 获取引用配置
+     *
+     * @return 引用配置，未初始化完成时返回 null
+     */
+    public ReferenceConfig<?> getReference() {
+        return reference;
+    }
+
+    /**
+     * 获取当前可用的提供者
+     * 通过注册中心引用时读取集群目录中的全部提供者，直连单个地址时返回该地址
+     *
+     * @return 提供者 URL 列表，未初始化完成时返回空列表
+     */
+    public List<URL> getProviders() {
+        ReferenceConfig<?> config = reference;
+        Invoker<?> invoker = config == null ? null : config.getInvoker();
+        if (invoker == null) {
+            return Collections.emptyList();
+        }
+        if (!(invoker instanceof ClusterInvoker)) {
+            return Collections.singletonList(invoker.getUrl());
+        }
+        List<URL> providers = new ArrayList<>();
+        for (Invoker<?> provider : ((ClusterInvoker<?>) invoker).getDirectory().getAllInvokers()) {
+            if (provider.isAvailable()) {
+                providers.add(provider.getUrl());
+            }
+        }
+        return providers;
+    }
+
+    /**
+     * 是否存在可用的提供者
+     * 通过注册中心引用时由集群目录判断是否有可用的提供者，直连时判断连接是否可用
+     *
+     * @return 存在可用提供者时返回 true，未初始化完成时返回 false
+     */
+    boolean isAvailable() {
+        ReferenceConfig<?> config = reference;
+        Invoker<?> invoker = config == null ? null : config.getInvoker();
+        return invoker != null && invoker.isAvailable();
+    }
+
+    /**
+     * 获取提供者可用性闸门
+     *
+     * @return 可用性闸门
+     */
+    public AvailabilityGate getGate() {
+        return gate;
+    }
+
+    /**
+     * 获取引用缓存键
+     *
+     * @return 引用缓存键
+     */
+    public ReferenceKey getKey() {
+        return key;
+    }
+
+    /**
+     * 句柄是否已被销毁
+     *
+     * @return 如果已被淘汰或释放则返回 true
+     */
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * 获取最近一次访问时间，用于 LRU 淘汰
+     *
+     * @return 最近访问时间（毫秒）
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * 销毁引用
+     */
+    void destroy() {
+        destroyed = true;
+        gate.destroy();
+        ReferenceConfig<?> config = reference;
+        if (config != null) {
+            config.destroy();
+        }
+    }
+}
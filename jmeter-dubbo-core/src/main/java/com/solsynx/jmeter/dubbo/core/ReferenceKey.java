@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * 引用缓存键
+ * 由完整的连接标识组成：注册中心类型、地址、组、认证信息、直连地址、服务组、接口、超时时间、泛化模式和负载均衡设置，
+ * 任意一项不同都视为不同的引用，避免不同注册中心或直连地址的采样器共享同一个引用
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ReferenceKey {
+
+    private final String[] identity;
+    private final int hash;
+    private final String description;
+
+    /**
+     * 私有构造函数，通过 {@link #of(ServiceContext)} 创建
+     *
+     * @param identity    标识字段
+     * @param description 不含认证信息的描述
+     */
+    private ReferenceKey(String[] identity, String description) {
+        this.identity = identity;
+        this.hash = Arrays.hashCode(identity);
+        this.description = description;
+    }
+
+    /**
+     * 通过服务上下文创建引用缓存键
+     * 使用直连地址时注册中心相关字段不参与标识
+     *
+     * @param context 服务上下文
+     * @return 引用缓存键
+     */
+    public static ReferenceKey of(ServiceContext context) {
+        boolean direct = StringUtils.isNotBlank(context.getDirectUrl());
+        String[] identity = {
+            direct ? "" : StringUtils.defaultString(context.getRegistryType()),
+            direct ? "" : StringUtils.defaultString(context.getRegistryAddress()),
+            direct ? "" : StringUtils.defaultString(context.getRegistryGroup()),
+            direct ? "" : StringUtils.defaultString(context.getRegistryTimeout()),
+            direct ? "" : StringUtils.defaultString(context.getRegistryUsername()),
+            direct ? "" : StringUtils.defaultString(context.getRegistryPassword()),
+            StringUtils.defaultString(context.getDirectUrl()),
+            StringUtils.defaultString(context.getServiceGroup()),
+            StringUtils.defaultString(context.getInterfaceName()),
+            StringUtils.defaultString(context.getServiceTimeout()),
+            GenericCodec.modeOf(context),
+            StringUtils.defaultString(context.getLoadBalance()),
+            StringUtils.defaultString(context.getHashArguments()),
+            StringUtils.defaultString(context.getHashNodes()),
+            String.valueOf(context.isSticky())
+        };
+        String target = direct ? context.getDirectUrl() : context.getRegistryCenter();
+        String description = target + "/" + StringUtils.defaultString(context.getServiceGroup())
+            + "/" + context.getInterfaceName();
+        return new ReferenceKey(identity, description);
+    }
+
+    /**
+     * 判断两个缓存键是否相同
+     *
+     * @param o 另一个对象
+     * @return 如果标识完全相同则返回 true，否则返回 false
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReferenceKey)) {
+            return false;
+        }
+        ReferenceKey that = (ReferenceKey) o;
+        return hash == that.hash && Arrays.equals(identity, that.identity);
+    }
+
+    /**
+     * 获取哈希值
+     *
+     * @return 预先计算的哈希值
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * 获取缓存键描述，不包含认证信息
+     *
+     * @return 缓存键描述
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
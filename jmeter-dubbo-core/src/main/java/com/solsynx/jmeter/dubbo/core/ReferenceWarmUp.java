@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.utils.NamedThreadFactory;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.service.EchoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 引用预热
+ * 测试开始时并行解析所有采样器的引用，等待提供者可用，并可选地以直连方式向每个提供者发送若干次 $echo 调用预热连接、JIT 和序列化，
+ * 线程启动时等待对应引用预热完成后再开始采样，避免首批采样承担建连开销以及大量线程同时订阅注册中心
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ReferenceWarmUp {
+
+    /**
+     * 预热并行度的 JMeter 属性名
+     */
+    public static final String THREADS_PROPERTY = "dubbo.warmup.threads";
+    private static final int DEFAULT_THREADS = 8;
+    private static final long RETRY_INTERVAL = 500L;
+    private static final String ECHO_MESSAGE = "OK";
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceWarmUp.class);
+    private static final Map<ReferenceKey, Future<?>> WARMUPS = new ConcurrentHashMap<>();
+
+    private static ExecutorService executor;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ReferenceWarmUp() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 提交引用预热任务，同一引用只预热一次
+     *
+     * @param context   服务上下文
+     * @param echoCount $echo 调用次数，小于等于 0 表示不发送
+     * @param timeout   等待提供者可用的最长时间（毫秒）
+     */
+    public static void submit(ServiceContext context, int echoCount, long timeout) {
+        ReferenceKey key = ReferenceKey.of(context);
+        WARMUPS.computeIfAbsent(key, k -> getExecutor().submit(() -> warmUp(k, context, echoCount, timeout)));
+    }
+
+    /**
+     * 等待引用预热完成
+     * 预热失败不会抛出异常，采样时将按常规流程重新解析引用并记录错误
+     *
+     * @param context 服务上下文
+     */
+    public static void await(ServiceContext context) {
+        Future<?> future = WARMUPS.get(ReferenceKey.of(context));
+        if (future == null) {
+            return;
+        }
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Dubbo warm-up failed: {}", context.getInterfaceName(), e);
+        }
+    }
+
+    /**
+     * 取消未完成的预热任务并清空预热记录
+     */
+    public static void reset() {
+        for (Future<?> future : WARMUPS.values()) {
+            future.cancel(true);
+        }
+        WARMUPS.clear();
+    }
+
+    /**
+     * 执行单个引用的预热
+     *
+     * @param key       引用缓存键
+     * @param context   服务上下文
+     * @param echoCount $echo 调用次数
+     * @param timeout   等待提供者可用的最长时间（毫秒）
+     */
+    private static void warmUp(ReferenceKey key, ServiceContext context, int echoCount, long timeout) {
+        long startTime = System.nanoTime();
+        ReferenceHandle handle = resolve(key, context, timeout);
+        long resolveTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        if (handle == null) {
+            return;
+        }
+
+        long echoStartTime = System.nanoTime();
+        List<Object> proxies = echoCount > 0 ? echoProxies(key, context, handle) : Collections.emptyList();
+        int echoed = 0;
+        for (Object proxy : proxies) {
+            echoed += echo(key, proxy, echoCount);
+        }
+        long echoTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - echoStartTime);
+        log.info("Dubbo warm-up finished: {}, resolve {} ms, echo {}/{} on {} providers in {} ms",
+                 key, resolveTime, echoed, Math.max(echoCount, 0) * proxies.size(), proxies.size(), echoTime);
+    }
+
+    /**
+     * 解析引用并等待提供者可用，提供者不可用时重试直到超时
+     * 启用可用性闸门时引用以 check=false 初始化，没有提供者也能解析成功，因此解析后还需等待集群目录或直连连接出现可用的提供者；
+     * 只重试 RPC 异常以及无可用提供者、网络和超时类失败，其余错误（例如找不到服务 API 类）立即放弃
+     *
+     * @param key     引用缓存键
+     * @param context 服务上下文
+     * @param timeout 最长等待时间（毫秒）
+     * @return 引用句柄，超时或无法重试时返回 null
+     * @see AvailabilityGate
+     */
+    private static ReferenceHandle resolve(ReferenceKey key, ServiceContext context, long timeout) {
+        long deadline = System.currentTimeMillis() + Math.max(timeout, 0L);
+        while (true) {
+            String reason;
+            try {
+                ReferenceHandle handle = ReferenceCache.getInstance().acquire(key, context);
+                if (handle.isAvailable()) {
+                    return handle;
+                }
+                reason = "no provider available";
+            } catch (Exception e) {
+                if (!isRetryable(e)) {
+                    log.warn("Dubbo warm-up failed: {}, {}", key, e.toString());
+                    return null;
+                }
+                reason = e.getMessage();
+            }
+            if (System.currentTimeMillis() + RETRY_INTERVAL > deadline) {
+                log.warn("Dubbo warm-up timed out waiting for providers: {}, {}", key, reason);
+                return null;
+            }
+            try {
+                Thread.sleep(RETRY_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 解析失败是否值得重试
+     *
+     * @param e 解析失败的异常
+     * @return 提供者暂不可用时返回 true
+     */
+    private static boolean isRetryable(Exception e) {
+        if (e instanceof RpcException) {
+            return true;
+        }
+        String category = FailureClassifier.classify(e);
+        return FailureClassifier.NO_PROVIDER.equals(category) || FailureClassifier.NETWORK.equals(category)
+            || FailureClassifier.TIMEOUT.equals(category);
+    }
+
+    /**
+     * 获取发送 $echo 调用的代理
+     * 通过注册中心引用时为每个提供者创建直连引用（与扇出和对冲使用的直连引用相同），
+     * 避免负载均衡把全部预热调用发往同一个提供者；直连或只有一个提供者时使用引用本身的代理
+     *
+     * @param key     引用缓存键
+     * @param context 服务上下文
+     * @param handle  已解析的引用句柄
+     * @return 服务代理列表
+     */
+    private static List<Object> echoProxies(ReferenceKey key, ServiceContext context, ReferenceHandle handle) {
+        List<URL> providers = handle.getProviders();
+        if (StringUtils.isNotBlank(context.getDirectUrl()) || providers.size() <= 1) {
+            return Collections.singletonList(handle.getProxy());
+        }
+        List<Object> proxies = new ArrayList<>(providers.size());
+        for (URL provider : providers) {
+            ServiceContext direct = context.copy().setDirectUrl(provider.getProtocol() + "://" + provider.getAddress());
+            try {
+                proxies.add(ReferenceCache.getInstance().acquire(ReferenceKey.of(direct), direct).getProxy());
+            } catch (Exception e) {
+                log.debug("Dubbo warm-up failed to reference provider {}: {}", provider.getAddress(), key, e);
+            }
+        }
+        return proxies;
+    }
+
+    /**
+     * 发送 $echo 调用预热调用链路
+     * 泛化引用和类型化引用的代理都实现了 {@link EchoService}
+     *
+     * @param key       引用缓存键
+     * @param proxy     服务代理
+     * @param echoCount 调用次数
+     * @return 成功的调用次数
+     */
+    private static int echo(ReferenceKey key, Object proxy, int echoCount) {
+        int echoed = 0;
+        for (int i = 0; i < echoCount && !Thread.currentThread().isInterrupted(); i++) {
+            try {
+                ((EchoService) proxy).$echo(ECHO_MESSAGE);
+                echoed++;
+            } catch (Exception e) {
+                log.debug("Dubbo warm-up echo failed: {}", key, e);
+            }
+        }
+        return echoed;
+    }
+
+    /**
+     * 获取预热线程池，首次使用时创建
+     *
+     * @return 预热线程池
+     */
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, org.apache.jmeter.util.JMeterUtils.getPropDefault(THREADS_PROPERTY, DEFAULT_THREADS));
+            executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("DubboWarmUp", true));
+        }
+        return executor;
+    }
+}
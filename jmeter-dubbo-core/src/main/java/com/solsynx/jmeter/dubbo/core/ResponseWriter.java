@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * 响应数据写出
+ * 按采样器配置的响应模式决定返回值写入采样结果的方式，高负载下可以只统计大小或计算摘要，避免为不读取的响应体生成完整的 JSON：
+ * <ul>
+ *     <li>{@code full}: 完整的 JSON 响应体（默认）</li>
+ *     <li>{@code truncated}: 只保留 JSON 的前 N 个字节，达到上限后立即停止序列化</li>
+ *     <li>{@code hash}: 响应体为 JSON 的 MD5 摘要（十六进制），用于校验响应是否一致</li>
+ *     <li>{@code size-only}: 只统计 JSON 的字节数作为接收字节数，响应体为空</li>
+ *     <li>{@code discard}: 不序列化返回值，响应体为空</li>
+ * </ul>
+ * 所有模式都以流方式直接序列化为 UTF-8 字节，不生成中间字符串；full 与 truncated 写入当前线程复用的缓冲区，
+ * 完成后只复制一次得到响应数据，full 模式的响应体不超过 {@value #MAX_BYTES_PROPERTY} 指定的上限；
+ * 所有模式都保留原始返回值供进程内断言使用
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ResponseWriter {
+
+    public static final String FULL = "full";
+    public static final String TRUNCATED = "truncated";
+    public static final String HASH = "hash";
+    public static final String SIZE_ONLY = "size-only";
+    public static final String DISCARD = "discard";
+
+    /**
+     * 截断模式默认保留的字节数
+     */
+    public static final int DEFAULT_LIMIT = 1024;
+
+    /**
+     * full 模式响应体上限（字节）的 JMeter 属性名，超过上限的部分被截断
+     */
+    public static final String MAX_BYTES_PROPERTY = "dubbo.response.max.bytes";
+
+    private static final int MAX_BYTES =
+        Math.max(0, org.apache.jmeter.util.JMeterUtils.getPropDefault(MAX_BYTES_PROPERTY, 8 * 1024 * 1024));
+    /**
+     * 缓冲区的初始容量和线程保留的最大容量，超过保留容量的缓冲区用完即丢弃，避免大响应长期占用每个线程的内存
+     */
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int RETAINED_CAPACITY = 1024 * 1024;
+    private static final ThreadLocal<ResponseBuffer> BUFFERS = ThreadLocal.withInitial(ResponseBuffer::new);
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseWriter.class);
+    private static final byte[] EMPTY = new byte[0];
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(ResponseWriter::newDigest);
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ResponseWriter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 按响应模式将返回值写入采样结果
+     *
+     * @param result 采样结果对象
+     * @param value  还原后的返回值
+     * @param mode   响应模式，无法识别时按 full 处理
+     * @param limit  截断模式保留的字节数
+     * @throws IOException 返回值无法序列化时，full 模式改为写出 {@link String#valueOf(Object)}
+     */
+    static void write(DubboSampleResult result, Object value, String mode, int limit) throws IOException {
+        switch (mode) {
+            case DISCARD:
+                result.setResponseData(EMPTY);
+                result.setBodySize(0L);
+                break;
+            case SIZE_ONLY: {
+                CountingOutputStream out = new CountingOutputStream(null);
+                JMeterUtils.writeJson(value, out);
+                result.setResponseData(EMPTY);
+                result.setBodySize(out.count);
+                break;
+            }
+            case HASH: {
+                MessageDigest digest = DIGESTS.get();
+                digest.reset();
+                CountingOutputStream out = new CountingOutputStream(digest);
+                JMeterUtils.writeJson(value, out);
+                result.setResponseData(toHex(digest.digest()).getBytes(StandardCharsets.US_ASCII));
+                result.setBodySize(out.count);
+                break;
+            }
+            case TRUNCATED:
+                result.setResponseData(serialize(value, Math.max(0, limit)));
+                break;
+            default:
+                try {
+                    result.setResponseData(serialize(value, MAX_BYTES));
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Failed to serialize {} as JSON: {}", value.getClass().getName(), e.toString());
+                    result.setResponseData(String.valueOf(value), GenericDubbo.UTF_8);
+                }
+                break;
+        }
+    }
+
+    /**
+     * 将返回值序列化到当前线程的缓冲区，超过上限时停止序列化并保留前缀
+     *
+     * @param value 返回值
+     * @param limit 保留的最大字节数
+     * @return 序列化得到的字节，长度不超过上限
+     * @throws IOException 返回值无法序列化时
+     */
+    private static byte[] serialize(Object value, int limit) throws IOException {
+        ResponseBuffer buffer = BUFFERS.get();
+        buffer.reset(limit);
+        try {
+            JMeterUtils.writeJson(value, buffer);
+        } catch (IOException | RuntimeException e) {
+            // 写满后序列化器可能包装停止信号，以缓冲区状态为准
+            if (!buffer.isFull()) {
+                throw e;
+            }
+        }
+        byte[] bytes = buffer.toByteArray();
+        if (buffer.capacity() > RETAINED_CAPACITY) {
+            BUFFERS.remove();
+        }
+        return bytes;
+    }
+
+    /**
+     * 创建摘要算法实例
+     *
+     * @return MD5 摘要实例
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 将字节数组转换为十六进制字符串
+     *
+     * @param bytes 字节数组
+     * @return 小写十六进制字符串
+     */
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 统计字节数并按需更新摘要的输出流，不保留写出的数据
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final MessageDigest digest;
+        private long count;
+
+        /**
+         * 构造函数
+         *
+         * @param digest 摘要实例，为 null 时只统计字节数
+         */
+        private CountingOutputStream(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+            if (digest != null) {
+                digest.update((byte) b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+            if (digest != null) {
+                digest.update(b, off, len);
+            }
+        }
+    }
+
+    /**
+     * 线程复用的响应缓冲区，按需倍增扩容，写满上限后抛出异常使序列化立即停止
+     */
+    private static final class ResponseBuffer extends OutputStream {
+
+        private byte[] buffer = new byte[INITIAL_CAPACITY];
+        private int size;
+        private int limit;
+
+        /**
+         * 清空缓冲区并设置本次写出的上限
+         *
+         * @param limit 保留的最大字节数
+         */
+        private void reset(int limit) {
+            this.size = 0;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (size == limit) {
+                throw new LimitReachedException();
+            }
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int n = Math.min(len, limit - size);
+            ensureCapacity(size + n);
+            System.arraycopy(b, off, buffer, size, n);
+            size += n;
+            if (n < len) {
+                throw new LimitReachedException();
+            }
+        }
+
+        /**
+         * 确保缓冲区容量不小于指定值
+         *
+         * @param required 需要的容量
+         */
+        private void ensureCapacity(int required) {
+            if (required > buffer.length) {
+                int capacity = (int) Math.min(Math.max((long) buffer.length << 1, required), Integer.MAX_VALUE - 8);
+                buffer = Arrays.copyOf(buffer, capacity);
+            }
+        }
+
+        /**
+         * 是否已写满上限
+         *
+         * @return 如果写满则返回 true
+         */
+        private boolean isFull() {
+            return size == limit;
+        }
+
+        /**
+         * 获取缓冲区容量
+         *
+         * @return 容量（字节）
+         */
+        private int capacity() {
+            return buffer.length;
+        }
+
+        /**
+         * 复制已写出的字节
+         *
+         * @return 已写出的字节
+         */
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * 截断模式写满的信号，不填充堆栈
+     */
+    private static final class LimitReachedException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 构造函数
+         */
+        private LimitReachedException() {
+            super("Response limit reached");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
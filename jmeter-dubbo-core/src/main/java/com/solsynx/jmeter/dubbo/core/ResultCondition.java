@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 结果断言条件
+ * 在泛化调用返回的对象上按 {@link ResultPath} 取值并判断条件，不经过 JSON 序列化；条件文本在编译时解析一次：
+ * <ul>
+ *     <li>空或 {@code exists}: 值存在（不为 null），{@code null}: 值为 null</li>
+ *     <li>{@code == v}、{@code != v}: 相等判断，v 为 JSON 字面量，不是合法 JSON 时按字符串处理；
+ *     数字按数值比较，Map 只比较期望中列出的键，不带运算符的文本等同于 {@code ==}</li>
+ *     <li>{@code > v}、{@code >= v}、{@code < v}、{@code <= v}: 数字按数值比较，字符串按字典序比较</li>
+ *     <li>{@code [a, b]}: 数值在闭区间内</li>
+ *     <li>{@code size <op> n}: Map、集合、数组或字符串的大小，op 为上述任一比较运算符，省略时为 {@code ==}</li>
+ *     <li>{@code contains v}: 集合或数组包含元素、Map 包含键、字符串包含子串</li>
+ *     <li>{@code matches regex}: 字符串形式匹配正则表达式</li>
+ * </ul>
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ResultCondition {
+
+    private static final String[] OPERATORS = {"==", "!=", ">=", "<=", ">", "<"};
+    private static final int MAX_ACTUAL_LENGTH = 200;
+
+    private enum Kind {
+        EXISTS, NULL, COMPARE, RANGE, SIZE, CONTAINS, MATCHES
+    }
+
+    private final ResultPath path;
+    private final String text;
+    private final Kind kind;
+    private final String operator;
+    private final Object expected;
+    private final Object upper;
+    private final Pattern pattern;
+
+    /**
+     * 私有构造函数，通过 {@link #compile(String, String)} 创建
+     *
+     * @param path     结果路径
+     * @param text     条件文本
+     * @param kind     条件类型
+     * @param operator 比较运算符
+     * @param expected 期望值，区间条件为下界
+     * @param upper    区间上界
+     * @param pattern  正则表达式
+     */
+    private ResultCondition(ResultPath path, String text, Kind kind, String operator, Object expected, Object upper,
+                            Pattern pattern) {
+        this.path = path;
+        this.text = text;
+        this.kind = kind;
+        this.operator = operator;
+        this.expected = expected;
+        this.upper = upper;
+        this.pattern = pattern;
+    }
+
+    /**
+     * 编译断言条件
+     *
+     * @param expression 结果路径表达式
+     * @param condition  条件文本
+     * @return 断言条件
+     * @throws IllegalArgumentException 路径或条件格式错误时
+     */
+    public static ResultCondition compile(String expression, String condition) {
+        ResultPath path = ResultPath.compile(expression);
+        String text = StringUtils.trimToEmpty(condition);
+        if (text.isEmpty() || "exists".equals(text)) {
+            return new ResultCondition(path, text, Kind.EXISTS, null, null, null, null);
+        }
+        if ("null".equals(text)) {
+            return new ResultCondition(path, text, Kind.NULL, null, null, null, null);
+        }
+        if (text.startsWith("matches ")) {
+            Pattern pattern = Pattern.compile(text.substring("matches ".length()).trim());
+            return new ResultCondition(path, text, Kind.MATCHES, null, null, null, pattern);
+        }
+        if (text.startsWith("contains ")) {
+            Object expected = literal(text.substring("contains ".length()));
+            return new ResultCondition(path, text, Kind.CONTAINS, null, expected, null, null);
+        }
+        if (text.startsWith("size")) {
+            String rest = text.substring("size".length()).trim();
+            String operator = operatorOf(rest);
+            Object expected = literal(operator == null ? rest : rest.substring(operator.length()));
+            if (!(expected instanceof Number)) {
+                throw new IllegalArgumentException("Size condition requires a number: " + condition);
+            }
+            return new ResultCondition(path, text, Kind.SIZE, operator == null ? "==" : operator,
+                                       decimal((Number) expected), null, null);
+        }
+        if (text.startsWith("[") && text.endsWith("]") && text.indexOf(',') > 0) {
+            String[] bounds = StringUtils.split(text.substring(1, text.length() - 1), ',');
+            Object lower = bounds.length == 2 ? literal(bounds[0]) : null;
+            Object upper = bounds.length == 2 ? literal(bounds[1]) : null;
+            if (!(lower instanceof Number) || !(upper instanceof Number)) {
+                throw new IllegalArgumentException("Range condition requires two numbers: " + condition);
+            }
+            return new ResultCondition(path, text, Kind.RANGE, null, decimal((Number) lower),
+                                       decimal((Number) upper), null);
+        }
+        String operator = operatorOf(text);
+        Object expected = literal(operator == null ? text : text.substring(operator.length()));
+        if (expected instanceof Number) {
+            expected = decimal((Number) expected);
+        }
+        return new ResultCondition(path, text, Kind.COMPARE, operator == null ? "==" : operator, expected, null, null);
+    }
+
+    /**
+     * 在返回值上判断条件
+     *
+     * @param root 返回值
+     * @return 条件成立时返回 null，否则返回失败原因
+     */
+    public String test(Object root) {
+        Object actual = path.extract(root);
+        boolean passed;
+        switch (kind) {
+            case EXISTS:
+                passed = actual != null;
+                break;
+            case NULL:
+                passed = actual == null;
+                break;
+            case MATCHES:
+                passed = actual != null && pattern.matcher(scalarText(actual)).matches();
+                break;
+            case CONTAINS:
+                passed = contains(actual, expected);
+                break;
+            case SIZE: {
+                int size = sizeOf(actual);
+                passed = size >= 0 && compare(BigDecimal.valueOf(size), (BigDecimal) expected, operator);
+                break;
+            }
+            case RANGE: {
+                BigDecimal value = actual instanceof Number ? decimal((Number) actual) : null;
+                passed = value != null && value.compareTo((BigDecimal) expected) >= 0
+                    && value.compareTo((BigDecimal) upper) <= 0;
+                break;
+            }
+            default:
+                passed = compare(actual, expected, operator);
+                break;
+        }
+        if (passed) {
+            return null;
+        }
+        return (path.toString().isEmpty() ? "$" : path.toString()) + " " + (text.isEmpty() ? "exists" : text)
+            + ": actual " + StringUtils.abbreviate(JMeterUtils.toString(actual), MAX_ACTUAL_LENGTH);
+    }
+
+    /**
+     * 按运算符比较实际值与期望值
+     *
+     * @param actual   实际值
+     * @param expected 期望值，数字已转换为 BigDecimal
+     * @param operator 比较运算符
+     * @return 比较成立时返回 true
+     */
+    private static boolean compare(Object actual, Object expected, String operator) {
+        if ("==".equals(operator)) {
+            return matches(actual, expected);
+        }
+        if ("!=".equals(operator)) {
+            return !matches(actual, expected);
+        }
+        int order;
+        if (actual instanceof Number && expected instanceof BigDecimal) {
+            order = decimal((Number) actual).compareTo((BigDecimal) expected);
+        } else if (actual instanceof String && expected instanceof String) {
+            order = ((String) actual).compareTo((String) expected);
+        } else {
+            return false;
+        }
+        switch (operator) {
+            case ">":
+                return order > 0;
+            case ">=":
+                return order >= 0;
+            case "<":
+                return order < 0;
+            default:
+                return order <= 0;
+        }
+    }
+
+    /**
+     * 判断实际值是否与期望值相等
+     * 数字按数值比较，字符串与枚举、字符等按字符串形式比较，List 与数组逐个元素比较，Map 只比较期望中列出的键
+     *
+     * @param actual   实际值
+     * @param expected 期望值
+     * @return 相等时返回 true
+     */
+    private static boolean matches(Object actual, Object expected) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        if (expected instanceof Number) {
+            return actual instanceof Number && decimal((Number) actual).compareTo(decimal((Number) expected)) == 0;
+        }
+        if (expected instanceof String) {
+            return expected.equals(scalarText(actual));
+        }
+        if (expected instanceof Map) {
+            if (!(actual instanceof Map)) {
+                return false;
+            }
+            Map<?, ?> actualMap = (Map<?, ?>) actual;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) expected).entrySet()) {
+                if (!matches(actualMap.get(entry.getKey()), entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected instanceof List) {
+            List<?> expectedList = (List<?>) expected;
+            if (sizeOf(actual) != expectedList.size() || actual instanceof Map || actual instanceof CharSequence) {
+                return false;
+            }
+            int index = 0;
+            for (Object element : elements(actual)) {
+                if (!matches(element, expectedList.get(index++))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return expected.equals(actual);
+    }
+
+    /**
+     * 判断实际值是否包含期望值
+     *
+     * @param actual   实际值
+     * @param expected 期望值
+     * @return 包含时返回 true
+     */
+    private static boolean contains(Object actual, Object expected) {
+        if (actual instanceof Map) {
+            return ((Map<?, ?>) actual).containsKey(expected == null ? null : String.valueOf(expected));
+        }
+        if (actual instanceof CharSequence) {
+            return expected != null && actual.toString().contains(scalarText(expected));
+        }
+        if (actual instanceof Collection || (actual != null && actual.getClass().isArray())) {
+            for (Object element : elements(actual)) {
+                if (matches(element, expected instanceof Number ? decimal((Number) expected) : expected)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取值的大小
+     *
+     * @param value 值
+     * @return Map、集合、数组或字符串的大小，其他类型返回 -1
+     */
+    private static int sizeOf(Object value) {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value != null && value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+        return -1;
+    }
+
+    /**
+     * 将集合或数组转换为可迭代对象
+     *
+     * @param value 集合或数组
+     * @return 可迭代的元素
+     */
+    private static Iterable<?> elements(Object value) {
+        if (value instanceof Iterable) {
+            return (Iterable<?>) value;
+        }
+        Object[] elements = new Object[Array.getLength(value)];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = Array.get(value, i);
+        }
+        return Arrays.asList(elements);
+    }
+
+    /**
+     * 获取标量值的字符串形式
+     *
+     * @param value 值
+     * @return 字符串形式
+     */
+    private static String scalarText(Object value) {
+        return value instanceof String ? (String) value : String.valueOf(value);
+    }
+
+    /**
+     * 将数字转换为 BigDecimal
+     *
+     * @param number 数字
+     * @return BigDecimal
+     */
+    private static BigDecimal decimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    /**
+     * 解析条件中的字面量
+     *
+     * @param text 字面量文本
+     * @return JSON 值，不是合法 JSON 时返回去除首尾空白的文本
+     */
+    private static Object literal(String text) {
+        String value = text.trim();
+        try {
+            return JMeterUtils.readJson(value);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    /**
+     * 获取条件文本开头的比较运算符
+     *
+     * @param text 条件文本
+     * @return 比较运算符，没有运算符时返回 null
+     */
+    private static String operatorOf(String text) {
+        for (String operator : OPERATORS) {
+            if (text.startsWith(operator)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取条件描述
+     *
+     * @return 路径与条件文本
+     */
+    @Override
+    public String toString() {
+        return path + " " + text;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 结果路径表达式
+ * 直接在泛化调用返回的 Map、List 和数组上取值，不经过 JSON 序列化和解析；
+ * 类型化、bean、nativejava 等方式返回的 Java 对象按属性取值，依次查找 getter、布尔属性的 is 方法和 public 字段，
+ * 查找结果按类缓存，类被卸载时随之释放；
+ * 支持 {@code data.items[0].id}、{@code [0].name} 和负数下标 {@code items[-1]}，
+ * 可选的 {@code $} 前缀表示返回值本身，空表达式同样表示返回值本身
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ResultPath {
+
+    /**
+     * 找不到属性时缓存的占位对象
+     */
+    private static final Object NO_ACCESSOR = new Object();
+    private static final ClassValue<ConcurrentMap<String, Object>> ACCESSORS =
+        new ClassValue<ConcurrentMap<String, Object>>() {
+            @Override
+            protected ConcurrentMap<String, Object> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    private final String expression;
+    /**
+     * 路径分段，String 为 Map 键，Integer 为下标
+     */
+    private final Object[] segments;
+
+    /**
+     * 私有构造函数，通过 {@link #compile(String)} 创建
+     *
+     * @param expression 路径表达式
+     * @param segments   路径分段
+     */
+    private ResultPath(String expression, Object[] segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    /**
+     * 编译路径表达式
+     *
+     * @param expression 路径表达式
+     * @return 结果路径
+     * @throws IllegalArgumentException 表达式格式错误时
+     */
+    public static ResultPath compile(String expression) {
+        String text = StringUtils.trimToEmpty(expression);
+        int index = 0;
+        if (text.startsWith("$")) {
+            index = 1;
+        }
+        List<Object> segments = new ArrayList<>();
+        while (index < text.length()) {
+            char c = text.charAt(index);
+            if (c == '.') {
+                index++;
+            } else if (c == '[') {
+                int end = text.indexOf(']', index);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in result path: " + expression);
+                }
+                String value = text.substring(index + 1, end).trim();
+                try {
+                    segments.add(Integer.valueOf(value));
+                } catch (NumberFormatException e) {
+                    // 引号包裹的键，支持包含点号的 Map 键
+                    segments.add(StringUtils.unwrap(StringUtils.unwrap(value, '\''), '"'));
+                }
+                index = end + 1;
+            } else {
+                int end = index;
+                while (end < text.length() && text.charAt(end) != '.' && text.charAt(end) != '[') {
+                    end++;
+                }
+                segments.add(text.substring(index, end).trim());
+                index = end;
+            }
+        }
+        return new ResultPath(text, segments.toArray());
+    }
+
+    /**
+     * 从返回值中取值
+     *
+     * @param root 返回值
+     * @return 路径对应的值，路径不存在时返回 null
+     */
+    public Object extract(Object root) {
+        Object current = root;
+        for (Object segment : segments) {
+            if (current == null) {
+                return null;
+            }
+            current = segment instanceof Integer ? element(current, (Integer) segment) : field(current, (String) segment);
+        }
+        return current;
+    }
+
+    /**
+     * 获取 Map 中的值或 Java 对象的属性
+     *
+     * @param value 当前值
+     * @param key   键或属性名
+     * @return 键或属性对应的值，不存在时返回 null
+     */
+    private static Object field(Object value, String key) {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).get(key);
+        }
+        Class<?> type = value.getClass();
+        Object accessor = ACCESSORS.get(type).computeIfAbsent(key, k -> accessorOf(type, k));
+        try {
+            if (accessor instanceof Method) {
+                return ((Method) accessor).invoke(value);
+            }
+            if (accessor instanceof Field) {
+                return ((Field) accessor).get(value);
+            }
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * 查找 Java 对象的属性访问方式
+     * JDK 自带的类型（字符串、数值、集合等）不按属性取值
+     *
+     * @param type 对象的类
+     * @param key  属性名
+     * @return getter 方法或 public 字段，找不到时返回 {@link #NO_ACCESSOR}
+     */
+    private static Object accessorOf(Class<?> type, String key) {
+        if (key.isEmpty() || type.isArray() || type.getName().startsWith("java.")) {
+            return NO_ACCESSOR;
+        }
+        String suffix = Character.toUpperCase(key.charAt(0)) + key.substring(1);
+        Method method = getter(type, "get" + suffix);
+        if (method == null) {
+            method = getter(type, "is" + suffix);
+            if (method != null && method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class) {
+                method = null;
+            }
+        }
+        if (method != null) {
+            return accessible(method);
+        }
+        try {
+            return accessible(type.getField(key));
+        } catch (NoSuchFieldException e) {
+            return NO_ACCESSOR;
+        }
+    }
+
+    /**
+     * 查找无参数、有返回值的 public 方法
+     *
+     * @param type 对象的类
+     * @param name 方法名
+     * @return 方法，不存在时返回 null
+     */
+    private static Method getter(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            return method.getReturnType() == void.class ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 尽量允许访问非 public 类中的 public 成员，例如内部类的 getter
+     *
+     * @param member 方法或字段
+     * @param <T>    成员类型
+     * @return 成员本身
+     */
+    private static <T extends AccessibleObject> T accessible(T member) {
+        try {
+            member.setAccessible(true);
+        } catch (RuntimeException e) {
+            // 模块限制时保持原样，public 类的成员仍可访问
+        }
+        return member;
+    }
+
+    /**
+     * 获取 List 或数组中的元素
+     *
+     * @param value 当前值
+     * @param index 下标，负数表示从末尾倒数
+     * @return 下标对应的元素，越界或当前值不是 List 或数组时返回 null
+     */
+    private static Object element(Object value, int index) {
+        int size;
+        if (value instanceof List) {
+            size = ((List<?>) value).size();
+        } else if (value.getClass().isArray()) {
+            size = Array.getLength(value);
+        } else {
+            return null;
+        }
+        int position = index < 0 ? size + index : index;
+        if (position < 0 || position >= size) {
+            return null;
+        }
+        return value instanceof List ? ((List<?>) value).get(position) : Array.get(value, position);
+    }
+
+    /**
+     * 获取路径表达式
+     *
+     * @return 路径表达式
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.ScenarioStepPlan;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.threads.JMeterVariables;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 场景执行器
+ * 在一次采样中依次执行场景的各个步骤，每个步骤作为子结果上报并保留各自的耗时；
+ * 步骤返回后直接从调用返回的原始对象中提取变量供后续步骤引用，任一步骤失败时终止场景；
+ * 提取失败的步骤响应码为 {@link FailureClassifier#ASSERTION}，并与调用失败一样记录到 {@link FailureLog}
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class ScenarioExecutor {
+
+    private static final String STEP_SEPARATOR = " -> ";
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ScenarioExecutor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 执行场景
+     *
+     * @param label     场景标签
+     * @param steps     场景步骤调用计划
+     * @param variables JMeter 变量，提取到的标量值同时写入，可以为 null
+     * @return 场景采样结果，子结果为各步骤的采样结果
+     */
+    public static SampleResult execute(String label, List<ScenarioStepPlan> steps, JMeterVariables variables) {
+        SampleResult parent = new SampleResult();
+        parent.setSampleLabel(label);
+        parent.setDataType(SampleResult.TEXT);
+        Map<String, Object> values = new HashMap<>();
+        StringBuilder samplerData = new StringBuilder();
+        DubboSampleResult last = null;
+        long bytes = 0;
+        long sentBytes = 0;
+
+        parent.sampleStart();
+        for (ScenarioStepPlan step : steps) {
+            last = executeStep(step, values, variables);
+            parent.addRawSubResult(last);
+            bytes += last.getBytesAsLong();
+            sentBytes += last.getSentBytes();
+            if (samplerData.length() > 0) {
+                samplerData.append(STEP_SEPARATOR);
+            }
+            samplerData.append(last.getSampleLabel());
+            if (!last.isSuccessful()) {
+                break;
+            }
+        }
+        parent.sampleEnd();
+
+        parent.setSamplerData(samplerData.toString());
+        parent.setBytes(bytes);
+        parent.setSentBytes(sentBytes);
+        if (last == null) {
+            parent.setSuccessful(true);
+            parent.setResponseCodeOK();
+            parent.setResponseMessageOK();
+        } else {
+            parent.setSuccessful(last.isSuccessful());
+            parent.setResponseCode(last.getResponseCode());
+            parent.setResponseMessage(last.isSuccessful() ? last.getResponseMessage()
+                                          : last.getSampleLabel() + ": " + last.getResponseMessage());
+            parent.setResponseData(last.getResponseData());
+        }
+        return parent;
+    }
+
+    /**
+     * 执行单个步骤并提取变量
+     *
+     * @param step      场景步骤调用计划
+     * @param values    已提取的变量
+     * @param variables JMeter 变量，可以为 null
+     * @return 步骤采样结果
+     */
+    private static DubboSampleResult executeStep(ScenarioStepPlan step, Map<String, Object> values,
+                                                 JMeterVariables variables) {
+        Object[] arguments;
+        try {
+            arguments = step.resolveArguments(values);
+        } catch (RuntimeException e) {
+            // 引用了未提取的变量、数据文件已读完或参数转换失败
+            DubboSampleResult result = GenericDubbo.initializeResult(step.getPlan().getContext());
+            result.sampleStart();
+            GenericDubbo.handleException(e, result, FailureClassifier.CLIENT);
+            result.sampleEnd();
+            result.setResponseMessage(e.getMessage());
+            return result;
+        }
+
+        DubboSampleResult result = GenericDubbo.execute(step.getPlan(), arguments);
+        Object returnValue = result.getReturnValue();
+        // 原始对象只用于提取，不随结果保留在监听器中
+        result.setReturnValue(null);
+        if (!result.isSuccessful()) {
+            return result;
+        }
+
+        String[] names = step.getVariables();
+        ResultPath[] paths = step.getPaths();
+        for (int i = 0; i < names.length; i++) {
+            Object value = paths[i].extract(returnValue);
+            if (value == null) {
+                GenericDubbo.handleException(new IllegalStateException("No value at '" + paths[i] + "' for " + names[i]),
+                                             result, FailureClassifier.ASSERTION);
+                return result;
+            }
+            values.put(names[i], value);
+            if (variables != null && isScalar(value)) {
+                variables.put(names[i], value.toString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 是否为可直接写入 JMeter 变量的标量值
+     *
+     * @param value 提取到的值
+     * @return 如果为字符串、数值、布尔或字符则返回 true
+     */
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence || value instanceof Number
+            || value instanceof Boolean || value instanceof Character;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 测试生命周期
+ * 统计、引用缓存、参数数据源等全局状态由所有采样器共享，测试计划中每个采样器都会收到测试开始和结束通知；
+ * 采样器在通知中登记和注销，第一个采样器开始时清空全局状态，最后一个采样器结束时输出统计并释放引用，
+ * 避免统计被重复输出，或者仍有采样器使用的引用被提前释放
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class TestLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TestLifecycle.class);
+
+    private static int active;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private TestLifecycle() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 采样器收到测试开始通知时登记，第一个登记的采样器清空上一次测试遗留的全局状态
+     */
+    public static synchronized void begin() {
+        if (active++ == 0) {
+            ProviderStatistics.reset();
+            HedgeStatistics.reset();
+            ConversionStatistics.reset();
+            FailureLog.reset();
+            AvailabilityGate.reset();
+            DataFeeder.reset();
+            JsonTemplate.reset();
+            KeyDistribution.reset();
+        }
+    }
+
+    /**
+     * 采样器收到测试结束通知时注销，最后一个注销的采样器输出统计，释放所有缓存的引用、参数数据源和负载池后输出可用性统计
+     */
+    public static synchronized void end() {
+        if (active == 0 || --active > 0) {
+            return;
+        }
+        String report = ProviderStatistics.report();
+        if (report != null) {
+            log.info("Provider statistics:\n{}", report);
+        }
+        report = HedgeStatistics.report();
+        if (report != null) {
+            log.info("Retry and hedge statistics:\n{}", report);
+        }
+        report = ConversionStatistics.report();
+        if (report != null) {
+            log.info("Conversion statistics:\n{}", report);
+        }
+        report = FailureLog.report();
+        if (report != null) {
+            log.info("Failure summary:\n{}", report);
+        }
+        ReferenceWarmUp.reset();
+        VirtualThreadInvoker.reset();
+        DataFeeder.reset();
+        PayloadPool.reset();
+        MethodSignatures.reset();
+        GenericDubbo.releaseServices();
+        // 引用销毁后才能计入仍未恢复的不可用区间
+        report = AvailabilityGate.report();
+        if (report != null) {
+            log.info("Availability statistics:\n{}", report);
+        }
+        ApiClassLoader.reset();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.dubbo.common.utils.PojoUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * 类型化调用的方法
+ * 按接口、方法名和参数类型绑定服务接口的真实方法，并将泛化形式的参数值（Map、List 等）还原为真实的参数类型；
+ * 不含模板和数据文件的参数在绑定时只还原一次，之后每次调用直接复用，调用时不再经过泛化转换
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class TypedMethod {
+
+    private final Method method;
+    private final Class<?>[] parameterClasses;
+    private final Type[] genericParameterTypes;
+    private final ClassLoader classLoader;
+    private final Object[] staticArguments;
+    private final Object[] boundArguments;
+
+    /**
+     * 私有构造函数，通过 {@link #bind(String, String, String[], Object[])} 创建
+     *
+     * @param method          接口方法
+     * @param staticArguments 计划中共享的参数值数组，参数值每次调用都会变化时为 null
+     */
+    private TypedMethod(Method method, Object[] staticArguments) {
+        this.method = method;
+        this.parameterClasses = method.getParameterTypes();
+        this.genericParameterTypes = method.getGenericParameterTypes();
+        this.classLoader = ApiClassLoader.getClassLoader(method.getDeclaringClass());
+        this.staticArguments = staticArguments;
+        this.boundArguments = staticArguments == null
+            ? null : PojoUtils.realize(staticArguments, parameterClasses, genericParameterTypes);
+    }
+
+    /**
+     * 绑定服务接口的方法
+     *
+     * @param interfaceName   接口全限定名
+     * @param methodName      方法名
+     * @param parameterTypes  参数类型
+     * @param staticArguments 计划中共享的参数值数组，参数值每次调用都会变化时为 null
+     * @return 类型化调用的方法
+     * @throws ClassNotFoundException 找不到接口或参数类型时
+     * @throws NoSuchMethodException  接口中没有匹配的方法时
+     */
+    public static TypedMethod bind(String interfaceName, String methodName, String[] parameterTypes,
+                                   Object[] staticArguments) throws ClassNotFoundException, NoSuchMethodException {
+        Class<?>[] classes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = ApiClassLoader.forName(parameterTypes[i]);
+        }
+        Method method = ApiClassLoader.forName(interfaceName).getMethod(methodName, classes);
+        return new TypedMethod(method, staticArguments);
+    }
+
+    /**
+     * 将泛化形式的参数值还原为真实的参数类型
+     *
+     * @param arguments 泛化形式的参数值，与绑定时的参数值数组相同时直接返回已还原的参数
+     * @return 还原后的参数值
+     */
+    public Object[] realize(Object[] arguments) {
+        if (arguments == staticArguments) {
+            return boundArguments;
+        }
+        return PojoUtils.realize(arguments, parameterClasses, genericParameterTypes);
+    }
+
+    /**
+     * 调用服务接口的方法
+     * 调用期间将线程上下文类加载器切换为接口的类加载器，反序列化响应时可以找到 API 包中的类
+     *
+     * @param proxy     服务接口代理
+     * @param arguments 已还原为真实参数类型的参数值
+     * @return 调用结果
+     * @throws Exception 调用抛出的原始异常
+     * @see #realize(Object[])
+     */
+    public Object invoke(Object proxy, Object[] arguments) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return method.invoke(proxy, arguments);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (Exception) cause;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * 获取接口方法
+     *
+     * @return 接口方法
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * 获取服务接口的类加载器
+     *
+     * @return 类加载器
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 虚拟线程调用
+ * 将阻塞的 {@code $invoke} 调用转移到虚拟线程上执行，采样线程只负责发出和收集结果，
+ * 大量并发消费者不再各自占用一个平台线程栈；所有线程共享一个并发上限，达到上限时发出调用的线程阻塞等待
+ * <p>
+ * 参数在采样线程上填充，{@link PayloadPool} 的预生成负载照常复用；响应写入在虚拟线程上完成，
+ * 每次调用都使用新的虚拟线程，{@link ResponseWriter} 按线程缓存的缓冲区和摘要无法跨调用复用，
+ * 每次调用都会重新分配，大响应时建议使用 {@code size-only}/{@code discard} 响应模式
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class VirtualThreadInvoker {
+
+    /**
+     * 虚拟线程并发上限的 JMeter 属性名
+     */
+    public static final String CONCURRENCY_PROPERTY = "dubbo.virtual.concurrency";
+    private static final int DEFAULT_CONCURRENCY = 50000;
+
+    private static ExecutorService executor;
+    private static Semaphore permits;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private VirtualThreadInvoker() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     *
+     * @return 如果支持则返回 true
+     */
+    public static boolean isSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * 在虚拟线程上执行一次同步调用
+     * 返回的 Future 总是正常完成，调用失败记录为失败的采样结果
+     *
+     * @param plan 调用计划
+     * @return 完成时得到采样结果的 CompletableFuture
+     */
+    public static CompletableFuture<DubboSampleResult> execute(InvocationPlan plan) {
+        ExecutorService current;
+        Semaphore semaphore;
+        synchronized (VirtualThreadInvoker.class) {
+            if (executor == null) {
+                executor = VirtualThreads.newExecutor("DubboVirtual");
+                permits = new Semaphore(Math.max(1, org.apache.jmeter.util.JMeterUtils.getPropDefault(
+                    CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY)));
+            }
+            current = executor;
+            semaphore = permits;
+        }
+        // 参数模板依赖采样线程的 JMeter 变量，在提交前填充
+        Object[] arguments;
+        try {
+            arguments = plan.resolveArguments();
+        } catch (RuntimeException e) {
+            DubboSampleResult result = GenericDubbo.initializeResult(plan.getContext());
+            GenericDubbo.handleException(e, result);
+            result.setTiming(System.currentTimeMillis(), 0);
+            return CompletableFuture.completedFuture(result);
+        }
+        // 调用均有超时，许可总会在有限时间内释放
+        semaphore.acquireUninterruptibly();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return GenericDubbo.execute(plan, arguments);
+                } finally {
+                    semaphore.release();
+                }
+            }, current);
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭虚拟线程执行器，下次调用时重新创建
+     */
+    public static synchronized void reset() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+            permits = null;
+        }
+    }
+}
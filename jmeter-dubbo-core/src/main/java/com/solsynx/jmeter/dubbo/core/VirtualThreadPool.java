@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.threadpool.ThreadPool;
+import org.apache.dubbo.common.threadpool.support.cached.CachedThreadPool;
+
+import java.util.concurrent.Executor;
+
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_THREAD_NAME;
+import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
+
+/**
+ * 虚拟线程池扩展
+ * 以 Dubbo SPI 名称 {@value #NAME} 注册，引用参数 threadpool=virtual 时消费端回调和响应处理在虚拟线程上执行；
+ * 运行时不支持虚拟线程时退化为 Dubbo 默认的 cached 线程池
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    /**
+     * 扩展名称
+     */
+    public static final String NAME = "virtual";
+
+    /**
+     * 创建线程池
+     *
+     * @param url Dubbo URL
+     * @return 执行器
+     */
+    @Override
+    public Executor getExecutor(URL url) {
+        if (!VirtualThreads.isSupported()) {
+            return new CachedThreadPool().getExecutor(url);
+        }
+        return VirtualThreads.newExecutor(url.getParameter(THREAD_NAME_KEY, DEFAULT_THREAD_NAME));
+    }
+}
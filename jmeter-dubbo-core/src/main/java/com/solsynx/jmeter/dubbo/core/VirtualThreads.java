@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程支持
+ * Java 8 基础实现，始终不支持虚拟线程；多版本 jar 在 JDK 21 及以上运行时由 META-INF/versions/21 下的同名类替换
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public final class VirtualThreads {
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private VirtualThreads() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     *
+     * @return 如果支持则返回 true
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器
+     *
+     * @param name 线程名前缀
+     * @return 执行器
+     * @throws UnsupportedOperationException 当前运行时不支持虚拟线程
+     */
+    public static ExecutorService newExecutor(String name) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+}
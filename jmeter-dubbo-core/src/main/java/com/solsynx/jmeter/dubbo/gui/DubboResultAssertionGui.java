@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.gui;
+
+import com.solsynx.jmeter.dubbo.assertion.DubboResultAssertion;
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.jmeter.assertions.gui.AbstractAssertionGui;
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.config.gui.ArgumentsPanel;
+import org.apache.jmeter.testelement.TestElement;
+
+import java.awt.*;
+
+/**
+ * DubboResultAssertion 的 GUI 类
+ * 规则表格的名称列为结果路径，值列为条件
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public class DubboResultAssertionGui extends AbstractAssertionGui {
+
+    private ArgumentsPanel rulesPanel;
+
+    /**
+     * 构造函数，创建一个新的 DubboResultAssertionGui 实例
+     */
+    public DubboResultAssertionGui() {
+        init();
+    }
+
+    /**
+     * 获取静态标签
+     * @return 静态标签字符串
+     */
+    @Override
+    public String getStaticLabel() {
+        return JMeterUtils.getResString("resultAssertion.displayName");
+    }
+
+    /**
+     * 获取标签资源键
+     * @return 标签资源键
+     */
+    @Override
+    public String getLabelResource() {
+        return "resultAssertion.displayName";
+    }
+
+    /**
+     * 创建测试元素
+     * @return 创建的测试元素
+     */
+    @Override
+    public TestElement createTestElement() {
+        DubboResultAssertion assertion = new DubboResultAssertion();
+        modifyTestElement(assertion);
+        return assertion;
+    }
+
+    /**
+     * 修改测试元素
+     * @param element 要修改的测试元素
+     */
+    @Override
+    public void modifyTestElement(TestElement element) {
+        configureTestElement(element);
+        if (element instanceof DubboResultAssertion) {
+            Arguments rules = new Arguments();
+            rulesPanel.modifyTestElement(rules);
+            ((DubboResultAssertion) element).setRules(rules);
+        }
+    }
+
+    /**
+     * 配置 GUI 组件
+     * @param element 要配置的测试元素
+     */
+    @Override
+    public void configure(TestElement element) {
+        super.configure(element);
+        if (element instanceof DubboResultAssertion) {
+            rulesPanel.configure(((DubboResultAssertion) element).getRules());
+        }
+    }
+
+    /**
+     * 清空 GUI 组件
+     */
+    @Override
+    public void clearGui() {
+        super.clearGui();
+        rulesPanel.clearGui();
+    }
+
+    /**
+     * 初始化 GUI 组件
+     */
+    private void init() {
+        setLayout(new BorderLayout());
+        setBorder(makeBorder());
+
+        add(makeTitlePanel(), BorderLayout.NORTH);
+
+        rulesPanel = new ArgumentsPanel(JMeterUtils.getResString("assertionRules.displayName"), null, true, false,
+                                        null,
+                                        false, null);
+        add(rulesPanel, BorderLayout.CENTER);
+    }
+}
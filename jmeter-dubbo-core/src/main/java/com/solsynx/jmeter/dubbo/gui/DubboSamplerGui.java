@@ -46,6 +46,27 @@ import java.awt.event.ItemListener;
  */
 public class DubboSamplerGui extends AbstractSamplerGui implements ActionListener, ItemListener {
 
+    /**
+     * Dubbo 内置的负载均衡策略
+     */
+    private static final String[] LOAD_BALANCES = {
+        "random", "roundrobin", "leastactive", "shortestresponse", "consistenthash"
+    };
+
+    /**
+     * 泛化调用方式，bean 与 nativejava 需要服务 API 包
+     */
+    private static final String[] GENERIC_MODES = {
+        "true", "raw.return", "bean", "nativejava", "protobuf-json"
+    };
+
+    /**
+     * 响应模式，按压测机开销从高到低排列
+     */
+    static final String[] RESPONSE_MODES = {
+        "full", "truncated", "hash", "size-only", "discard"
+    };
+
     // Registry configuration fields
     private JLabeledChoice registryTypeChoice;
     private JLabeledTextField registryAddressField;
@@ -60,6 +81,32 @@ public class DubboSamplerGui extends AbstractSamplerGui implements ActionListene
     private JLabeledTextField interfaceNameField;
     private JLabeledTextField methodNameField;
     private JLabeledTextField serviceTimeoutField;
+    private JLabeledChoice loadBalanceChoice;
+    private JLabeledTextField hashArgumentsField;
+    private JLabeledTextField hashNodesField;
+    private JCheckBox stickyCheckBox;
+    private JCheckBox providerStatisticsCheckBox;
+    private JCheckBox typedCheckBox;
+    private JLabeledChoice genericChoice;
+
+    // Execution configuration fields
+    private JCheckBox warmupEnabledCheckBox;
+    private JCheckBox resolveSignatureCheckBox;
+    private JLabeledTextField warmupEchoCountField;
+    private JLabeledTextField warmupTimeoutField;
+    private JLabeledChoice invokeModeChoice;
+    private JLabeledTextField pipelineDepthField;
+    private JLabeledTextField loadProfileField;
+    private JLabeledTextField batchSizeField;
+    private JCheckBox batchConcurrentCheckBox;
+    private JCheckBox batchSubResultsCheckBox;
+    private JLabeledTextField retriesField;
+    private JLabeledTextField retryBackoffField;
+    private JLabeledTextField hedgeDelayField;
+    private JLabeledTextField feederFileField;
+    private JCheckBox feederRecycleCheckBox;
+    private JLabeledChoice responseModeChoice;
+    private JLabeledTextField responseLimitField;
 
     // Attachment panel
     private ArgumentsPanel attachmentPanel;
@@ -130,6 +177,32 @@ public class DubboSamplerGui extends AbstractSamplerGui implements ActionListene
             sampler.setInterfaceName(interfaceNameField.getText());
             sampler.setMethodName(methodNameField.getText());
             sampler.setServiceTimeout(serviceTimeoutField.getText());
+            sampler.setLoadBalance(loadBalanceChoice.getText());
+            sampler.setHashArguments(hashArgumentsField.getText());
+            sampler.setHashNodes(hashNodesField.getText());
+            sampler.setSticky(stickyCheckBox.isSelected());
+            sampler.setProviderStatistics(providerStatisticsCheckBox.isSelected());
+            sampler.setTyped(typedCheckBox.isSelected());
+            sampler.setGeneric(genericChoice.getText());
+
+            // Execution configuration
+            sampler.setWarmupEnabled(warmupEnabledCheckBox.isSelected());
+            sampler.setResolveSignature(resolveSignatureCheckBox.isSelected());
+            sampler.setWarmupEchoCount(warmupEchoCountField.getText());
+            sampler.setWarmupTimeout(warmupTimeoutField.getText());
+            sampler.setInvokeMode(invokeModeChoice.getText());
+            sampler.setPipelineDepth(pipelineDepthField.getText());
+            sampler.setLoadProfile(loadProfileField.getText());
+            sampler.setBatchSize(batchSizeField.getText());
+            sampler.setBatchConcurrent(batchConcurrentCheckBox.isSelected());
+            sampler.setBatchSubResults(batchSubResultsCheckBox.isSelected());
+            sampler.setRetries(retriesField.getText());
+            sampler.setRetryBackoff(retryBackoffField.getText());
+            sampler.setHedgeDelay(hedgeDelayField.getText());
+            sampler.setFeederFile(feederFileField.getText());
+            sampler.setResponseMode(responseModeChoice.getText());
+            sampler.setResponseLimit(responseLimitField.getText());
+            sampler.setFeederRecycle(feederRecycleCheckBox.isSelected());
 
             // Attachment configuration
             attachmentPanel.modifyTestElement(attachments);
@@ -165,6 +238,32 @@ public class DubboSamplerGui extends AbstractSamplerGui implements ActionListene
             interfaceNameField.setText(sampler.getInterfaceName());
             methodNameField.setText(sampler.getMethodName());
             serviceTimeoutField.setText(sampler.getServiceTimeout());
+            loadBalanceChoice.setText(sampler.getLoadBalance());
+            hashArgumentsField.setText(sampler.getHashArguments());
+            hashNodesField.setText(sampler.getHashNodes());
+            stickyCheckBox.setSelected(sampler.isSticky());
+            providerStatisticsCheckBox.setSelected(sampler.isProviderStatistics());
+            typedCheckBox.setSelected(sampler.isTyped());
+            genericChoice.setText(sampler.getGeneric());
+
+            // Execution configuration
+            warmupEnabledCheckBox.setSelected(sampler.isWarmupEnabled());
+            resolveSignatureCheckBox.setSelected(sampler.isResolveSignature());
+            warmupEchoCountField.setText(sampler.getWarmupEchoCount());
+            warmupTimeoutField.setText(sampler.getWarmupTimeout());
+            invokeModeChoice.setText(sampler.getInvokeMode());
+            pipelineDepthField.setText(sampler.getPipelineDepth());
+            loadProfileField.setText(sampler.getLoadProfile());
+            batchSizeField.setText(sampler.getBatchSize());
+            batchConcurrentCheckBox.setSelected(sampler.isBatchConcurrent());
+            batchSubResultsCheckBox.setSelected(sampler.isBatchSubResults());
+            retriesField.setText(sampler.getRetries());
+            retryBackoffField.setText(sampler.getRetryBackoff());
+            hedgeDelayField.setText(sampler.getHedgeDelay());
+            feederFileField.setText(sampler.getFeederFile());
+            responseModeChoice.setText(sampler.getResponseMode());
+            responseLimitField.setText(sampler.getResponseLimit());
+            feederRecycleCheckBox.setSelected(sampler.isFeederRecycle());
 
             // Attachment configuration
             Arguments args = sampler.getAttachment();
@@ -206,6 +305,32 @@ public class DubboSamplerGui extends AbstractSamplerGui implements ActionListene
         interfaceNameField.setText("");
         methodNameField.setText("");
         serviceTimeoutField.setText("1000");
+        loadBalanceChoice.setText(LOAD_BALANCES[0]);
+        hashArgumentsField.setText("");
+        hashNodesField.setText("");
+        stickyCheckBox.setSelected(false);
+        providerStatisticsCheckBox.setSelected(false);
+        typedCheckBox.setSelected(false);
+        genericChoice.setText(GENERIC_MODES[0]);
+
+        // Execution configuration defaults
+        warmupEnabledCheckBox.setSelected(true);
+        resolveSignatureCheckBox.setSelected(true);
+        warmupEchoCountField.setText("0");
+        warmupTimeoutField.setText("10000");
+        invokeModeChoice.setText(DubboSampler.INVOKE_MODE_SYNC);
+        pipelineDepthField.setText("1");
+        loadProfileField.setText("");
+        batchSizeField.setText("1");
+        batchConcurrentCheckBox.setSelected(false);
+        batchSubResultsCheckBox.setSelected(false);
+        retriesField.setText("0");
+        retryBackoffField.setText("100");
+        hedgeDelayField.setText("");
+        feederFileField.setText("");
+        responseModeChoice.setText(RESPONSE_MODES[0]);
+        responseLimitField.setText("1024");
+        feederRecycleCheckBox.setSelected(true);
 
         // Attachment configuration defaults
         attachmentPanel.clearGui();
@@ -245,6 +370,7 @@ public class DubboSamplerGui extends AbstractSamplerGui implements ActionListene
         JPanel mainPanel = new VerticalPanel();
         mainPanel.add(createRegistryConfigPanel());
         mainPanel.add(createServiceConfigPanel());
+        mainPanel.add(createExecutionConfigPanel());
         mainPanel.add(createParametersPanel());
         mainPanel.add(createAttachmentPanel());
 
@@ -315,11 +441,109 @@ public class DubboSamplerGui extends AbstractSamplerGui implements ActionListene
         // Add an empty space component to fill the remaining 1/3
 
         directUrlField = JMeterUtils.createJLabeledTextField("directUrl.displayName", 60);
+        typedCheckBox = new JCheckBox(JMeterUtils.getResString("typed.displayName"));
+        genericChoice = new JLabeledChoice(JMeterUtils.getResString("generic.displayName"), GENERIC_MODES);
         urlPanel.add(directUrlField);
+        urlPanel.add(genericChoice);
+        urlPanel.add(typedCheckBox);
+
+        // Load balance row: strategy, consistent-hash settings, sticky and statistics
+        JPanel loadBalancePanel = new HorizontalPanel();
+        loadBalanceChoice = new JLabeledChoice(JMeterUtils.getResString("loadBalance.displayName"), LOAD_BALANCES);
+        hashArgumentsField = JMeterUtils.createJLabeledTextField("hashArguments.displayName", 8);
+        hashNodesField = JMeterUtils.createJLabeledTextField("hashNodes.displayName", 8);
+        stickyCheckBox = new JCheckBox(JMeterUtils.getResString("sticky.displayName"));
+        providerStatisticsCheckBox = new JCheckBox(JMeterUtils.getResString("providerStatistics.displayName"));
+
+        loadBalancePanel.add(loadBalanceChoice);
+        loadBalancePanel.add(hashArgumentsField);
+        loadBalancePanel.add(hashNodesField);
+        loadBalancePanel.add(stickyCheckBox);
+        loadBalancePanel.add(providerStatisticsCheckBox);
 
         panel.add(interfacePanel);
         panel.add(urlPanel);
+        panel.add(loadBalancePanel);
+
+        return panel;
+    }
 
+    /**
+     * 创建执行配置面板
+     * @return 执行配置面板
+     */
+    private JPanel createExecutionConfigPanel() {
+        JPanel panel = new VerticalPanel();
+        panel.setBorder(BorderFactory.createTitledBorder(JMeterUtils.getResString("execution_config")));
+
+        // Warm-up row: enabled, echo count, timeout and signature resolution
+        JPanel warmupPanel = new HorizontalPanel();
+        warmupEnabledCheckBox = new JCheckBox(JMeterUtils.getResString("warmupEnabled.displayName"));
+        warmupEchoCountField = JMeterUtils.createJLabeledTextField("warmupEchoCount.displayName", 8);
+        warmupTimeoutField = JMeterUtils.createJLabeledTextField("warmupTimeout.displayName", 8);
+        resolveSignatureCheckBox = new JCheckBox(JMeterUtils.getResString("resolveSignature.displayName"));
+
+        warmupPanel.add(warmupEnabledCheckBox);
+        warmupPanel.add(warmupEchoCountField);
+        warmupPanel.add(warmupTimeoutField);
+        warmupPanel.add(resolveSignatureCheckBox);
+
+        // Invocation row: invoke mode, pipeline depth and load profile
+        JPanel invokePanel = new HorizontalPanel();
+        invokeModeChoice = new JLabeledChoice(JMeterUtils.getResString("invokeMode.displayName"),
+                                              new String[]{DubboSampler.INVOKE_MODE_SYNC, DubboSampler.INVOKE_MODE_ASYNC,
+                                                  DubboSampler.INVOKE_MODE_RATE, DubboSampler.INVOKE_MODE_BATCH,
+                                                  DubboSampler.INVOKE_MODE_VIRTUAL, DubboSampler.INVOKE_MODE_FANOUT,
+                                                  DubboSampler.INVOKE_MODE_HEDGE});
+        pipelineDepthField = JMeterUtils.createJLabeledTextField("pipelineDepth.displayName", 8);
+        loadProfileField = JMeterUtils.createJLabeledTextField("loadProfile.displayName", 40);
+
+        invokePanel.add(invokeModeChoice);
+        invokePanel.add(pipelineDepthField);
+        invokePanel.add(loadProfileField);
+
+        // Batch row: batch size, concurrent and sub-results
+        JPanel batchPanel = new HorizontalPanel();
+        batchSizeField = JMeterUtils.createJLabeledTextField("batchSize.displayName", 8);
+        batchConcurrentCheckBox = new JCheckBox(JMeterUtils.getResString("batchConcurrent.displayName"));
+        batchSubResultsCheckBox = new JCheckBox(JMeterUtils.getResString("batchSubResults.displayName"));
+
+        batchPanel.add(batchSizeField);
+        batchPanel.add(batchConcurrentCheckBox);
+        batchPanel.add(batchSubResultsCheckBox);
+
+        // Hedge row: retries, retry backoff and hedge delay
+        JPanel hedgePanel = new HorizontalPanel();
+        retriesField = JMeterUtils.createJLabeledTextField("retries.displayName", 8);
+        retryBackoffField = JMeterUtils.createJLabeledTextField("retryBackoff.displayName", 8);
+        hedgeDelayField = JMeterUtils.createJLabeledTextField("hedgeDelay.displayName", 8);
+
+        hedgePanel.add(retriesField);
+        hedgePanel.add(retryBackoffField);
+        hedgePanel.add(hedgeDelayField);
+
+        // Feeder row: data file and recycle on EOF
+        JPanel feederPanel = new HorizontalPanel();
+        feederFileField = JMeterUtils.createJLabeledTextField("feederFile.displayName", 40);
+        feederRecycleCheckBox = new JCheckBox(JMeterUtils.getResString("feederRecycle.displayName"));
+
+        feederPanel.add(feederFileField);
+        feederPanel.add(feederRecycleCheckBox);
+
+        // Response row: how the returned object is written into the result
+        JPanel responsePanel = new HorizontalPanel();
+        responseModeChoice = new JLabeledChoice(JMeterUtils.getResString("responseMode.displayName"), RESPONSE_MODES);
+        responseLimitField = JMeterUtils.createJLabeledTextField("responseLimit.displayName", 8);
+
+        responsePanel.add(responseModeChoice);
+        responsePanel.add(responseLimitField);
+
+        panel.add(warmupPanel);
+        panel.add(invokePanel);
+        panel.add(batchPanel);
+        panel.add(hedgePanel);
+        panel.add(feederPanel);
+        panel.add(responsePanel);
         return panel;
     }
 
@@ -0,0 +1,625 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.gui;
+
+import com.solsynx.jmeter.dubbo.config.RegistryTypeManager;
+import com.solsynx.jmeter.dubbo.config.RegistryTypeProvider;
+import com.solsynx.jmeter.dubbo.core.ResponseWriter;
+import com.solsynx.jmeter.dubbo.sampler.DubboScenarioSampler;
+import com.solsynx.jmeter.dubbo.sampler.ScenarioStep;
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.config.gui.ArgumentsPanel;
+import org.apache.jmeter.gui.util.HorizontalPanel;
+import org.apache.jmeter.gui.util.VerticalPanel;
+import org.apache.jmeter.samplers.gui.AbstractSamplerGui;
+import org.apache.jmeter.testelement.TestElement;
+import org.apache.jorphan.gui.JLabeledChoice;
+import org.apache.jorphan.gui.JLabeledTextField;
+
+import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DubboScenarioSampler 的 GUI 类
+ * 上方为注册中心和服务配置，中间为场景步骤列表，选中步骤后在下方编辑该步骤的参数和变量提取规则
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public class DubboScenarioSamplerGui extends AbstractSamplerGui implements ActionListener, ListSelectionListener {
+
+    private static final String ADD = "add";
+    private static final String DELETE = "delete";
+    private static final String UP = "up";
+    private static final String DOWN = "down";
+
+    // Registry configuration fields
+    private JLabeledChoice registryTypeChoice;
+    private JLabeledTextField registryAddressField;
+    private JLabeledTextField registryGroupField;
+    private JLabeledTextField registryTimeoutField;
+    private JLabeledTextField registryUsernameField;
+    private JLabeledTextField registryPasswordField;
+
+    // Service configuration fields
+    private JLabeledTextField directUrlField;
+    private JLabeledTextField serviceGroupField;
+    private JLabeledTextField interfaceNameField;
+    private JLabeledTextField serviceTimeoutField;
+    private JLabeledChoice responseModeChoice;
+
+    // Steps table
+    private final List<ScenarioStep> steps = new ArrayList<>();
+    private StepTableModel stepTableModel;
+    private JTable stepTable;
+    private int selectedStep = -1;
+    private boolean selecting;
+
+    // Selected step detail panels
+    private ArgumentsPanel parametersPanel;
+    private ArgumentsPanel extractorsPanel;
+
+    // Attachment panel
+    private ArgumentsPanel attachmentPanel;
+    private Arguments attachments;
+
+    /**
+     * 构造函数，创建一个新的 DubboScenarioSamplerGui 实例
+     */
+    public DubboScenarioSamplerGui() {
+        init();
+    }
+
+    /**
+     * 获取静态标签
+     * @return 静态标签字符串
+     */
+    @Override
+    public String getStaticLabel() {
+        return JMeterUtils.getResString("scenario.displayName");
+    }
+
+    /**
+     * 获取标签资源键
+     * @return 标签资源键
+     */
+    @Override
+    public String getLabelResource() {
+        return "scenario.displayName";
+    }
+
+    /**
+     * 创建测试元素
+     * @return 创建的测试元素
+     */
+    @Override
+    public TestElement createTestElement() {
+        DubboScenarioSampler sampler = new DubboScenarioSampler();
+        modifyTestElement(sampler);
+        return sampler;
+    }
+
+    /**
+     * 修改测试元素
+     * @param element 要修改的测试元素
+     */
+    @Override
+    public void modifyTestElement(TestElement element) {
+        configureTestElement(element);
+
+        if (element instanceof DubboScenarioSampler) {
+            DubboScenarioSampler sampler = (DubboScenarioSampler) element;
+
+            // Registry configuration
+            sampler.setRegistryType(registryTypeChoice.getText());
+            sampler.setRegistryAddress(registryAddressField.getText());
+            sampler.setRegistryGroup(registryGroupField.getText());
+            sampler.setRegistryTimeout(registryTimeoutField.getText());
+            sampler.setRegistryUsername(registryUsernameField.getText());
+            sampler.setRegistryPassword(registryPasswordField.getText());
+
+            // Service configuration
+            sampler.setDirectUrl(directUrlField.getText());
+            sampler.setServiceGroup(serviceGroupField.getText());
+            sampler.setInterfaceName(interfaceNameField.getText());
+            sampler.setServiceTimeout(serviceTimeoutField.getText());
+            sampler.setResponseMode(responseModeChoice.getText());
+
+            // Steps configuration
+            saveSelectedStep();
+            List<ScenarioStep> copies = new ArrayList<>(steps.size());
+            for (ScenarioStep step : steps) {
+                copies.add((ScenarioStep) step.clone());
+            }
+            sampler.setSteps(copies);
+
+            // Attachment configuration
+            attachmentPanel.modifyTestElement(attachments);
+            sampler.setAttachment(attachments);
+        }
+    }
+
+    /**
+     * 配置测试元素
+     * @param element 要配置的测试元素
+     */
+    @Override
+    public void configure(TestElement element) {
+        super.configure(element);
+
+        if (element instanceof DubboScenarioSampler) {
+            DubboScenarioSampler sampler = (DubboScenarioSampler) element;
+            // Registry configuration
+            registryTypeChoice.setText(sampler.getRegistryType());
+            registryAddressField.setText(sampler.getRegistryAddress());
+            registryGroupField.setText(sampler.getRegistryGroup());
+            registryTimeoutField.setText(sampler.getRegistryTimeout());
+            registryUsernameField.setText(sampler.getRegistryUsername());
+            registryPasswordField.setText(sampler.getRegistryPassword());
+
+            // Service configuration
+            directUrlField.setText(sampler.getDirectUrl());
+            serviceGroupField.setText(sampler.getServiceGroup());
+            interfaceNameField.setText(sampler.getInterfaceName());
+            serviceTimeoutField.setText(sampler.getServiceTimeout());
+            responseModeChoice.setText(sampler.getResponseMode());
+
+            // Steps configuration
+            List<ScenarioStep> copies = new ArrayList<>();
+            for (ScenarioStep step : sampler.getSteps()) {
+                copies.add((ScenarioStep) step.clone());
+            }
+            setSteps(copies);
+
+            // Attachment configuration
+            Arguments args = sampler.getAttachment();
+            if (args != null) {
+                attachmentPanel.configure(args);
+            }
+        }
+    }
+
+    /**
+     * 清空 GUI 界面
+     */
+    @Override
+    public void clearGui() {
+        super.clearGui();
+
+        // Registry configuration defaults
+        String[] supportedTypes = RegistryTypeManager.getSupportedTypes().toArray(new String[0]);
+        if (supportedTypes.length > 0) {
+            String defaultType = supportedTypes[0];
+            registryTypeChoice.setText(defaultType);
+
+            // Set default values based on registry type
+            updateRegistryDefaults(defaultType);
+        }
+
+        registryUsernameField.setText("");
+        registryPasswordField.setText("");
+
+        // Service configuration defaults
+        directUrlField.setText("");
+        serviceGroupField.setText("");
+        interfaceNameField.setText("");
+        serviceTimeoutField.setText("1000");
+        responseModeChoice.setText(ResponseWriter.SIZE_ONLY);
+
+        // Steps configuration defaults
+        setSteps(Collections.emptyList());
+
+        // Attachment configuration defaults
+        attachmentPanel.clearGui();
+    }
+
+    /**
+     * 根据选择的注册中心类型更新默认值
+     *
+     * @param type 注册中心类型
+     */
+    private void updateRegistryDefaults(String type) {
+        RegistryTypeProvider.RegistryDefaults defaults = RegistryTypeManager.getDefaults(type);
+        if (defaults != null) {
+            registryAddressField.setText(defaults.getDefaultAddress());
+            registryGroupField.setText(defaults.getDefaultGroup());
+            registryTimeoutField.setText(defaults.getDefaultTimeout());
+        } else {
+            registryAddressField.setText("");
+            registryGroupField.setText("");
+            registryTimeoutField.setText("");
+        }
+    }
+
+    /**
+     * 替换步骤列表，丢弃当前编辑中的步骤并选中第一个步骤
+     *
+     * @param newSteps 新的步骤列表
+     */
+    private void setSteps(List<ScenarioStep> newSteps) {
+        stopEditing();
+        selectedStep = -1;
+        steps.clear();
+        steps.addAll(newSteps);
+        stepTableModel.fireTableDataChanged();
+        selectStep(steps.isEmpty() ? -1 : 0);
+    }
+
+    /**
+     * 将参数和提取规则面板的内容保存到当前选中的步骤
+     */
+    private void saveSelectedStep() {
+        stopEditing();
+        if (selectedStep < 0 || selectedStep >= steps.size()) {
+            return;
+        }
+        ScenarioStep step = steps.get(selectedStep);
+        Arguments parameters = new Arguments();
+        parametersPanel.modifyTestElement(parameters);
+        step.setParameters(parameters);
+        Arguments extractors = new Arguments();
+        extractorsPanel.modifyTestElement(extractors);
+        step.setExtractors(extractors);
+    }
+
+    /**
+     * 选中指定步骤并加载其参数和提取规则，调用前需已保存当前步骤
+     *
+     * @param row 步骤下标，-1 表示不选中
+     */
+    private void selectStep(int row) {
+        selecting = true;
+        try {
+            if (row < 0) {
+                stepTable.clearSelection();
+            } else {
+                stepTable.setRowSelectionInterval(row, row);
+            }
+        } finally {
+            selecting = false;
+        }
+        selectedStep = row;
+        if (row < 0) {
+            parametersPanel.clearGui();
+            extractorsPanel.clearGui();
+        } else {
+            parametersPanel.configure(steps.get(row).getParameters());
+            extractorsPanel.configure(steps.get(row).getExtractors());
+        }
+        parametersPanel.setEnabled(row >= 0);
+        extractorsPanel.setEnabled(row >= 0);
+    }
+
+    /**
+     * 结束步骤表格的单元格编辑
+     */
+    private void stopEditing() {
+        if (stepTable.isEditing()) {
+            stepTable.getCellEditor().stopCellEditing();
+        }
+    }
+
+    /**
+     * 初始化 GUI 组件
+     */
+    private void init() {
+        setLayout(new BorderLayout());
+        setBorder(makeBorder());
+
+        add(makeTitlePanel(), BorderLayout.NORTH);
+
+        JPanel mainPanel = new VerticalPanel();
+        mainPanel.add(createRegistryConfigPanel());
+        mainPanel.add(createServiceConfigPanel());
+        mainPanel.add(createStepsPanel());
+        mainPanel.add(createStepDetailPanel());
+        mainPanel.add(createAttachmentPanel());
+
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * 创建注册中心配置面板
+     * @return 注册中心配置面板
+     */
+    private JPanel createRegistryConfigPanel() {
+        JPanel panel = new VerticalPanel();
+        panel.setBorder(BorderFactory.createTitledBorder(JMeterUtils.getResString("registry_config")));
+
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        // First row: registryType and registryAddress
+        JPanel registryTypeAddressPanel = new HorizontalPanel();
+        String[] registryTypes = RegistryTypeManager.getSupportedTypes().toArray(new String[0]);
+        registryTypeChoice = new JLabeledChoice(JMeterUtils.getResString("registryType.displayName"), registryTypes);
+        registryAddressField = JMeterUtils.createJLabeledTextField("registryAddress.displayName", 50);
+
+        registryTypeAddressPanel.add(registryTypeChoice);
+        registryTypeAddressPanel.add(registryAddressField);
+
+        // Second row: registryGroup, registryTimeout, registryUsername, registryPassword
+        JPanel registryDetailsPanel = new HorizontalPanel();
+        registryGroupField = JMeterUtils.createJLabeledTextField("registryGroup.displayName", 10);
+        registryTimeoutField = JMeterUtils.createJLabeledTextField("registryTimeout.displayName", 10);
+        registryUsernameField = JMeterUtils.createJLabeledTextField("registryUsername.displayName", 12);
+        registryPasswordField = JMeterUtils.createJLabeledTextField("registryPassword.displayName", 12);
+
+        registryDetailsPanel.add(registryGroupField);
+        registryDetailsPanel.add(registryTimeoutField);
+        registryDetailsPanel.add(registryUsernameField);
+        registryDetailsPanel.add(registryPasswordField);
+
+        panel.add(registryTypeAddressPanel);
+        panel.add(registryDetailsPanel);
+        panel.setMinimumSize(panel.getPreferredSize());
+        return panel;
+    }
+
+    /**
+     * 创建服务配置面板，接口为各步骤的默认接口
+     * @return 服务配置面板
+     */
+    private JPanel createServiceConfigPanel() {
+        JPanel panel = new VerticalPanel();
+        panel.setBorder(BorderFactory.createTitledBorder(JMeterUtils.getResString("service_config")));
+
+        JPanel interfacePanel = new HorizontalPanel();
+        interfaceNameField = JMeterUtils.createJLabeledTextField("interfaceName.displayName", 40);
+        serviceGroupField = JMeterUtils.createJLabeledTextField("serviceGroup.displayName", 12);
+        serviceTimeoutField = JMeterUtils.createJLabeledTextField("serviceTimeout.displayName", 12);
+
+        interfacePanel.add(interfaceNameField);
+        interfacePanel.add(serviceGroupField);
+        interfacePanel.add(serviceTimeoutField);
+
+        JPanel urlPanel = new HorizontalPanel();
+        directUrlField = JMeterUtils.createJLabeledTextField("directUrl.displayName", 60);
+        // 步骤的返回值只用于提取变量，默认只统计响应大小
+        responseModeChoice = new JLabeledChoice(JMeterUtils.getResString("responseMode.displayName"),
+                                                DubboSamplerGui.RESPONSE_MODES);
+        urlPanel.add(directUrlField);
+        urlPanel.add(responseModeChoice);
+
+        panel.add(interfacePanel);
+        panel.add(urlPanel);
+
+        return panel;
+    }
+
+    /**
+     * 创建场景步骤列表面板
+     * @return 场景步骤列表面板
+     */
+    private JPanel createStepsPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder(JMeterUtils.getResString("steps.displayName")));
+
+        stepTableModel = new StepTableModel();
+        stepTable = new JTable(stepTableModel);
+        stepTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        stepTable.getSelectionModel().addListSelectionListener(this);
+        stepTable.getTableHeader().setReorderingAllowed(false);
+
+        JScrollPane scrollPane = new JScrollPane(stepTable);
+        scrollPane.setPreferredSize(new Dimension(scrollPane.getPreferredSize().width, 150));
+
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.add(createButton("step_add", ADD));
+        buttonPanel.add(createButton("step_delete", DELETE));
+        buttonPanel.add(createButton("step_up", UP));
+        buttonPanel.add(createButton("step_down", DOWN));
+
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    /**
+     * 创建步骤操作按钮
+     * @param labelKey 按钮标签资源键
+     * @param command  动作命令
+     * @return 按钮
+     */
+    private JButton createButton(String labelKey, String command) {
+        JButton button = new JButton(JMeterUtils.getResString(labelKey));
+        button.setActionCommand(command);
+        button.addActionListener(this);
+        return button;
+    }
+
+    /**
+     * 创建选中步骤的参数和变量提取规则面板
+     * @return 步骤详情面板
+     */
+    private JPanel createStepDetailPanel() {
+        JPanel panel = new JPanel(new GridLayout(1, 2));
+
+        parametersPanel = new ArgumentsPanel(JMeterUtils.getResString("parameters.displayName"), null, true, false,
+                                             null,
+                                             false, null);
+        extractorsPanel = new ArgumentsPanel(JMeterUtils.getResString("extractors.displayName"), null, true, false,
+                                             null,
+                                             false, null);
+
+        // Control the height of the ArgumentsPanel
+        Dimension prefSize = new Dimension(parametersPanel.getPreferredSize().width, 200);
+        parametersPanel.setPreferredSize(prefSize);
+        extractorsPanel.setPreferredSize(prefSize);
+
+        panel.add(parametersPanel);
+        panel.add(extractorsPanel);
+        return panel;
+    }
+
+    /**
+     * 创建附件配置面板
+     * @return 附件配置面板
+     */
+    private JPanel createAttachmentPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder(JMeterUtils.getResString("attachment.displayName")));
+
+        attachments = new Arguments();
+        attachmentPanel = new ArgumentsPanel(JMeterUtils.getResString("attachment.displayName"), null, true, false,
+                                             null,
+                                             false, null);
+
+        // Control the height of the ArgumentsPanel
+        Dimension prefSize = new Dimension(attachmentPanel.getPreferredSize().width, 150);
+        attachmentPanel.setPreferredSize(prefSize);
+
+        panel.add(attachmentPanel, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    /**
+     * 处理步骤操作按钮事件
+     * @param e 动作事件
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        saveSelectedStep();
+        int row = selectedStep;
+        switch (e.getActionCommand()) {
+            case ADD:
+                ScenarioStep step = new ScenarioStep();
+                step.setName("Step " + (steps.size() + 1));
+                step.setInterfaceName("");
+                step.setMethodName("");
+                steps.add(step);
+                row = steps.size() - 1;
+                break;
+            case DELETE:
+                if (row >= 0) {
+                    steps.remove(row);
+                    row = Math.min(row, steps.size() - 1);
+                }
+                break;
+            case UP:
+                if (row > 0) {
+                    Collections.swap(steps, row, row - 1);
+                    row--;
+                }
+                break;
+            case DOWN:
+                if (row >= 0 && row < steps.size() - 1) {
+                    Collections.swap(steps, row, row + 1);
+                    row++;
+                }
+                break;
+            default:
+                return;
+        }
+        selectedStep = -1;
+        stepTableModel.fireTableDataChanged();
+        selectStep(row);
+    }
+
+    /**
+     * 处理步骤选择变化，保存之前选中的步骤并加载新选中的步骤
+     * @param e 选择事件
+     */
+    @Override
+    public void valueChanged(ListSelectionEvent e) {
+        int row = stepTable.getSelectedRow();
+        if (e.getValueIsAdjusting() || selecting || row == selectedStep) {
+            return;
+        }
+        saveSelectedStep();
+        selectStep(row);
+    }
+
+    /**
+     * 场景步骤表格模型，显示并编辑步骤名称、接口、方法和参数数据文件
+     */
+    private class StepTableModel extends AbstractTableModel {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] columns = {
+            JMeterUtils.getResString("stepName.displayName"),
+            JMeterUtils.getResString("interfaceName.displayName"),
+            JMeterUtils.getResString("methodName.displayName"),
+            JMeterUtils.getResString("feederFile.displayName")
+        };
+
+        @Override
+        public int getRowCount() {
+            return steps.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column];
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return true;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            ScenarioStep step = steps.get(row);
+            switch (column) {
+                case 0:
+                    return step.getName();
+                case 1:
+                    return step.getInterfaceName();
+                case 2:
+                    return step.getMethodName();
+                default:
+                    return step.getFeederFile();
+            }
+        }
+
+        @Override
+        public void setValueAt(Object value, int row, int column) {
+            ScenarioStep step = steps.get(row);
+            String text = value == null ? "" : value.toString();
+            switch (column) {
+                case 0:
+                    step.setName(text);
+                    break;
+                case 1:
+                    step.setInterfaceName(text);
+                    break;
+                case 2:
+                    step.setMethodName(text);
+                    break;
+                default:
+                    step.setFeederFile(text);
+                    break;
+            }
+        }
+    }
+}
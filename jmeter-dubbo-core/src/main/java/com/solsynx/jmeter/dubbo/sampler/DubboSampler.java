@@ -17,16 +17,36 @@
 
 package com.solsynx.jmeter.dubbo.sampler;
 
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
 import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import com.solsynx.jmeter.dubbo.core.ArrivalProfile;
+import com.solsynx.jmeter.dubbo.core.ArrivalRateDriver;
+import com.solsynx.jmeter.dubbo.core.ArrivalSchedule;
+import com.solsynx.jmeter.dubbo.core.DataFeeder;
 import com.solsynx.jmeter.dubbo.core.GenericDubbo;
+import com.solsynx.jmeter.dubbo.core.HedgedInvoker;
+import com.solsynx.jmeter.dubbo.core.InvocationBatch;
+import com.solsynx.jmeter.dubbo.core.InvocationPipeline;
+import com.solsynx.jmeter.dubbo.core.MethodSignatures;
+import com.solsynx.jmeter.dubbo.core.ProviderFanout;
+import com.solsynx.jmeter.dubbo.core.ReferenceWarmUp;
+import com.solsynx.jmeter.dubbo.core.ResponseWriter;
+import com.solsynx.jmeter.dubbo.core.TestLifecycle;
+import com.solsynx.jmeter.dubbo.core.VirtualThreadInvoker;
 import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.jmeter.config.Arguments;
 import org.apache.jmeter.samplers.AbstractSampler;
 import org.apache.jmeter.samplers.Entry;
 import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.testelement.TestStateListener;
+import org.apache.jmeter.testelement.ThreadListener;
 import org.apache.jmeter.testelement.property.JMeterProperty;
 import org.apache.jmeter.testelement.property.NullProperty;
 import org.apache.jmeter.testelement.property.TestElementProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 
@@ -37,10 +57,41 @@ import java.io.Serializable;
  * @author Solsynx&lt;xy.0520@hotmail.com&gt;
  * @version 0.0.1
  */
-public class DubboSampler extends AbstractSampler implements Serializable {
+public class DubboSampler extends AbstractSampler implements ThreadListener, TestStateListener, Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 同步调用模式，每个线程同一时刻只有一个在途请求
+     */
+    public static final String INVOKE_MODE_SYNC = "sync";
+    /**
+     * 异步流水线调用模式，每个线程保持多个在途请求
+     */
+    public static final String INVOKE_MODE_ASYNC = "async";
+    /**
+     * 开放模型到达率调用模式，按负载曲线发送请求，与线程数和响应时间解耦
+     */
+    public static final String INVOKE_MODE_RATE = "rate";
+    /**
+     * 批量调用模式，每次采样发出固定数量的调用并汇总为一个采样结果
+     */
+    public static final String INVOKE_MODE_BATCH = "batch";
+    /**
+     * 虚拟线程调用模式，阻塞调用转移到虚拟线程上执行，每个线程保持多个在途请求，需要 JDK 21 及以上
+     */
+    public static final String INVOKE_MODE_VIRTUAL = "virtual";
+    /**
+     * 扇出调用模式，每次采样同时调用服务的所有提供者，每个提供者记录为一个子结果
+     */
+    public static final String INVOKE_MODE_FANOUT = "fanout";
+    /**
+     * 重试与对冲调用模式，RPC 异常时按退避重试，响应超过阈值时向另一个提供者发出对冲请求
+     */
+    public static final String INVOKE_MODE_HEDGE = "hedge";
+
+    private static final Logger log = LoggerFactory.getLogger(DubboSampler.class);
+
     private static final String REGISTRY_TYPE = "DubboSampler.registryType";
     private static final String REGISTRY_ADDRESS = "DubboSampler.registryAddress";
     private static final String REGISTRY_GROUP = "DubboSampler.registryGroup";
@@ -54,11 +105,70 @@ public class DubboSampler extends AbstractSampler implements Serializable {
     private static final String SERVICE_TIMEOUT = "DubboSampler.serviceTimeout";
     private static final String ATTACHMENT = "DubboSampler.attachment";
     private static final String PARAMETERS = "DubboSampler.parameters";
+    private static final String WARMUP_ENABLED = "DubboSampler.warmupEnabled";
+    private static final String WARMUP_ECHO_COUNT = "DubboSampler.warmupEchoCount";
+    private static final String WARMUP_TIMEOUT = "DubboSampler.warmupTimeout";
+    private static final String RESOLVE_SIGNATURE = "DubboSampler.resolveSignature";
+    private static final String INVOKE_MODE = "DubboSampler.invokeMode";
+    private static final String PIPELINE_DEPTH = "DubboSampler.pipelineDepth";
+    private static final String LOAD_PROFILE = "DubboSampler.loadProfile";
+    private static final String BATCH_SIZE = "DubboSampler.batchSize";
+    private static final String BATCH_CONCURRENT = "DubboSampler.batchConcurrent";
+    private static final String BATCH_SUB_RESULTS = "DubboSampler.batchSubResults";
+    private static final String LOAD_BALANCE = "DubboSampler.loadBalance";
+    private static final String HASH_ARGUMENTS = "DubboSampler.hashArguments";
+    private static final String HASH_NODES = "DubboSampler.hashNodes";
+    private static final String STICKY = "DubboSampler.sticky";
+    private static final String PROVIDER_STATISTICS = "DubboSampler.providerStatistics";
+    private static final String TYPED = "DubboSampler.typed";
+    private static final String GENERIC = "DubboSampler.generic";
+    private static final String RESPONSE_MODE = "DubboSampler.responseMode";
+    private static final String RESPONSE_LIMIT = "DubboSampler.responseLimit";
+    private static final String RETRIES = "DubboSampler.retries";
+    private static final String RETRY_BACKOFF = "DubboSampler.retryBackoff";
+    private static final String HEDGE_DELAY = "DubboSampler.hedgeDelay";
+    private static final String FEEDER_FILE = "DubboSampler.feederFile";
+    private static final String FEEDER_RECYCLE = "DubboSampler.feederRecycle";
 
     static {
         JMeterUtils.registerConverters();
     }
 
+    /**
+     * 当前线程的调用计划，线程启动时编译，不参与序列化和克隆
+     */
+    private transient InvocationPlan plan;
+
+    /**
+     * 当前线程的异步调用流水线，同步模式下为 null
+     */
+    private transient InvocationPipeline pipeline;
+
+    /**
+     * 到达率调度，测试开始时在原始元素上创建，通过 {@link #clone()} 在所有线程副本间共享
+     */
+    private transient ArrivalSchedule schedule;
+
+    /**
+     * 当前线程的到达率驱动，非到达率模式下为 null
+     */
+    private transient ArrivalRateDriver driver;
+
+    /**
+     * 当前线程的批量调用，非批量模式下为 null
+     */
+    private transient InvocationBatch batch;
+
+    /**
+     * 当前线程的提供者扇出调用，非扇出模式下为 null
+     */
+    private transient ProviderFanout fanout;
+
+    /**
+     * 当前线程的重试与对冲调用，非对冲模式下为 null
+     */
+    private transient HedgedInvoker hedged;
+
     /**
      * 构造函数，创建一个新的 DubboSampler 实例
      */
@@ -74,7 +184,190 @@ public class DubboSampler extends AbstractSampler implements Serializable {
      */
     @Override
     public SampleResult sample(Entry entry) {
-        return GenericDubbo.execute(new ServiceContext(this));
+        if (plan != null && plan.getFeeder() != null && !plan.getFeeder().hasNext(plan.getContext().isFeederRecycle())) {
+            // 参数数据文件已读完且不从头读取，不再领取新行
+            getThreadContext().getThread().stop();
+            return null;
+        }
+        SampleResult result = dispatch();
+        if (result instanceof DubboSampleResult
+            && ((DubboSampleResult) result).getFailure() instanceof DataFeeder.ExhaustedException) {
+            // 其他线程领取了最后一行，本次采样没有发出调用，不输出结果
+            getThreadContext().getThread().stop();
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * 按调用方式分派采样
+     *
+     * @return 采样结果
+     */
+    private SampleResult dispatch() {
+        if (driver != null) {
+            SampleResult result = driver.next(this::getInvocationPlan);
+            if (driver.isFinished()) {
+                // 负载曲线已结束且在途请求均已上报
+                getThreadContext().getThread().stop();
+            }
+            return result;
+        }
+        if (pipeline != null) {
+            return pipeline.next(this::getInvocationPlan);
+        }
+        if (batch != null) {
+            return batch.next(this::getInvocationPlan);
+        }
+        if (fanout != null) {
+            return fanout.next(getInvocationPlan());
+        }
+        if (hedged != null) {
+            return hedged.next(getInvocationPlan());
+        }
+        return GenericDubbo.execute(getInvocationPlan());
+    }
+
+    /**
+     * 获取当前线程的调用计划
+     * 静态配置复用线程启动时编译的计划，包含变量或函数的配置在每次采样时重新编译
+     *
+     * @return 调用计划
+     */
+    private InvocationPlan getInvocationPlan() {
+        InvocationPlan current = plan;
+        if (current == null || current.isDynamic()) {
+            current = InvocationPlan.compile(this, current);
+            plan = current;
+        }
+        return current;
+    }
+
+    /**
+     * 线程启动时预编译调用计划
+     * 包含变量或函数的配置推迟到采样时编译，避免提前求值带来的副作用
+     */
+    @Override
+    public void threadStarted() {
+        plan = isDynamic() ? null : InvocationPlan.compile(this);
+        String invokeMode = getInvokeMode();
+        if (INVOKE_MODE_ASYNC.equals(invokeMode)) {
+            pipeline = new InvocationPipeline(NumberUtils.toInt(getPipelineDepth(), 1));
+        } else if (INVOKE_MODE_RATE.equals(invokeMode)) {
+            if (schedule == null) {
+                log.error("No valid load profile for {}, falling back to sync mode", getName());
+            } else {
+                driver = new ArrivalRateDriver(schedule, NumberUtils.toLong(getServiceTimeout(), 1000L) * 2);
+            }
+        } else if (INVOKE_MODE_VIRTUAL.equals(invokeMode)) {
+            // 不支持虚拟线程时退化为异步模式，测试开始时已记录警告
+            pipeline = VirtualThreadInvoker.isSupported()
+                ? new InvocationPipeline(NumberUtils.toInt(getPipelineDepth(), 1), VirtualThreadInvoker::execute)
+                : new InvocationPipeline(NumberUtils.toInt(getPipelineDepth(), 1));
+        } else if (INVOKE_MODE_BATCH.equals(invokeMode)) {
+            batch = new InvocationBatch(NumberUtils.toInt(getBatchSize(), 1), isBatchConcurrent(), isBatchSubResults());
+        } else if (INVOKE_MODE_FANOUT.equals(invokeMode)) {
+            fanout = new ProviderFanout();
+        } else if (INVOKE_MODE_HEDGE.equals(invokeMode)) {
+            hedged = new HedgedInvoker(NumberUtils.toInt(getRetries()), NumberUtils.toLong(getRetryBackoff()),
+                                       NumberUtils.toLong(getHedgeDelay()));
+        }
+        if (plan != null && isWarmupEnabled()) {
+            ReferenceWarmUp.await(plan.getContext());
+        }
+    }
+
+    /**
+     * 线程结束时释放调用计划和流水线，尚未上报的在途请求结果将被丢弃
+     */
+    @Override
+    public void threadFinished() {
+        plan = null;
+        pipeline = null;
+        driver = null;
+        batch = null;
+        fanout = null;
+        hedged = null;
+    }
+
+    /**
+     * 测试开始时解析方法签名并提交引用预热任务
+     * 包含变量或函数的采样器无法在测试开始时求值，跳过签名解析和预热
+     */
+    @Override
+    public void testStarted() {
+        schedule = null;
+        if (INVOKE_MODE_RATE.equals(getInvokeMode())) {
+            try {
+                schedule = new ArrivalSchedule(ArrivalProfile.parse(getLoadProfile()));
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid load profile for {}: {}", getName(), e.getMessage());
+            }
+        }
+        if (INVOKE_MODE_VIRTUAL.equals(getInvokeMode()) && !VirtualThreadInvoker.isSupported()) {
+            log.warn("Virtual threads require Java 21 or later, falling back to async mode for {}", getName());
+        }
+        TestLifecycle.begin();
+        if (isResolveSignature() && !isDynamic()) {
+            MethodSignatures.prepare(new ServiceContext(this));
+        }
+        if (isWarmupEnabled() && !isDynamic()) {
+            ReferenceWarmUp.submit(new ServiceContext(this),
+                                   NumberUtils.toInt(getWarmupEchoCount()),
+                                   NumberUtils.toLong(getWarmupTimeout()));
+        }
+    }
+
+    /**
+     * 测试开始（远程）
+     *
+     * @param host 主机名
+     */
+    @Override
+    public void testStarted(String host) {
+        testStarted();
+    }
+
+    /**
+     * 测试结束，最后一个结束的采样器输出统计并释放所有缓存的引用、参数数据源和负载池
+     *
+     * @see TestLifecycle#end()
+     */
+    @Override
+    public void testEnded() {
+        schedule = null;
+        TestLifecycle.end();
+    }
+
+    /**
+     * 测试结束（远程）
+     *
+     * @param host 主机名
+     */
+    @Override
+    public void testEnded(String host) {
+        testEnded();
+    }
+
+    /**
+     * 克隆采样器，线程副本共享原始元素的到达率调度
+     *
+     * @return 采样器副本
+     */
+    @Override
+    public Object clone() {
+        DubboSampler clone = (DubboSampler) super.clone();
+        clone.schedule = schedule;
+        return clone;
+    }
+
+    /**
+     * 判断采样器配置是否包含 JMeter 变量或函数
+     *
+     * @return 如果包含变量或函数则返回 true，否则返回 false
+     */
+    public boolean isDynamic() {
+        return JMeterUtils.hasFunctions(this);
     }
 
 
@@ -319,4 +612,436 @@ public class DubboSampler extends AbstractSampler implements Serializable {
     public void setParameters(Arguments parameters) {
         setProperty(new TestElementProperty(PARAMETERS, parameters));
     }
+
+    /**
+     * 是否启用引用预热
+     *
+     * @return 如果启用则返回 true，否则返回 false
+     */
+    public boolean isWarmupEnabled() {
+        return getPropertyAsBoolean(WARMUP_ENABLED, false);
+    }
+
+    /**
+     * 设置是否启用引用预热
+     *
+     * @param warmupEnabled 是否启用
+     */
+    public void setWarmupEnabled(boolean warmupEnabled) {
+        setProperty(WARMUP_ENABLED, warmupEnabled);
+    }
+
+    /**
+     * 是否在测试开始时解析方法签名
+     *
+     * @return 如果解析则返回 true
+     */
+    public boolean isResolveSignature() {
+        return getPropertyAsBoolean(RESOLVE_SIGNATURE, false);
+    }
+
+    /**
+     * 设置是否在测试开始时解析方法签名
+     *
+     * @param resolveSignature 是否解析
+     */
+    public void setResolveSignature(boolean resolveSignature) {
+        setProperty(RESOLVE_SIGNATURE, resolveSignature);
+    }
+
+    /**
+     * 获取预热 $echo 调用次数
+     *
+     * @return 预热 $echo 调用次数
+     */
+    public String getWarmupEchoCount() {
+        return getPropertyAsString(WARMUP_ECHO_COUNT);
+    }
+
+    /**
+     * 设置预热 $echo 调用次数
+     *
+     * @param warmupEchoCount 预热 $echo 调用次数
+     */
+    public void setWarmupEchoCount(String warmupEchoCount) {
+        setProperty(WARMUP_ECHO_COUNT, warmupEchoCount);
+    }
+
+    /**
+     * 获取预热等待提供者的超时时间
+     *
+     * @return 预热超时时间
+     */
+    public String getWarmupTimeout() {
+        return getPropertyAsString(WARMUP_TIMEOUT);
+    }
+
+    /**
+     * 设置预热等待提供者的超时时间
+     *
+     * @param warmupTimeout 预热超时时间
+     */
+    public void setWarmupTimeout(String warmupTimeout) {
+        setProperty(WARMUP_TIMEOUT, warmupTimeout);
+    }
+
+    /**
+     * 获取调用模式
+     *
+     * @return 调用模式，未设置时为同步模式
+     */
+    public String getInvokeMode() {
+        return getPropertyAsString(INVOKE_MODE, INVOKE_MODE_SYNC);
+    }
+
+    /**
+     * 设置调用模式
+     *
+     * @param invokeMode 调用模式
+     */
+    public void setInvokeMode(String invokeMode) {
+        setProperty(INVOKE_MODE, invokeMode);
+    }
+
+    /**
+     * 获取异步模式下每个线程的在途请求数
+     *
+     * @return 流水线深度
+     */
+    public String getPipelineDepth() {
+        return getPropertyAsString(PIPELINE_DEPTH);
+    }
+
+    /**
+     * 设置异步模式下每个线程的在途请求数
+     *
+     * @param pipelineDepth 流水线深度
+     */
+    public void setPipelineDepth(String pipelineDepth) {
+        setProperty(PIPELINE_DEPTH, pipelineDepth);
+    }
+
+    /**
+     * 获取到达率模式的负载曲线
+     *
+     * @return 负载曲线描述
+     */
+    public String getLoadProfile() {
+        return getPropertyAsString(LOAD_PROFILE);
+    }
+
+    /**
+     * 设置到达率模式的负载曲线
+     *
+     * @param loadProfile 负载曲线描述
+     */
+    public void setLoadProfile(String loadProfile) {
+        setProperty(LOAD_PROFILE, loadProfile);
+    }
+
+    /**
+     * 获取批量模式下每次采样的调用次数
+     *
+     * @return 批量大小
+     */
+    public String getBatchSize() {
+        return getPropertyAsString(BATCH_SIZE);
+    }
+
+    /**
+     * 设置批量模式下每次采样的调用次数
+     *
+     * @param batchSize 批量大小
+     */
+    public void setBatchSize(String batchSize) {
+        setProperty(BATCH_SIZE, batchSize);
+    }
+
+    /**
+     * 批量模式下是否同时发出整批调用
+     *
+     * @return 如果同时发出则返回 true，否则顺序执行
+     */
+    public boolean isBatchConcurrent() {
+        return getPropertyAsBoolean(BATCH_CONCURRENT, false);
+    }
+
+    /**
+     * 设置批量模式下是否同时发出整批调用
+     *
+     * @param batchConcurrent 是否同时发出
+     */
+    public void setBatchConcurrent(boolean batchConcurrent) {
+        setProperty(BATCH_CONCURRENT, batchConcurrent);
+    }
+
+    /**
+     * 批量模式下是否将每次调用记录为子结果
+     *
+     * @return 如果记录子结果则返回 true
+     */
+    public boolean isBatchSubResults() {
+        return getPropertyAsBoolean(BATCH_SUB_RESULTS, false);
+    }
+
+    /**
+     * 设置批量模式下是否将每次调用记录为子结果
+     *
+     * @param batchSubResults 是否记录子结果
+     */
+    public void setBatchSubResults(boolean batchSubResults) {
+        setProperty(BATCH_SUB_RESULTS, batchSubResults);
+    }
+
+    /**
+     * 获取负载均衡策略
+     *
+     * @return 负载均衡策略，为空时使用 Dubbo 默认的 random
+     */
+    public String getLoadBalance() {
+        return getPropertyAsString(LOAD_BALANCE);
+    }
+
+    /**
+     * 设置负载均衡策略
+     *
+     * @param loadBalance 负载均衡策略，例如 random、roundrobin、leastactive、shortestresponse、consistenthash
+     */
+    public void setLoadBalance(String loadBalance) {
+        setProperty(LOAD_BALANCE, loadBalance);
+    }
+
+    /**
+     * 获取一致性哈希参与计算的参数下标
+     *
+     * @return 逗号分隔的参数下标
+     */
+    public String getHashArguments() {
+        return getPropertyAsString(HASH_ARGUMENTS);
+    }
+
+    /**
+     * 设置一致性哈希参与计算的参数下标
+     *
+     * @param hashArguments 逗号分隔的参数下标，为空时使用第一个参数
+     */
+    public void setHashArguments(String hashArguments) {
+        setProperty(HASH_ARGUMENTS, hashArguments);
+    }
+
+    /**
+     * 获取一致性哈希虚拟节点数
+     *
+     * @return 虚拟节点数
+     */
+    public String getHashNodes() {
+        return getPropertyAsString(HASH_NODES);
+    }
+
+    /**
+     * 设置一致性哈希虚拟节点数
+     *
+     * @param hashNodes 虚拟节点数，为空时使用 Dubbo 默认的 160
+     */
+    public void setHashNodes(String hashNodes) {
+        setProperty(HASH_NODES, hashNodes);
+    }
+
+    /**
+     * 是否启用粘滞连接
+     *
+     * @return 如果启用则返回 true
+     */
+    public boolean isSticky() {
+        return getPropertyAsBoolean(STICKY, false);
+    }
+
+    /**
+     * 设置是否启用粘滞连接
+     *
+     * @param sticky 是否启用粘滞连接
+     */
+    public void setSticky(boolean sticky) {
+        setProperty(STICKY, sticky);
+    }
+
+    /**
+     * 是否记录提供者统计
+     *
+     * @return 如果记录则返回 true
+     */
+    public boolean isProviderStatistics() {
+        return getPropertyAsBoolean(PROVIDER_STATISTICS, false);
+    }
+
+    /**
+     * 设置是否记录提供者统计
+     *
+     * @param providerStatistics 是否记录提供者统计
+     */
+    public void setProviderStatistics(boolean providerStatistics) {
+        setProperty(PROVIDER_STATISTICS, providerStatistics);
+    }
+
+    /**
+     * 是否使用类型化调用
+     *
+     * @return 如果使用则返回 true
+     */
+    public boolean isTyped() {
+        return getPropertyAsBoolean(TYPED, false);
+    }
+
+    /**
+     * 设置是否使用类型化调用，需要服务 API 包
+     *
+     * @param typed 是否使用类型化调用
+     */
+    public void setTyped(boolean typed) {
+        setProperty(TYPED, typed);
+    }
+
+    /**
+     * 获取泛化调用方式
+     *
+     * @return 泛化调用方式，默认为 true
+     */
+    public String getGeneric() {
+        return getPropertyAsString(GENERIC, GenericDubbo.GENERIC_DEFAULT);
+    }
+
+    /**
+     * 设置泛化调用方式，bean 与 nativejava 需要服务 API 包
+     *
+     * @param generic 泛化调用方式，如 true、raw.return、bean、nativejava、protobuf-json
+     */
+    public void setGeneric(String generic) {
+        setProperty(GENERIC, generic);
+    }
+
+    /**
+     * 获取响应模式
+     *
+     * @return 响应模式，默认为 full
+     */
+    public String getResponseMode() {
+        return getPropertyAsString(RESPONSE_MODE, ResponseWriter.FULL);
+    }
+
+    /**
+     * 设置响应模式，高负载下可使用 size-only、hash 或 discard 降低压测机开销
+     *
+     * @param responseMode 响应模式，如 full、truncated、hash、size-only、discard
+     */
+    public void setResponseMode(String responseMode) {
+        setProperty(RESPONSE_MODE, responseMode);
+    }
+
+    /**
+     * 获取截断模式保留的字节数
+     *
+     * @return 字节数
+     */
+    public String getResponseLimit() {
+        return getPropertyAsString(RESPONSE_LIMIT);
+    }
+
+    /**
+     * 设置截断模式保留的字节数
+     *
+     * @param responseLimit 字节数
+     */
+    public void setResponseLimit(String responseLimit) {
+        setProperty(RESPONSE_LIMIT, responseLimit);
+    }
+
+    /**
+     * 获取对冲模式下的最大重试次数
+     *
+     * @return 最大重试次数
+     */
+    public String getRetries() {
+        return getPropertyAsString(RETRIES);
+    }
+
+    /**
+     * 设置对冲模式下的最大重试次数
+     *
+     * @param retries 最大重试次数
+     */
+    public void setRetries(String retries) {
+        setProperty(RETRIES, retries);
+    }
+
+    /**
+     * 获取第一次重试前的退避时间
+     *
+     * @return 退避时间（毫秒）
+     */
+    public String getRetryBackoff() {
+        return getPropertyAsString(RETRY_BACKOFF);
+    }
+
+    /**
+     * 设置第一次重试前的退避时间，之后每次翻倍
+     *
+     * @param retryBackoff 退避时间（毫秒）
+     */
+    public void setRetryBackoff(String retryBackoff) {
+        setProperty(RETRY_BACKOFF, retryBackoff);
+    }
+
+    /**
+     * 获取对冲阈值
+     *
+     * @return 对冲阈值（毫秒）
+     */
+    public String getHedgeDelay() {
+        return getPropertyAsString(HEDGE_DELAY);
+    }
+
+    /**
+     * 设置对冲阈值，原始请求超过该时间未返回时发出对冲请求
+     *
+     * @param hedgeDelay 对冲阈值（毫秒），为空或 0 时不对冲
+     */
+    public void setHedgeDelay(String hedgeDelay) {
+        setProperty(HEDGE_DELAY, hedgeDelay);
+    }
+
+    /**
+     * 获取参数数据文件
+     *
+     * @return 参数数据文件路径
+     */
+    public String getFeederFile() {
+        return getPropertyAsString(FEEDER_FILE);
+    }
+
+    /**
+     * 设置参数数据文件，扩展名为 .csv 时按 CSV 读取，否则按 JSONL 读取
+     *
+     * @param feederFile 参数数据文件路径，为空时不使用数据文件
+     */
+    public void setFeederFile(String feederFile) {
+        setProperty(FEEDER_FILE, feederFile);
+    }
+
+    /**
+     * 参数数据文件读完后是否从头读取
+     *
+     * @return 如果从头读取则返回 true，否则读完后停止线程
+     */
+    public boolean isFeederRecycle() {
+        return getPropertyAsBoolean(FEEDER_RECYCLE, true);
+    }
+
+    /**
+     * 设置参数数据文件读完后是否从头读取
+     *
+     * @param feederRecycle 是否从头读取
+     */
+    public void setFeederRecycle(boolean feederRecycle) {
+        setProperty(FEEDER_RECYCLE, feederRecycle, true);
+    }
 }
@@ -0,0 +1,477 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.sampler;
+
+import com.solsynx.jmeter.dubbo.context.ScenarioStepPlan;
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import com.solsynx.jmeter.dubbo.core.GenericDubbo;
+import com.solsynx.jmeter.dubbo.core.ResponseWriter;
+import com.solsynx.jmeter.dubbo.core.ScenarioExecutor;
+import com.solsynx.jmeter.dubbo.core.TestLifecycle;
+import com.solsynx.jmeter.dubbo.utils.JMeterUtils;
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.samplers.AbstractSampler;
+import org.apache.jmeter.samplers.Entry;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.testelement.TestStateListener;
+import org.apache.jmeter.testelement.ThreadListener;
+import org.apache.jmeter.testelement.property.CollectionProperty;
+import org.apache.jmeter.testelement.property.JMeterProperty;
+import org.apache.jmeter.testelement.property.NullProperty;
+import org.apache.jmeter.testelement.property.PropertyIterator;
+import org.apache.jmeter.testelement.property.TestElementProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JMeter Dubbo 场景采样器
+ * 在一次采样中按顺序执行多个泛化调用，后续步骤通过 {@code #{name}} 引用之前步骤从返回值中提取的变量，
+ * 提取直接作用于泛化调用返回的原始对象，无需 JSON 提取器等后置处理器；每个步骤作为子结果上报
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public class DubboScenarioSampler extends AbstractSampler implements ThreadListener, TestStateListener, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = LoggerFactory.getLogger(DubboScenarioSampler.class);
+
+    private static final String REGISTRY_TYPE = "DubboScenarioSampler.registryType";
+    private static final String REGISTRY_ADDRESS = "DubboScenarioSampler.registryAddress";
+    private static final String REGISTRY_GROUP = "DubboScenarioSampler.registryGroup";
+    private static final String REGISTRY_TIMEOUT = "DubboScenarioSampler.registryTimeout";
+    private static final String REGISTRY_USERNAME = "DubboScenarioSampler.registryUsername";
+    private static final String REGISTRY_PASSWORD = "DubboScenarioSampler.registryPassword";
+    private static final String DIRECT_URL = "DubboScenarioSampler.directUrl";
+    private static final String SERVICE_GROUP = "DubboScenarioSampler.serviceGroup";
+    private static final String INTERFACE_NAME = "DubboScenarioSampler.interfaceName";
+    private static final String SERVICE_TIMEOUT = "DubboScenarioSampler.serviceTimeout";
+    private static final String RESPONSE_MODE = "DubboScenarioSampler.responseMode";
+    private static final String ATTACHMENT = "DubboScenarioSampler.attachment";
+    private static final String STEPS = "DubboScenarioSampler.steps";
+
+    static {
+        JMeterUtils.registerConverters();
+    }
+
+    /**
+     * 当前线程的场景步骤调用计划，线程启动时编译，不参与序列化和克隆；
+     * 包含变量或函数的场景每次采样重新编译，保留上一次编译的计划供下一次复用
+     */
+    private transient List<ScenarioStepPlan> plans;
+    private transient boolean dynamic;
+
+    /**
+     * 构造函数，创建一个新的 DubboScenarioSampler 实例
+     */
+    public DubboScenarioSampler() {
+        super();
+    }
+
+    /**
+     * 执行采样操作，依次执行所有场景步骤
+     *
+     * @param entry 采样入口点
+     * @return 场景采样结果
+     */
+    @Override
+    public SampleResult sample(Entry entry) {
+        List<ScenarioStepPlan> current = plans;
+        if (current == null || dynamic) {
+            try {
+                current = compile(current);
+            } catch (IllegalArgumentException e) {
+                return errorResult(e);
+            }
+            plans = current;
+        }
+        return ScenarioExecutor.execute(getName(), current, getThreadContext().getVariables());
+    }
+
+    /**
+     * 编译所有场景步骤，复用上一次编译的同一位置步骤计划中未变化的参数值和已绑定的引用
+     *
+     * @param previous 上一次编译的场景步骤调用计划，可以为 null
+     * @return 场景步骤调用计划
+     * @throws IllegalArgumentException 结果路径表达式格式错误时
+     */
+    private List<ScenarioStepPlan> compile(List<ScenarioStepPlan> previous) {
+        ServiceContext base = new ServiceContext()
+            .setLabel(getName())
+            .setRegistryType(getRegistryType())
+            .setRegistryAddress(getRegistryAddress())
+            .setRegistryGroup(getRegistryGroup())
+            .setRegistryTimeout(getRegistryTimeout())
+            .setRegistryUsername(getRegistryUsername())
+            .setRegistryPassword(getRegistryPassword())
+            .setDirectUrl(getDirectUrl())
+            .setServiceGroup(getServiceGroup())
+            .setInterfaceName(getInterfaceName())
+            .setServiceTimeout(getServiceTimeout())
+            .setResponseMode(getResponseMode())
+            .setResponseLimit(ResponseWriter.DEFAULT_LIMIT)
+            .setAttachment(JMeterUtils.toMap(getAttachment()));
+        List<ScenarioStepPlan> compiled = new ArrayList<>();
+        Set<String> extracted = new HashSet<>();
+        for (ScenarioStep step : getSteps()) {
+            ScenarioStepPlan last = previous != null && compiled.size() < previous.size()
+                ? previous.get(compiled.size()) : null;
+            ScenarioStepPlan plan = ScenarioStepPlan.compile(base, step, extracted, last);
+            compiled.add(plan);
+            Collections.addAll(extracted, plan.getVariables());
+        }
+        return Collections.unmodifiableList(compiled);
+    }
+
+    /**
+     * 创建配置错误的采样结果
+     *
+     * @param e 配置错误
+     * @return 失败的采样结果
+     */
+    private SampleResult errorResult(IllegalArgumentException e) {
+        SampleResult result = new SampleResult();
+        result.setSampleLabel(getName());
+        result.sampleStart();
+        result.setSuccessful(false);
+        result.setResponseCode(GenericDubbo.ERROR_RESPONSE_CODE);
+        result.setResponseMessage(e.getMessage());
+        result.sampleEnd();
+        return result;
+    }
+
+    /**
+     * 线程启动时预编译场景步骤
+     * 包含变量或函数的配置推迟到每次采样时编译
+     */
+    @Override
+    public void threadStarted() {
+        plans = null;
+        dynamic = JMeterUtils.hasFunctions(this);
+        if (!dynamic) {
+            try {
+                plans = compile(null);
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid scenario for {}: {}", getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 线程结束时释放场景步骤调用计划
+     */
+    @Override
+    public void threadFinished() {
+        plans = null;
+    }
+
+    /**
+     * 测试开始
+     */
+    @Override
+    public void testStarted() {
+        // 引用在首次采样时解析
+        TestLifecycle.begin();
+    }
+
+    /**
+     * 测试开始（远程）
+     *
+     * @param host 主机名
+     */
+    @Override
+    public void testStarted(String host) {
+        testStarted();
+    }
+
+    /**
+     * 测试结束，最后一个结束的采样器输出失败汇总，释放所有缓存的引用和参数数据源后输出可用性统计
+     */
+    @Override
+    public void testEnded() {
+        TestLifecycle.end();
+    }
+
+    /**
+     * 测试结束（远程）
+     *
+     * @param host 主机名
+     */
+    @Override
+    public void testEnded(String host) {
+        testEnded();
+    }
+
+    /**
+     * 获取注册中心类型
+     *
+     * @return 注册中心类型
+     */
+    public String getRegistryType() {
+        return getPropertyAsString(REGISTRY_TYPE);
+    }
+
+    /**
+     * 设置注册中心类型
+     *
+     * @param registryType 注册中心类型
+     */
+    public void setRegistryType(String registryType) {
+        setProperty(REGISTRY_TYPE, registryType);
+    }
+
+    /**
+     * 获取注册中心地址
+     *
+     * @return 注册中心地址
+     */
+    public String getRegistryAddress() {
+        return getPropertyAsString(REGISTRY_ADDRESS);
+    }
+
+    /**
+     * 设置注册中心地址
+     *
+     * @param registryAddress 注册中心地址
+     */
+    public void setRegistryAddress(String registryAddress) {
+        setProperty(REGISTRY_ADDRESS, registryAddress);
+    }
+
+    /**
+     * 获取注册中心组
+     *
+     * @return 注册中心组
+     */
+    public String getRegistryGroup() {
+        return getPropertyAsString(REGISTRY_GROUP);
+    }
+
+    /**
+     * 设置注册中心组
+     *
+     * @param registryGroup 注册中心组
+     */
+    public void setRegistryGroup(String registryGroup) {
+        setProperty(REGISTRY_GROUP, registryGroup);
+    }
+
+    /**
+     * 获取注册中心超时时间
+     *
+     * @return 注册中心超时时间
+     */
+    public String getRegistryTimeout() {
+        return getPropertyAsString(REGISTRY_TIMEOUT);
+    }
+
+    /**
+     * 设置注册中心超时时间
+     *
+     * @param registryTimeout 注册中心超时时间
+     */
+    public void setRegistryTimeout(String registryTimeout) {
+        setProperty(REGISTRY_TIMEOUT, registryTimeout);
+    }
+
+    /**
+     * 获取注册中心用户名
+     *
+     * @return 注册中心用户名
+     */
+    public String getRegistryUsername() {
+        return getPropertyAsString(REGISTRY_USERNAME);
+    }
+
+    /**
+     * 设置注册中心用户名
+     *
+     * @param registryUsername 注册中心用户名
+     */
+    public void setRegistryUsername(String registryUsername) {
+        setProperty(REGISTRY_USERNAME, registryUsername);
+    }
+
+    /**
+     * 获取注册中心密码
+     *
+     * @return 注册中心密码
+     */
+    public String getRegistryPassword() {
+        return getPropertyAsString(REGISTRY_PASSWORD);
+    }
+
+    /**
+     * 设置注册中心密码
+     *
+     * @param registryPassword 注册中心密码
+     */
+    public void setRegistryPassword(String registryPassword) {
+        setProperty(REGISTRY_PASSWORD, registryPassword);
+    }
+
+    /**
+     * 获取直连 URL
+     *
+     * @return 直连 URL
+     */
+    public String getDirectUrl() {
+        return getPropertyAsString(DIRECT_URL);
+    }
+
+    /**
+     * 设置直连 URL
+     *
+     * @param directUrl 直连 URL
+     */
+    public void setDirectUrl(String directUrl) {
+        setProperty(DIRECT_URL, directUrl);
+    }
+
+    /**
+     * 获取服务组
+     *
+     * @return 服务组
+     */
+    public String getServiceGroup() {
+        return getPropertyAsString(SERVICE_GROUP);
+    }
+
+    /**
+     * 设置服务组
+     *
+     * @param serviceGroup 服务组
+     */
+    public void setServiceGroup(String serviceGroup) {
+        setProperty(SERVICE_GROUP, serviceGroup);
+    }
+
+    /**
+     * 获取接口名称
+     *
+     * @return 接口全限定名
+     */
+    public String getInterfaceName() {
+        return getPropertyAsString(INTERFACE_NAME);
+    }
+
+    /**
+     * 设置接口名称
+     *
+     * @param interfaceName 接口全限定名
+     */
+    public void setInterfaceName(String interfaceName) {
+        setProperty(INTERFACE_NAME, interfaceName);
+    }
+
+    /**
+     * 获取服务超时时间
+     *
+     * @return 服务超时时间
+     */
+    public String getServiceTimeout() {
+        return getPropertyAsString(SERVICE_TIMEOUT);
+    }
+
+    /**
+     * 设置服务超时时间
+     *
+     * @param serviceTimeout 服务超时时间
+     */
+    public void setServiceTimeout(String serviceTimeout) {
+        setProperty(SERVICE_TIMEOUT, serviceTimeout);
+    }
+
+    /**
+     * 获取步骤的响应模式
+     * 步骤的返回值只用于提取变量，默认只统计响应大小，不序列化完整的响应体
+     *
+     * @return 响应模式，如 full、truncated、hash、size-only、discard
+     */
+    public String getResponseMode() {
+        return getPropertyAsString(RESPONSE_MODE, ResponseWriter.SIZE_ONLY);
+    }
+
+    /**
+     * 设置步骤的响应模式
+     *
+     * @param responseMode 响应模式，如 full、truncated、hash、size-only、discard
+     */
+    public void setResponseMode(String responseMode) {
+        setProperty(RESPONSE_MODE, responseMode);
+    }
+
+    /**
+     * 获取附件参数
+     *
+     * @return 附件参数集合
+     */
+    public Arguments getAttachment() {
+        JMeterProperty property = getProperty(ATTACHMENT);
+        if (property instanceof NullProperty) {
+            return new Arguments();
+        }
+        return (Arguments) property.getObjectValue();
+    }
+
+    /**
+     * 设置附件参数
+     *
+     * @param attachment 附件参数集合
+     */
+    public void setAttachment(Arguments attachment) {
+        setProperty(new TestElementProperty(ATTACHMENT, attachment));
+    }
+
+    /**
+     * 获取场景步骤
+     *
+     * @return 按执行顺序排列的场景步骤
+     */
+    public List<ScenarioStep> getSteps() {
+        List<ScenarioStep> steps = new ArrayList<>();
+        JMeterProperty property = getProperty(STEPS);
+        if (property instanceof CollectionProperty) {
+            PropertyIterator iterator = ((CollectionProperty) property).iterator();
+            while (iterator.hasNext()) {
+                Object value = iterator.next().getObjectValue();
+                if (value instanceof ScenarioStep) {
+                    steps.add((ScenarioStep) value);
+                }
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * 设置场景步骤
+     *
+     * @param steps 按执行顺序排列的场景步骤
+     */
+    public void setSteps(List<ScenarioStep> steps) {
+        setProperty(new CollectionProperty(STEPS, steps));
+    }
+}
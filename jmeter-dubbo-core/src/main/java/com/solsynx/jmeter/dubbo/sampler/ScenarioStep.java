@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.sampler;
+
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.testelement.AbstractTestElement;
+import org.apache.jmeter.testelement.property.JMeterProperty;
+import org.apache.jmeter.testelement.property.NullProperty;
+import org.apache.jmeter.testelement.property.TestElementProperty;
+
+import java.io.Serializable;
+
+/**
+ * 场景步骤
+ * {@link DubboScenarioSampler} 中的一次泛化调用，包含调用的接口、方法、参数以及从返回值中提取的变量；
+ * 参数值中的 {@code #{name}} 引用之前步骤提取的变量
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+public class ScenarioStep extends AbstractTestElement implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String INTERFACE_NAME = "ScenarioStep.interfaceName";
+    private static final String METHOD_NAME = "ScenarioStep.methodName";
+    private static final String PARAMETERS = "ScenarioStep.parameters";
+    private static final String EXTRACTORS = "ScenarioStep.extractors";
+    private static final String FEEDER_FILE = "ScenarioStep.feederFile";
+
+    /**
+     * 构造函数，创建一个新的 ScenarioStep 实例
+     */
+    public ScenarioStep() {
+        super();
+    }
+
+    /**
+     * 获取接口名称
+     *
+     * @return 接口全限定名，为空时使用采样器的接口
+     */
+    public String getInterfaceName() {
+        return getPropertyAsString(INTERFACE_NAME);
+    }
+
+    /**
+     * 设置接口名称
+     *
+     * @param interfaceName 接口全限定名
+     */
+    public void setInterfaceName(String interfaceName) {
+        setProperty(INTERFACE_NAME, interfaceName);
+    }
+
+    /**
+     * 获取方法名称
+     *
+     * @return 方法名
+     */
+    public String getMethodName() {
+        return getPropertyAsString(METHOD_NAME);
+    }
+
+    /**
+     * 设置方法名称
+     *
+     * @param methodName 方法名
+     */
+    public void setMethodName(String methodName) {
+        setProperty(METHOD_NAME, methodName);
+    }
+
+    /**
+     * 获取参数数据文件
+     *
+     * @return JSONL 或 CSV 文件路径，为空时不使用数据文件
+     */
+    public String getFeederFile() {
+        return getPropertyAsString(FEEDER_FILE);
+    }
+
+    /**
+     * 设置参数数据文件
+     *
+     * @param feederFile JSONL 或 CSV 文件路径
+     */
+    public void setFeederFile(String feederFile) {
+        setProperty(FEEDER_FILE, feederFile);
+    }
+
+    /**
+     * 获取方法参数
+     *
+     * @return 方法参数集合，名称为参数类型，值为参数值
+     */
+    public Arguments getParameters() {
+        return getArguments(PARAMETERS);
+    }
+
+    /**
+     * 设置方法参数
+     *
+     * @param parameters 方法参数集合
+     */
+    public void setParameters(Arguments parameters) {
+        setProperty(new TestElementProperty(PARAMETERS, parameters));
+    }
+
+    /**
+     * 获取变量提取规则
+     *
+     * @return 提取规则集合，名称为变量名，值为结果路径表达式
+     */
+    public Arguments getExtractors() {
+        return getArguments(EXTRACTORS);
+    }
+
+    /**
+     * 设置变量提取规则
+     *
+     * @param extractors 提取规则集合
+     */
+    public void setExtractors(Arguments extractors) {
+        setProperty(new TestElementProperty(EXTRACTORS, extractors));
+    }
+
+    /**
+     * 获取参数集合属性
+     *
+     * @param name 属性名
+     * @return 参数集合，未设置时返回空集合
+     */
+    private Arguments getArguments(String name) {
+        JMeterProperty property = getProperty(name);
+        if (property instanceof NullProperty) {
+            return new Arguments();
+        }
+        return (Arguments) property.getObjectValue();
+    }
+}
@@ -18,19 +18,35 @@
 package com.solsynx.jmeter.dubbo.utils;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.MethodParameter;
 import com.solsynx.jmeter.dubbo.converter.DubboSampleResultConverter;
 import com.thoughtworks.xstream.XStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.dubbo.common.URL;
+import org.apache.jmeter.config.Argument;
 import org.apache.jmeter.config.Arguments;
 import org.apache.jmeter.save.SaveService;
+import org.apache.jmeter.testelement.TestElement;
+import org.apache.jmeter.testelement.property.FunctionProperty;
+import org.apache.jmeter.testelement.property.JMeterProperty;
+import org.apache.jmeter.testelement.property.MultiProperty;
+import org.apache.jmeter.testelement.property.PropertyIterator;
 import org.apache.jorphan.gui.JLabeledTextField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 
@@ -43,12 +59,23 @@ import java.util.ResourceBundle;
  */
 public class JMeterUtils {
     private static final ResourceBundle RB = ResourceBundle.getBundle("com/solsynx/jmeter/dubbo/messages");
+    /**
+     * 可选的 Jackson 字节码优化模块的 JMeter 属性名，取值为 blackbird、afterburner 或模块类全限定名，模块 jar 需放在 lib/ext 目录
+     */
+    public static final String JSON_MODULE_PROPERTY = "dubbo.json.module";
+    private static final Logger log = LoggerFactory.getLogger(JMeterUtils.class);
     private static final ObjectMapper OM = new ObjectMapper();
+    /**
+     * 预先构建的序列化器，所有线程共享，避免每次序列化查找配置
+     */
+    private static final ObjectWriter WRITER;
 
     static {
         SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         OM.setDateFormat(df);
         OM.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        registerJsonModule(org.apache.jmeter.util.JMeterUtils.getPropDefault(JSON_MODULE_PROPERTY, ""));
+        WRITER = OM.writer();
     }
 
     /**
@@ -58,6 +85,35 @@ public class JMeterUtils {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * 注册可选的 Jackson 字节码优化模块，模块不在类路径中时只记录警告
+     *
+     * @param name 模块名称或类全限定名，为空时不注册
+     */
+    private static void registerJsonModule(String name) {
+        if (StringUtils.isBlank(name)) {
+            return;
+        }
+        String className;
+        switch (name.trim()) {
+            case "blackbird":
+                className = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+                break;
+            case "afterburner":
+                className = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+                break;
+            default:
+                className = name.trim();
+                break;
+        }
+        try {
+            OM.registerModule((Module) Class.forName(className).getDeclaredConstructor().newInstance());
+            log.info("Registered Jackson module {}", className);
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            log.warn("Jackson module {} is not available: {}", className, e.toString());
+        }
+    }
+
     /**
      * 获取资源字符串
      *
@@ -92,6 +148,55 @@ public class JMeterUtils {
         return args.getArgumentsAsMap();
     }
 
+    /**
+     * 将 Arguments 转换为按顺序排列的方法参数列表
+     * 参数名为参数类型，同一类型可以出现多次
+     *
+     * @param args Arguments 对象，可以为 null
+     * @return 方法参数列表
+     */
+    public static List<MethodParameter> toParameters(Arguments args) {
+        List<MethodParameter> parameters = new ArrayList<>();
+        if (args == null) {
+            return parameters;
+        }
+        for (int i = 0; i < args.getArgumentCount(); i++) {
+            Argument argument = args.getArgument(i);
+            parameters.add(new MethodParameter(argument.getName(), argument.getValue()));
+        }
+        return parameters;
+    }
+
+    /**
+     * 判断测试元素的属性中是否包含 JMeter 变量或函数
+     * 测试启动时 JMeter 会把含有 ${} 表达式的属性替换为 FunctionProperty，这里递归检查所有属性
+     *
+     * @param element 测试元素
+     * @return 如果包含变量或函数则返回 true，否则返回 false
+     */
+    public static boolean hasFunctions(TestElement element) {
+        return hasFunctions(element.propertyIterator());
+    }
+
+    /**
+     * 递归检查属性迭代器中是否包含 FunctionProperty
+     *
+     * @param iterator 属性迭代器
+     * @return 如果包含变量或函数则返回 true，否则返回 false
+     */
+    private static boolean hasFunctions(PropertyIterator iterator) {
+        while (iterator.hasNext()) {
+            JMeterProperty property = iterator.next();
+            if (property instanceof FunctionProperty) {
+                return true;
+            }
+            if (property instanceof MultiProperty && hasFunctions(((MultiProperty) property).iterator())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 将 Map 转换为字符串表示
      *
@@ -110,7 +215,7 @@ public class JMeterUtils {
      * 将对象转换为字符串
      *
      * @param value 要转换的对象
-     * @return 对象的字符串表示
+     * @return 对象的字符串表示，无法序列化为 JSON 时返回 {@link String#valueOf(Object)}
      */
     public static String toString(Object value) {
         if (value == null) {
@@ -123,9 +228,43 @@ public class JMeterUtils {
             return value.toString();
         }
         try {
-            return OM.writeValueAsString(value);
+            return WRITER.writeValueAsString(value);
         } catch (Exception e) {
-            return null;
+            log.debug("Failed to serialize {} as JSON: {}", value.getClass().getName(), e.toString());
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * 将对象以 UTF-8 编码的 JSON 写入输出流，字符串和数字与 {@link #toString(Object)} 一致直接写出文本
+     * 不生成中间字符串，适用于只需要统计大小、计算摘要或截取前缀的场景
+     *
+     * @param value 要写出的对象
+     * @param out   输出流，写出完成后关闭
+     * @throws IOException 对象无法序列化或写出失败时
+     */
+    public static void writeJson(Object value, OutputStream out) throws IOException {
+        if (value == null || value instanceof String || value instanceof Number) {
+            try (OutputStream target = out) {
+                target.write(toString(value).getBytes(StandardCharsets.UTF_8));
+            }
+            return;
+        }
+        WRITER.writeValue(out, value);
+    }
+
+    /**
+     * 将 JSON 文本解析为 Map、List 或简单值
+     *
+     * @param json JSON 文本
+     * @return 解析后的对象
+     * @throws IllegalArgumentException JSON 格式错误时
+     */
+    public static Object readJson(String json) {
+        try {
+            return OM.readValue(json, Object.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
         }
     }
 
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ArrivalProfile} 测试
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+class ArrivalProfileTest {
+
+    @Test
+    void parsesConstantRateWithoutDuration() {
+        ArrivalProfile profile = ArrivalProfile.parse("500");
+        assertEquals(500, profile.rateAt(0), 0);
+        assertEquals(500, profile.rateAt(86400), 0);
+        assertTrue(Double.isInfinite(profile.getDuration()));
+    }
+
+    @Test
+    void rejectsNonPositiveRateWithoutDuration() {
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse("0"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse("-5"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse("const(10, 1s); 0"));
+    }
+
+    @Test
+    void acceptsZeroRateWithDuration() {
+        ArrivalProfile profile = ArrivalProfile.parse("const(0, 2s); const(10, 1s)");
+        assertEquals(0, profile.rateAt(1), 0);
+        assertEquals(10, profile.rateAt(2.5), 0);
+        assertEquals(3, profile.getDuration(), 1e-9);
+    }
+
+    @Test
+    void parsesDurationUnits() {
+        assertEquals(0.5, ArrivalProfile.parse("const(1, 500ms)").getDuration(), 1e-9);
+        assertEquals(2, ArrivalProfile.parse("const(1, 2s)").getDuration(), 1e-9);
+        assertEquals(2, ArrivalProfile.parse("const(1, 2)").getDuration(), 1e-9);
+        assertEquals(120, ArrivalProfile.parse("const(1, 2m)").getDuration(), 1e-9);
+        assertEquals(7200, ArrivalProfile.parse("const(1, 2h)").getDuration(), 1e-9);
+        assertEquals(0.375, ArrivalProfile.parse("spike(1, 2, 250ms, 1s)").constantUntil(0), 1e-9);
+    }
+
+    @Test
+    void rejectsInvalidSegments() {
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse("const(1, 0s)"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse("const(1, 1x)"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse("ramp(1, 1s)"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProfile.parse("wave(1, 1s)"));
+    }
+
+    @Test
+    void interpolatesRampAndSteps() {
+        ArrivalProfile ramp = ArrivalProfile.parse("ramp(0, 100, 10s)");
+        assertEquals(50, ramp.rateAt(5), 1e-9);
+        ArrivalProfile step = ArrivalProfile.parse("step(10, 40, 4, 8s)");
+        assertEquals(10, step.rateAt(1), 1e-9);
+        assertEquals(20, step.rateAt(3), 1e-9);
+        assertEquals(40, step.rateAt(7.9), 1e-9);
+        assertEquals(4, step.constantUntil(2.5), 1e-9);
+    }
+
+    @Test
+    void endsAfterLastSegment() {
+        ArrivalProfile profile = ArrivalProfile.parse("const(10, 1s); ramp(10, 0, 1s)");
+        assertTrue(profile.rateAt(2.5) < 0);
+        assertEquals(1, profile.constantUntil(0.5), 1e-9);
+        assertEquals(1.5, profile.constantUntil(1.5), 1e-9);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ArrivalSchedule} 测试
+ * 调度只计算计划发送时刻而不等待，按计划时刻统计即可验证速率，不依赖实际耗时
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+class ArrivalScheduleTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void issuesConstantRate() {
+        long[] times = drain("const(1000, 2s)");
+        assertEquals(2000, times.length, 2);
+        assertEquals(1_000_000, (times[times.length - 1] - times[0]) / (times.length - 1), 1_000);
+    }
+
+    @Test
+    void integratesRampFromZero() {
+        // ramp(0, 1000, 60s) 的积分为 30000 个请求
+        long[] times = drain("ramp(0, 1000, 60s)");
+        assertEquals(30000, times.length, 30);
+        // 速率从 0 开始，第一个请求在积分达到 1 的时刻约 0.35s 发出，而不是等待一个初始间隔
+        double first = firstOffset("ramp(0, 1000, 60s)") / 1e9;
+        assertEquals(Math.sqrt(2 / (1000.0 / 60)), first, 0.02);
+    }
+
+    @Test
+    void skipsZeroRateSegments() {
+        long offset = firstOffset("const(0, 1h); const(10, 1s)");
+        assertEquals(3600, offset / 1e9, 0.2);
+        long[] times = drain("const(0, 1h); const(10, 1s)");
+        assertEquals(10, times.length, 1);
+    }
+
+    @Test
+    void endsWhenRemainingRateIsZero() {
+        long[] times = drain("const(5, 1s); sine(0, 10, 2s, 1m); step(0, 0, 3, 10m)");
+        assertTrue(times.length > 0);
+    }
+
+    @Test
+    void issuesStrictlyIncreasingTimes() {
+        long[] times = drain("const(2000000, 10ms)");
+        for (int i = 1; i < times.length; i++) {
+            assertTrue(times[i] > times[i - 1]);
+        }
+    }
+
+    /**
+     * 领取全部计划发送时刻
+     *
+     * @param spec 负载曲线描述
+     * @return 计划发送时刻
+     */
+    private static long[] drain(String spec) {
+        return assertTimeoutPreemptively(TIMEOUT, () -> {
+            ArrivalSchedule schedule = new ArrivalSchedule(ArrivalProfile.parse(spec));
+            long[] times = new long[1024];
+            int count = 0;
+            for (long time = schedule.next(); time >= 0; time = schedule.next()) {
+                if (count == times.length) {
+                    times = Arrays.copyOf(times, count * 2);
+                }
+                times[count++] = time;
+            }
+            return Arrays.copyOf(times, count);
+        });
+    }
+
+    /**
+     * 获取第一个请求相对调度开始的偏移
+     *
+     * @param spec 负载曲线描述
+     * @return 偏移（纳秒）
+     */
+    private static long firstOffset(String spec) {
+        return assertTimeoutPreemptively(TIMEOUT, () -> {
+            ArrivalSchedule schedule = new ArrivalSchedule(ArrivalProfile.parse(spec));
+            long start = System.nanoTime();
+            return schedule.next() - start;
+        });
+    }
+}
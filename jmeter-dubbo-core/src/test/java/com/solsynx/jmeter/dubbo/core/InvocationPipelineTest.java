@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import com.solsynx.jmeter.dubbo.DubboSampleResult;
+import com.solsynx.jmeter.dubbo.context.InvocationPlan;
+import com.solsynx.jmeter.dubbo.context.ServiceContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * {@link InvocationPipeline} 测试
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+class InvocationPipelineTest {
+
+    private final InvocationPlan plan = InvocationPlan.of(new ServiceContext().setLabel("pipeline"));
+
+    @Test
+    void reportsExceptionalCompletionAsFailure() {
+        InvocationPipeline pipeline = new InvocationPipeline(1, ignored -> {
+            CompletableFuture<DubboSampleResult> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("broken"));
+            return future;
+        });
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            DubboSampleResult result = pipeline.next(() -> plan);
+            assertFalse(result.isSuccessful());
+            assertEquals(IllegalStateException.class.getName(), result.getResponseMessage().split(" ")[0]);
+        });
+        assertEquals(0, pipeline.getOutstanding());
+    }
+
+    @Test
+    void releasesSlotWhenSubmitIsRejected() {
+        InvocationPipeline pipeline = new InvocationPipeline(2, ignored -> {
+            throw new RejectedExecutionException("shut down");
+        });
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertFalse(pipeline.next(() -> plan).isSuccessful());
+            assertFalse(pipeline.next(() -> plan).isSuccessful());
+        });
+        assertEquals(0, pipeline.getOutstanding());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link JsonTemplate} 文本模板测试
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+class JsonTemplateTest {
+
+    @Test
+    void fillsWholeKeyHoleWithNumber() {
+        JsonTemplate template = (JsonTemplate) JsonTemplate.compileText("#{sequence(3,4)}", UnaryOperator.identity());
+        KeyDistribution.reset();
+        assertEquals(3L, template.fill(null));
+        assertEquals(4L, template.fill(null));
+    }
+
+    @Test
+    void appendsKeysInsideText() {
+        JsonTemplate template = (JsonTemplate) JsonTemplate.compileText("user-#{sequence(8,9)}-#{uniform(1,1)}",
+                                                                        UnaryOperator.identity());
+        KeyDistribution.reset();
+        assertEquals("user-8-1", template.fill(null));
+        assertEquals("user-9-1", template.fill(null));
+    }
+
+    @Test
+    void counterRestartsAfterReset() {
+        JsonTemplate template = (JsonTemplate) JsonTemplate.compileText("NO-#{counter()}", UnaryOperator.identity());
+        JsonTemplate.reset();
+        assertEquals("NO-1", template.fill(null));
+        assertEquals("NO-2", template.fill(null));
+        JsonTemplate.reset();
+        assertEquals("NO-1", template.fill(null));
+    }
+
+    @Test
+    void keepsUnknownVariablesVerbatim() {
+        JsonTemplate template = (JsonTemplate) JsonTemplate.compileText("id-#{missing}", UnaryOperator.identity());
+        assertEquals("id-#{missing}", template.fill(null));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.solsynx.jmeter.dubbo.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link KeyDistribution} 测试
+ * 按采样频率检查分布形状，容差取统计误差的数倍，结果与随机种子无关
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+class KeyDistributionTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void zipfFollowsPowerLaw() {
+        int n = 1000;
+        long[] counts = sample(KeyDistribution.of("zipf", new String[]{"1000", "1.0"}, "zipf(1000,1.0)"), n);
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1.0 / k;
+        }
+        assertEquals(1 / harmonic, counts[1] / (double) SAMPLES, 0.005);
+        assertEquals(2.0, counts[1] / (double) counts[2], 0.1);
+        assertEquals(10.0, counts[1] / (double) counts[10], 1.0);
+    }
+
+    @Test
+    void zipfWithSingleKeyAlwaysReturnsIt() {
+        LongSupplier keys = KeyDistribution.of("zipf", new String[]{"1", "0.99"}, "zipf(1,0.99)");
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1, keys.getAsLong());
+        }
+    }
+
+    @Test
+    void zipfRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> KeyDistribution.of("zipf", new String[]{"0", "1.0"}, "zipf(0,1.0)"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> KeyDistribution.of("zipf", new String[]{"10", "0"}, "zipf(10,0)"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> KeyDistribution.of("zipf", new String[]{"10"}, "zipf(10)"));
+    }
+
+    @Test
+    void hotspotSendsHotTrafficToHotKeys() {
+        int n = 1000;
+        long[] counts = sample(KeyDistribution.of("hotspot", new String[]{"1000", "0.2", "0.8"},
+                                                  "hotspot(1000,0.2,0.8)"), n);
+        long hot = 0;
+        for (int k = 1; k <= 200; k++) {
+            hot += counts[k];
+        }
+        assertEquals(0.8, hot / (double) SAMPLES, 0.01);
+        // 热点键和冷键内部各自均匀
+        assertEquals(0.8 / 200, counts[1] / (double) SAMPLES, 0.002);
+        assertEquals(0.2 / 800, counts[1000] / (double) SAMPLES, 0.001);
+    }
+
+    @Test
+    void hotspotWithAllKeysHotIsUniform() {
+        long[] counts = sample(KeyDistribution.of("hotspot", new String[]{"10", "1", "0"}, "hotspot(10,1,0)"), 10);
+        for (int k = 1; k <= 10; k++) {
+            assertEquals(0.1, counts[k] / (double) SAMPLES, 0.01);
+        }
+    }
+
+    @Test
+    void hotspotRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> KeyDistribution.of("hotspot", new String[]{"10", "0", "0.8"}, "hotspot(10,0,0.8)"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> KeyDistribution.of("hotspot", new String[]{"10", "0.2", "1.5"}, "hotspot(10,0.2,1.5)"));
+    }
+
+    @Test
+    void uniformStaysInRange() {
+        long[] counts = sample(KeyDistribution.of("uniform", new String[]{"1", "5"}, "uniform(1,5)"), 5);
+        for (int k = 1; k <= 5; k++) {
+            assertEquals(0.2, counts[k] / (double) SAMPLES, 0.01);
+        }
+    }
+
+    @Test
+    void sequenceRestartsAfterReset() {
+        LongSupplier keys = KeyDistribution.of("sequence", new String[]{"5", "7"}, "sequence(5,7)");
+        KeyDistribution.reset();
+        assertEquals(5, keys.getAsLong());
+        assertEquals(6, keys.getAsLong());
+        assertEquals(7, keys.getAsLong());
+        assertEquals(5, keys.getAsLong());
+        KeyDistribution.reset();
+        assertEquals(5, keys.getAsLong());
+    }
+
+    @Test
+    void unknownDistributionReturnsNull() {
+        assertNull(KeyDistribution.of("pareto", new String[]{"1"}, "pareto(1)"));
+    }
+
+    /**
+     * 统计各键的出现次数
+     *
+     * @param keys 键生成器
+     * @param n    键的最大值
+     * @return 下标为键的出现次数
+     */
+    private static long[] sample(LongSupplier keys, int n) {
+        long[] counts = new long[n + 1];
+        for (int i = 0; i < SAMPLES; i++) {
+            long key = keys.getAsLong();
+            assertTrue(key >= 1 && key <= n, "key out of range: " + key);
+            counts[(int) key]++;
+        }
+        return counts;
+    }
+}
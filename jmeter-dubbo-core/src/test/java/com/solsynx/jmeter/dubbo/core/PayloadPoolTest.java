@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.solsynx.jmeter.dubbo.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link PayloadPool} 发送字节数估算测试
+ *
+ * @author Solsynx&lt;xy.0520@hotmail.com&gt;
+ * @version 0.0.2
+ * @since 0.0.2
+ */
+class PayloadPoolTest {
+
+    @Test
+    void countsStringsAsUtf8() {
+        assertEquals(3, PayloadPool.estimateSize(new Object[]{"abc"}));
+        assertEquals(6, PayloadPool.estimateSize(new Object[]{"中文"}));
+        assertEquals(2 + 4, PayloadPool.estimateSize(new Object[]{"é😀"}));
+    }
+
+    @Test
+    void countsMapKeysNumbersAndNestedValues() {
+        Object map = Collections.singletonMap("id", Arrays.asList(1L, true, new byte[10]));
+        assertEquals(2 + 8 + 1 + 10, PayloadPool.estimateSize(new Object[]{map, null}));
+    }
+
+    @Test
+    void measuresFilledPayload() {
+        JsonTemplate template = (JsonTemplate) JsonTemplate.compileText("#{bytes(1k)}", UnaryOperator.identity());
+        assertTrue(template.hasPayload());
+        assertEquals(1024, PayloadPool.estimateSize(new Object[]{template.fill(null)}));
+        assertFalse(((JsonTemplate) JsonTemplate.compileText("#{uuid()}", UnaryOperator.identity())).hasPayload());
+    }
+}